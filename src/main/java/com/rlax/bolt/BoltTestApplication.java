@@ -1,7 +1,9 @@
 package com.rlax.bolt;
 
+import com.rlax.bolt.config.BoltProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 
 /**
  * 服务启动类
@@ -9,6 +11,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  *
  */
 @SpringBootApplication
+@EnableConfigurationProperties(BoltProperties.class)
 public class BoltTestApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,33 @@
+package com.rlax.bolt.accesslog;
+
+/**
+ * 环形缓冲中的一个槽位，启动时一次性分配，之后只覆写字段
+ * <p>
+ * 字段由生产线程写入，sequence 写入后对消费线程可见。
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+final class AccessLogEvent {
+
+    long timestampMillis;
+    String route;
+    String traceId;
+    String target;
+    String invokeType;
+    int requestBytes;
+    int responseBytes;
+    long latencyMicros;
+    String outcome;
+
+    /** 已发布的序号，等于消费序号时可读 */
+    volatile long sequence = -1;
+
+    void clear() {
+        route = null;
+        traceId = null;
+        target = null;
+        invokeType = null;
+        outcome = null;
+    }
+}
@@ -0,0 +1,30 @@
+package com.rlax.bolt.accesslog;
+
+import lombok.Data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 访问日志配置
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Data
+public class AccessLogOptions {
+
+    private boolean enabled = true;
+
+    /** 环形缓冲槽位数，向上取 2 的幂，写满时丢弃新记录而不阻塞请求线程 */
+    private int bufferSize = 8192;
+
+    /** 未单独配置的路由采样率，0 ~ 1 */
+    private double defaultSampleRate = 1.0;
+
+    /** 按路由配置采样率，HTTP 为路径模板如 /demo/async，RPC 为 rpc:server_to_client / rpc:client_to_server */
+    private Map<String, Double> sampleRates = new LinkedHashMap<>();
+
+    /** 失败请求不参与采样，全部记录 */
+    private boolean alwaysLogErrors = true;
+}
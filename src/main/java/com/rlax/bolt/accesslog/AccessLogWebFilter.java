@@ -0,0 +1,62 @@
+package com.rlax.bolt.accesslog;
+
+import com.rlax.bolt.trace.TraceContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * HTTP 访问日志
+ * <p>
+ * 路由取匹配到的路径模板，避免路径参数导致路由数量失控；未匹配到处理器时取请求路径。
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public class AccessLogWebFilter implements WebFilter {
+
+    private final AccessLogger accessLogger;
+
+    public AccessLogWebFilter(AccessLogger accessLogger) {
+        this.accessLogger = accessLogger;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        long start = System.nanoTime();
+        return chain.filter(exchange).doFinally(signal -> record(exchange, signal, System.nanoTime() - start));
+    }
+
+    private void record(ServerWebExchange exchange, SignalType signal, long latencyNanos) {
+        ServerHttpRequest request = exchange.getRequest();
+        ServerHttpResponse response = exchange.getResponse();
+        HttpStatus status = response.getStatusCode();
+        boolean failed = signal == SignalType.ON_ERROR || (status != null && status.isError());
+        String outcome;
+        if (signal == SignalType.CANCEL) {
+            outcome = AccessLogger.OUTCOME_CANCEL;
+        } else if (status != null) {
+            outcome = status.name();
+        } else {
+            outcome = failed ? AccessLogger.OUTCOME_ERROR : AccessLogger.OUTCOME_SUCCESS;
+        }
+        accessLogger.log(route(exchange), TraceContext.traceId(exchange), null, request.getMethodValue(),
+                (int) request.getHeaders().getContentLength(), (int) response.getHeaders().getContentLength(),
+                latencyNanos, outcome, failed);
+    }
+
+    private static String route(ServerWebExchange exchange) {
+        Object pattern = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern instanceof PathPattern) {
+            return ((PathPattern) pattern).getPatternString();
+        }
+        return exchange.getRequest().getPath().value();
+    }
+}
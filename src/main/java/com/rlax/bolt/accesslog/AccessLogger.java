@@ -0,0 +1,225 @@
+package com.rlax.bolt.accesslog;
+
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 异步采样访问日志
+ * <p>
+ * 请求线程只做采样判断，并把固定字段（traceId、站级 id / 地址、调用方式、报文大小、耗时、结果）写入预分配的环形缓冲，
+ * 不拼接字符串、不做 IO；单个后台线程按序取出并格式化，输出到 ACCESS_LOG logger。
+ * 缓冲写满时丢弃新记录并计数，不阻塞请求线程。
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Slf4j
+public class AccessLogger {
+
+    /** 访问日志输出的 logger 名称，可在日志配置中单独指定 appender */
+    public static final String LOGGER_NAME = "ACCESS_LOG";
+
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_ERROR = "error";
+    public static final String OUTCOME_CANCEL = "cancel";
+    public static final String OUTCOME_TIMEOUT = "timeout";
+
+    /** RPC 路由，按调用方向区分 */
+    public static final String ROUTE_RPC_SERVER_TO_CLIENT = "rpc:server_to_client";
+    public static final String ROUTE_RPC_CLIENT_TO_SERVER = "rpc:client_to_server";
+
+    /** 关闭访问日志 */
+    public static final AccessLogger DISABLED = new AccessLogger(disabledOptions());
+
+    private static final Logger ACCESS_LOG = LoggerFactory.getLogger(LOGGER_NAME);
+
+    private final AccessLogOptions options;
+    private final Map<String, Double> sampleRates;
+
+    private final AccessLogEvent[] ring;
+    private final int mask;
+    /** 下一个可申请的序号 */
+    private final AtomicLong tail = new AtomicLong();
+    /** 下一个待消费的序号，只由后台线程写入 */
+    private volatile long head;
+
+    private final LongAdder dropped = new LongAdder();
+
+    private volatile Thread writer;
+    private volatile boolean running;
+
+    public AccessLogger(AccessLogOptions options) {
+        this.options = options;
+        this.sampleRates = new HashMap<>(options.getSampleRates());
+        int size = Integer.highestOneBit(Math.max(2, options.getBufferSize()) - 1) << 1;
+        this.ring = new AccessLogEvent[size];
+        for (int i = 0; i < size; i++) {
+            ring[i] = new AccessLogEvent();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * 启动后台写入线程
+     */
+    public synchronized void start() {
+        if (!options.isEnabled() || running) {
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(this::drainLoop, "access-log-writer");
+        thread.setDaemon(true);
+        writer = thread;
+        thread.start();
+    }
+
+    /**
+     * 停止后台线程，缓冲中剩余记录写完后退出
+     */
+    public synchronized void shutdown() {
+        Thread thread = writer;
+        if (thread == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer = null;
+    }
+
+    /**
+     * 按路由采样率判断是否记录，失败请求在 alwaysLogErrors 开启时总是记录
+     */
+    public boolean sampled(String route, boolean failed) {
+        if (!running) {
+            return false;
+        }
+        if (failed && options.isAlwaysLogErrors()) {
+            return true;
+        }
+        Double configured = sampleRates.get(route);
+        double rate = configured == null ? options.getDefaultSampleRate() : configured;
+        return rate >= 1.0 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    /**
+     * 记录一次访问，未被采样或缓冲已满时直接返回
+     * @param route 路由，HTTP 请求为路径模板，如 /demo/async；RPC 为 rpc:调用方向
+     * @param traceId 链路 id
+     * @param target 站级 id 或服务端地址，HTTP 请求为 null
+     * @param invokeType 调用方式，HTTP 请求为请求方法
+     * @param requestBytes 请求大小，未知时为 -1
+     * @param responseBytes 响应大小，未知时为 -1
+     * @param latencyNanos 耗时
+     * @param outcome 结果，success / error / cancel 或 HTTP 状态
+     * @param failed 是否失败
+     */
+    public void log(String route, String traceId, String target, String invokeType,
+                    int requestBytes, int responseBytes, long latencyNanos, String outcome, boolean failed) {
+        if (!sampled(route, failed)) {
+            return;
+        }
+        long sequence = claim();
+        if (sequence < 0) {
+            dropped.increment();
+            return;
+        }
+        AccessLogEvent event = ring[(int) (sequence & mask)];
+        event.timestampMillis = System.currentTimeMillis();
+        event.route = route;
+        event.traceId = traceId;
+        event.target = target;
+        event.invokeType = invokeType;
+        event.requestBytes = requestBytes;
+        event.responseBytes = responseBytes;
+        event.latencyMicros = TimeUnit.NANOSECONDS.toMicros(latencyNanos);
+        event.outcome = outcome;
+        event.sequence = sequence;
+    }
+
+    /**
+     * 因缓冲写满被丢弃的记录数
+     */
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * 申请一个槽位，缓冲已满时返回 -1
+     */
+    private long claim() {
+        while (true) {
+            long sequence = tail.get();
+            if (sequence - head >= ring.length) {
+                return -1;
+            }
+            if (tail.compareAndSet(sequence, sequence + 1)) {
+                return sequence;
+            }
+        }
+    }
+
+    private void drainLoop() {
+        StringBuilder line = new StringBuilder(256);
+        long sequence = head;
+        while (true) {
+            AccessLogEvent event = ring[(int) (sequence & mask)];
+            if (event.sequence == sequence) {
+                write(event, line);
+                event.clear();
+                head = ++sequence;
+                continue;
+            }
+            // 已申请但尚未发布的槽位，等待生产线程写完
+            if (!running && tail.get() == sequence) {
+                break;
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        long droppedCount = dropped.sum();
+        if (droppedCount > 0) {
+            log.warn("访问日志缓冲写满，共丢弃 {} 条记录", droppedCount);
+        }
+    }
+
+    private void write(AccessLogEvent event, StringBuilder line) {
+        if (!ACCESS_LOG.isInfoEnabled()) {
+            return;
+        }
+        line.setLength(0);
+        line.append(event.timestampMillis)
+                .append(' ').append(event.route)
+                .append(" traceId=").append(event.traceId)
+                .append(" target=").append(event.target)
+                .append(" type=").append(event.invokeType)
+                .append(" req=").append(event.requestBytes)
+                .append(" resp=").append(event.responseBytes)
+                .append(" latencyUs=").append(event.latencyMicros)
+                .append(" outcome=").append(event.outcome);
+        try {
+            ACCESS_LOG.info(line.toString());
+        } catch (RuntimeException e) {
+            log.error("写入访问日志失败", e);
+        }
+    }
+
+    private static AccessLogOptions disabledOptions() {
+        AccessLogOptions options = new AccessLogOptions();
+        options.setEnabled(false);
+        options.setBufferSize(2);
+        return options;
+    }
+}
@@ -0,0 +1,16 @@
+package com.rlax.bolt.client.balance;
+
+/**
+ * 服务端选择策略
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public enum BalanceStrategy {
+
+    /** 在途调用数最少的服务端，数量相同时随机 */
+    LEAST_IN_FLIGHT,
+
+    /** 随机取两个服务端，选 延迟 × (在途数 + 1) 较小的一个 */
+    P2C
+}
@@ -0,0 +1,37 @@
+package com.rlax.bolt.client.balance;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 站级客户端到中台服务端的负载均衡参数
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Data
+public class BalancerOptions {
+
+    /** 中台服务端地址列表，如 127.0.0.1:8899 */
+    private List<String> servers = new ArrayList<>(Collections.singletonList("127.0.0.1:8899"));
+
+    private BalanceStrategy strategy = BalanceStrategy.P2C;
+
+    /** 延迟估计的衰减时间常数，越小越快反映最近的延迟 */
+    private long latencyDecayMillis = 10000;
+
+    /** 连续失败（超时、连接失败等，不含业务异常）达到该次数后摘除 */
+    private int ejectAfterFailures = 3;
+
+    /** 首次摘除时长，再次摘除时翻倍 */
+    private long baseEjectionMillis = 10000;
+
+    /** 摘除时长上限 */
+    private long maxEjectionMillis = 120000;
+
+    /** 同时被摘除的服务端比例上限，0 ~ 100，避免全部摘除 */
+    private int maxEjectedPercent = 50;
+}
@@ -0,0 +1,277 @@
+package com.rlax.bolt.client.balance;
+
+import com.alipay.remoting.rpc.exception.InvokeServerException;
+import com.rlax.bolt.deadline.DeadlineExceededException;
+import com.rlax.bolt.invoke.ReactiveBoltInvoker;
+import com.rlax.bolt.metrics.BoltMetrics;
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * 站级客户端到多个中台服务端的负载均衡
+ * <p>
+ * 每次调用按 {@link BalanceStrategy} 选择服务端：在途数最少，或随机两选一比较 延迟 × (在途数 + 1)。
+ * 连续失败达到阈值的服务端被摘除一段时间，到期后重新参与选择，第一次调用成功即恢复，失败则以翻倍的时长再次摘除；
+ * 被摘除的比例有上限，全部不可用时仍在全部服务端中选择。业务异常（{@link InvokeServerException}）不计入失败。
+ * <p>
+ * 响应式调用使用 {@link #invoke(Object, int)}；同步调用通过 {@link #acquire()} 取得 {@link Lease}，调用结束后结束租约。
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Slf4j
+public class ServerBalancer {
+
+    private final ServerEndpoint[] endpoints;
+    /** 服务端地址 -> 调用地址，如带上连接池参数 */
+    private final String[] urls;
+    private final BalancerOptions options;
+    private final ReactiveBoltInvoker invoker;
+    private final LongSupplier clock;
+    private final Counter[] ejectionCounters;
+
+    public ServerBalancer(BalancerOptions options, ReactiveBoltInvoker invoker, BoltMetrics metrics) {
+        this(options, UnaryOperator.identity(), invoker, metrics, System::nanoTime);
+    }
+
+    /**
+     * @param urlOf 服务端地址到调用地址的映射，见 {@link com.rlax.bolt.client.pool.ServerConnectionPools#urlOf(String)}
+     */
+    public ServerBalancer(BalancerOptions options, UnaryOperator<String> urlOf, ReactiveBoltInvoker invoker,
+                          BoltMetrics metrics) {
+        this(options, urlOf, invoker, metrics, System::nanoTime);
+    }
+
+    ServerBalancer(BalancerOptions options, UnaryOperator<String> urlOf, ReactiveBoltInvoker invoker,
+                   BoltMetrics metrics, LongSupplier clock) {
+        if (options.getServers() == null || options.getServers().isEmpty()) {
+            throw new IllegalArgumentException("未配置中台服务端地址");
+        }
+        this.options = options;
+        this.invoker = invoker;
+        this.clock = clock;
+        long decayNanos = TimeUnit.MILLISECONDS.toNanos(options.getLatencyDecayMillis());
+        this.endpoints = new ServerEndpoint[options.getServers().size()];
+        this.urls = new String[endpoints.length];
+        this.ejectionCounters = new Counter[endpoints.length];
+        for (int i = 0; i < endpoints.length; i++) {
+            endpoints[i] = new ServerEndpoint(options.getServers().get(i), decayNanos);
+            urls[i] = urlOf.apply(endpoints[i].getAddress());
+            metrics.monitorServerEndpoint(endpoints[i], clock);
+            ejectionCounters[i] = metrics.serverEjections(endpoints[i].getAddress());
+        }
+        log.info("中台服务端负载均衡: strategy={}, servers={}", options.getStrategy(), options.getServers());
+    }
+
+    /**
+     * 选择服务端发起调用
+     */
+    public <T> Mono<T> invoke(Object request, int timeoutMillis) {
+        return Mono.defer(() -> {
+            Lease lease = acquire();
+            return invoker.<T>invoke(lease.address(), request, timeoutMillis)
+                    .doOnSuccess(result -> lease.success())
+                    .doOnError(lease::failure)
+                    .doOnCancel(lease::cancel);
+        });
+    }
+
+    /**
+     * 选择服务端并计入在途，调用结束后必须调用租约的 success / failure / cancel 之一
+     */
+    public Lease acquire() {
+        ServerEndpoint endpoint = select(clock.getAsLong());
+        endpoint.begin();
+        return new Lease(endpoint, urls[indexOf(endpoint)], clock.getAsLong());
+    }
+
+    public List<ServerEndpoint> endpoints() {
+        List<ServerEndpoint> list = new ArrayList<>(endpoints.length);
+        Collections.addAll(list, endpoints);
+        return list;
+    }
+
+    long clockNanos() {
+        return clock.getAsLong();
+    }
+
+    ServerEndpoint select(long now) {
+        ServerEndpoint[] all = endpoints;
+        int n = all.length;
+        if (n == 1) {
+            return all[0];
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (options.getStrategy() == BalanceStrategy.LEAST_IN_FLIGHT) {
+            int offset = random.nextInt(n);
+            ServerEndpoint best = null;
+            for (int i = 0; i < n; i++) {
+                ServerEndpoint candidate = all[(offset + i) % n];
+                if (!candidate.isEjected(now) && (best == null || candidate.inFlight() < best.inFlight())) {
+                    best = candidate;
+                }
+            }
+            return best != null ? best : all[offset];
+        }
+        int i = random.nextInt(n);
+        int j = random.nextInt(n - 1);
+        if (j >= i) {
+            j++;
+        }
+        ServerEndpoint a = all[i];
+        ServerEndpoint b = all[j];
+        boolean aAvailable = !a.isEjected(now);
+        boolean bAvailable = !b.isEjected(now);
+        if (aAvailable && bAvailable) {
+            return a.cost(now) <= b.cost(now) ? a : b;
+        }
+        if (aAvailable) {
+            return a;
+        }
+        if (bAvailable) {
+            return b;
+        }
+        // 两个都被摘除，顺序找一个未摘除的
+        for (int k = 1; k < n; k++) {
+            ServerEndpoint candidate = all[(i + k) % n];
+            if (!candidate.isEjected(now)) {
+                return candidate;
+            }
+        }
+        return a;
+    }
+
+    private void onSuccess(ServerEndpoint endpoint) {
+        if (endpoint.consecutiveFailures == 0 && !endpoint.probation) {
+            return;
+        }
+        synchronized (this) {
+            endpoint.consecutiveFailures = 0;
+            if (endpoint.probation && !endpoint.isEjected(clock.getAsLong())) {
+                endpoint.probation = false;
+                endpoint.ejections = 0;
+                log.info("中台服务端 {} 恢复", endpoint.getAddress());
+            }
+        }
+    }
+
+    private synchronized void onFailure(ServerEndpoint endpoint, Throwable e) {
+        long now = clock.getAsLong();
+        if (endpoint.isEjected(now)) {
+            return;
+        }
+        endpoint.consecutiveFailures++;
+        if (!endpoint.probation && endpoint.consecutiveFailures < options.getEjectAfterFailures()) {
+            return;
+        }
+        int ejected = 0;
+        for (ServerEndpoint other : endpoints) {
+            if (other.isEjected(now)) {
+                ejected++;
+            }
+        }
+        if ((ejected + 1) * 100 > endpoints.length * options.getMaxEjectedPercent()) {
+            log.warn("中台服务端 {} 连续失败 {} 次, 已摘除 {} 个, 达到比例上限不再摘除: {}",
+                    endpoint.getAddress(), endpoint.consecutiveFailures, ejected, e.toString());
+            return;
+        }
+        long duration = Math.min(options.getBaseEjectionMillis() << Math.min(endpoint.ejections, 20),
+                options.getMaxEjectionMillis());
+        endpoint.ejections++;
+        endpoint.ejectedUntilNanos = now + TimeUnit.MILLISECONDS.toNanos(duration);
+        endpoint.probation = true;
+        endpoint.consecutiveFailures = 0;
+        ejectionCounters[indexOf(endpoint)].increment();
+        log.warn("中台服务端 {} 摘除 {}ms（第 {} 次）: {}", endpoint.getAddress(), duration, endpoint.ejections, e.toString());
+    }
+
+    private int indexOf(ServerEndpoint endpoint) {
+        for (int i = 0; i < endpoints.length; i++) {
+            if (endpoints[i] == endpoint) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException(endpoint.getAddress());
+    }
+
+    /**
+     * 业务异常说明服务端正常处理了请求，不计入失败；发起前已过截止时间的调用没有到达服务端，同样不计入
+     */
+    private static boolean isHealthFailure(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof InvokeServerException || t instanceof DeadlineExceededException) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 一次调用占用的服务端，只结束一次
+     */
+    public class Lease {
+
+        private final ServerEndpoint endpoint;
+        private final String url;
+        private final long startNanos;
+        private final AtomicBoolean ended = new AtomicBoolean();
+
+        Lease(ServerEndpoint endpoint, String url, long startNanos) {
+            this.endpoint = endpoint;
+            this.url = url;
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * 调用地址
+         */
+        public String address() {
+            return url;
+        }
+
+        public void success() {
+            if (end(true)) {
+                onSuccess(endpoint);
+            }
+        }
+
+        public void failure(Throwable e) {
+            if (end(true)) {
+                if (isHealthFailure(e)) {
+                    onFailure(endpoint, e);
+                } else {
+                    onSuccess(endpoint);
+                }
+            }
+        }
+
+        /**
+         * 调用方取消，不计入延迟与健康状态
+         */
+        public void cancel() {
+            end(false);
+        }
+
+        private boolean end(boolean sample) {
+            if (!ended.compareAndSet(false, true)) {
+                return false;
+            }
+            endpoint.end();
+            if (sample) {
+                long now = clock.getAsLong();
+                endpoint.recordLatency(now - startNanos, now);
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.rlax.bolt.client.balance;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 一个中台服务端的负载与健康状态
+ * <p>
+ * 延迟为时间衰减的峰值 EWMA：样本高于当前估计时直接取样本，低于时按距上次样本的时间平滑；
+ * 长时间没有样本时估计值逐渐回落，使慢过的服务端有机会重新分到流量。
+ * 健康状态由 {@link ServerBalancer} 在锁内修改。
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public class ServerEndpoint {
+
+    private final String address;
+    private final double decayNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /** 延迟估计，纳秒，没有样本时为 0 */
+    private volatile double latencyNanos;
+    private volatile long lastSampleNanos;
+
+    /** 摘除截止时刻，未摘除过为 0 */
+    volatile long ejectedUntilNanos;
+    /** 连续失败次数 */
+    volatile int consecutiveFailures;
+    /** 连续摘除次数，恢复成功后清零 */
+    int ejections;
+    /** 摘除到期后重新加入、尚未成功过，此时失败一次即再次摘除 */
+    volatile boolean probation;
+
+    ServerEndpoint(String address, long decayNanos) {
+        this.address = address;
+        this.decayNanos = Math.max(1, decayNanos);
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public boolean isEjected(long nowNanos) {
+        long until = ejectedUntilNanos;
+        return until != 0 && until - nowNanos > 0;
+    }
+
+    /**
+     * 当前延迟估计，按距上次样本的时间衰减
+     */
+    public double latencyNanos(long nowNanos) {
+        double latency = latencyNanos;
+        long elapsed = nowNanos - lastSampleNanos;
+        return elapsed <= 0 ? latency : latency * Math.exp(-elapsed / decayNanos);
+    }
+
+    /**
+     * 选择代价，没有延迟样本时只比较在途数
+     */
+    double cost(long nowNanos) {
+        return (latencyNanos(nowNanos) + 1) * (inFlight.get() + 1);
+    }
+
+    void begin() {
+        inFlight.incrementAndGet();
+    }
+
+    void end() {
+        inFlight.decrementAndGet();
+    }
+
+    synchronized void recordLatency(long rttNanos, long nowNanos) {
+        double weight = Math.exp(-Math.max(0, nowNanos - lastSampleNanos) / decayNanos);
+        // 样本高于估计时平滑值小于样本，取样本即峰值
+        latencyNanos = Math.max(rttNanos, latencyNanos * weight + rttNanos * (1 - weight));
+        lastSampleNanos = nowNanos;
+    }
+
+    @Override
+    public String toString() {
+        return address;
+    }
+}
@@ -0,0 +1,28 @@
+package com.rlax.bolt.client.pool;
+
+import lombok.Data;
+
+/**
+ * 站级客户端到每个中台服务端的连接池
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Data
+public class ConnectionPoolOptions {
+
+    /** 每个服务端地址的连接数，调用在池内连接间随机分布 */
+    private int connectionsPerServer = 4;
+
+    /** 启动时预先建立全部连接，建立完成前就绪检查为 OUT_OF_SERVICE */
+    private boolean warmup = true;
+
+    /** 建立连接超时 */
+    private int connectTimeoutMillis = 3000;
+
+    /** 预热未完成时的重试间隔 */
+    private long warmupRetryMillis = 5000;
+
+    /** 建满连接的服务端数达到该值即就绪，不大于 0 时要求可连通的服务端全部建满；连不上的服务端不阻塞就绪 */
+    private int warmupQuorum = 0;
+}
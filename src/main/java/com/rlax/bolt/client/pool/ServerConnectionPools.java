@@ -0,0 +1,188 @@
+package com.rlax.bolt.client.pool;
+
+import com.alipay.remoting.Url;
+import com.alipay.remoting.exception.RemotingException;
+import com.alipay.remoting.rpc.RpcClient;
+import com.alipay.remoting.rpc.RpcConfigs;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 站级客户端到各中台服务端的连接池
+ * <p>
+ * 调用地址带上 Bolt 的 _CONNECTIONNUM / _CONNECTIONWARMUP / _CONNECTTIMEOUT 参数，Bolt 按 ip:port 为每个服务端维护一个连接池，
+ * 每次调用在池内可用连接中随机选择，避免所有请求挤在一条 TCP 连接上。
+ * 开启预热时，启动后在后台线程为每个服务端建满连接，未建满的按间隔重试。可连通的服务端全部建满，
+ * 或建满的服务端数达到 warmupQuorum 后 {@link #isWarm()} 为 true，连不上的服务端不会让应用一直不就绪；
+ * 此前就绪检查返回 OUT_OF_SERVICE，首个用户请求不再承担建连耗时。就绪后仍在后台补齐，直到全部建满。
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Slf4j
+public class ServerConnectionPools {
+
+    private final RpcClient rpcClient;
+    private final ConnectionPoolOptions options;
+
+    /** 服务端地址 -> 带连接池参数的调用地址 */
+    private final Map<String, String> urls = new LinkedHashMap<>();
+
+    private volatile boolean warm;
+
+    /** 最近一轮预热连不上的服务端 -> 失败原因 */
+    private volatile Map<String, String> unreachable = Collections.emptyMap();
+
+    private ScheduledExecutorService scheduler;
+
+    public ServerConnectionPools(RpcClient rpcClient, List<String> servers, ConnectionPoolOptions options) {
+        this.rpcClient = rpcClient;
+        this.options = options;
+        for (String server : servers) {
+            urls.put(server, urlOf(server, options));
+        }
+    }
+
+    /**
+     * 带连接池参数的调用地址，未知地址原样返回
+     */
+    public String urlOf(String address) {
+        String url = urls.get(address);
+        return url == null ? address : url;
+    }
+
+    static String urlOf(String address, ConnectionPoolOptions options) {
+        return address + (address.indexOf('?') < 0 ? "?" : "&")
+                + RpcConfigs.CONNECT_TIMEOUT_KEY + "=" + options.getConnectTimeoutMillis()
+                + "&" + RpcConfigs.CONNECTION_NUM_KEY + "=" + Math.max(1, options.getConnectionsPerServer())
+                + "&" + RpcConfigs.CONNECTION_WARMUP_KEY + "=" + options.isWarmup();
+    }
+
+    /**
+     * 开始后台预热，未开启预热时直接视为已就绪
+     */
+    public synchronized void start() {
+        if (!options.isWarmup()) {
+            warm = true;
+            return;
+        }
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "bolt-pool-warmup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.execute(this::warmup);
+    }
+
+    public synchronized void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    public boolean isWarm() {
+        return warm;
+    }
+
+    /**
+     * 最近一轮预热连不上的服务端及失败原因
+     */
+    public Map<String, String> unreachableServers() {
+        return unreachable;
+    }
+
+    /**
+     * 各服务端当前连接数
+     */
+    public Map<String, Integer> connectionCounts() {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (String server : urls.keySet()) {
+            counts.put(server, rpcClient.getConnectionManager().count(poolKeyOf(server)));
+        }
+        return counts;
+    }
+
+    private void warmup() {
+        boolean done;
+        try {
+            done = warmupRound();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (done) {
+            log.info("中台服务端连接预热完成: {}", connectionCounts());
+            shutdown();
+            return;
+        }
+        synchronized (this) {
+            if (scheduler != null) {
+                scheduler.schedule(this::warmup, options.getWarmupRetryMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * 为每个服务端建连一轮，满足就绪条件时置为就绪
+     * @return 全部服务端均已建满
+     */
+    boolean warmupRound() throws InterruptedException {
+        int expected = Math.max(1, options.getConnectionsPerServer());
+        int full = 0;
+        int partial = 0;
+        Map<String, String> failed = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : urls.entrySet()) {
+            try {
+                Url url = rpcClient.getAddressParser().parse(entry.getValue());
+                // 连接池不存在时按 warmup 参数同步建满，已存在但不足时补齐
+                rpcClient.getConnectionManager().createConnectionAndHealIfNeed(url);
+                int count = rpcClient.getConnectionManager().count(url.getUniqueKey());
+                if (count < expected) {
+                    partial++;
+                    log.info("中台服务端 {} 连接预热中: {}/{}", entry.getKey(), count, expected);
+                } else {
+                    full++;
+                }
+            } catch (RemotingException e) {
+                failed.put(entry.getKey(), e.toString());
+                log.warn("中台服务端 {} 连接预热失败: {}", entry.getKey(), e.toString());
+            }
+        }
+        unreachable = Collections.unmodifiableMap(failed);
+        if (!warm && isReady(full, partial, failed.size(), options.getWarmupQuorum())) {
+            warm = true;
+            log.info("中台服务端连接池已就绪: 建满 {}, 预热中 {}, 不可达 {}", full, partial, failed.keySet());
+        }
+        return partial == 0 && failed.isEmpty();
+    }
+
+    /**
+     * 可连通的服务端均已建满，或建满的服务端数达到 quorum（大于 0 时）
+     */
+    static boolean isReady(int full, int partial, int unreachable, int quorum) {
+        if (quorum > 0 && full >= quorum) {
+            return true;
+        }
+        // 全部不可达时不就绪
+        return partial == 0 && (full > 0 || unreachable == 0);
+    }
+
+    /**
+     * Bolt 连接池以 ip:port 为 key
+     */
+    public static String poolKeyOf(String address) {
+        int query = address.indexOf('?');
+        return query < 0 ? address : address.substring(0, query);
+    }
+}
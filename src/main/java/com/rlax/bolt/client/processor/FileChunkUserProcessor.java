@@ -0,0 +1,80 @@
+package com.rlax.bolt.client.processor;
+
+import com.alipay.remoting.BizContext;
+import com.rlax.bolt.message.ChunkFrame;
+import com.rlax.bolt.processor.ChunkAssemblingUserProcessor;
+import com.rlax.bolt.processor.ChunkSink;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Executor;
+
+/**
+ * 站级客户端接收中台流式上传的文件，逐块写入目录，失败时删除未写完的文件
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Slf4j
+public class FileChunkUserProcessor extends ChunkAssemblingUserProcessor {
+
+    private final Path directory;
+
+    /** 阻塞写文件，与 RequestBody 处理器使用同一执行方式 */
+    private final Executor executor;
+
+    public FileChunkUserProcessor(Path directory, Executor executor) {
+        this.directory = directory;
+        this.executor = executor;
+    }
+
+    @Override
+    protected ChunkSink open(BizContext bizCtx, ChunkFrame open) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(open.getStreamId() + "-" + safeName(open.getName()));
+        OutputStream out = Files.newOutputStream(file);
+        log.info("开始接收上传文件 {}，长度: {}", file, open.getLength());
+        return new ChunkSink() {
+
+            private long written;
+
+            @Override
+            public void onChunk(byte[] data) throws IOException {
+                out.write(data);
+                written += data.length;
+            }
+
+            @Override
+            public Object onComplete() throws IOException {
+                out.close();
+                log.info("上传文件 {} 接收完成，{} 字节", file, written);
+                return "received " + written + " bytes: " + file;
+            }
+
+            @Override
+            public void onError(Throwable e) {
+                try {
+                    out.close();
+                    Files.deleteIfExists(file);
+                } catch (IOException ex) {
+                    log.warn("删除未完成的上传文件 {} 失败", file, ex);
+                }
+            }
+        };
+    }
+
+    private static String safeName(String name) {
+        if (name == null || name.isEmpty()) {
+            return "upload";
+        }
+        return name.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    @Override
+    public Executor getExecutor() {
+        return executor;
+    }
+}
@@ -1,41 +1,35 @@
 package com.rlax.bolt.client.processor;
 
-import cn.hutool.core.util.StrUtil;
-import com.alipay.remoting.AsyncContext;
 import com.alipay.remoting.BizContext;
-import com.alipay.remoting.rpc.protocol.AsyncUserProcessor;
 import com.rlax.bolt.message.RequestBody;
+import com.rlax.bolt.processor.NonBlockingUserProcessor;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.concurrent.Executor;
-import java.util.concurrent.TimeUnit;
 
 /**
  * Async 异步用户处理器
+ * <p>
+ * 模拟 3 秒的慢处理，等待期间不占用线程；
+ * taskExecutor 只用于分发请求，线程池过载时 Bolt 直接响应 SERVER_THREADPOOL_BUSY。
  *
  * @author Rlax
  * @date 2022/08/30
  */
 @Slf4j
 @AllArgsConstructor
-public class MyAsyncClientUserProcessor extends AsyncUserProcessor<RequestBody> {
+public class MyAsyncClientUserProcessor extends NonBlockingUserProcessor<RequestBody> {
 
     private final Executor taskExecutor;
 
     @Override
-    public void handleRequest(BizContext bizCtx, AsyncContext asyncCtx, RequestBody request) {
-        log.info("客户端收到来自 {} 的请求：{}", bizCtx.getRemoteAddress(), request);
-        taskExecutor.execute(() -> {
-            log.info("客户端 {} 处理请求：{}", bizCtx.getRemoteAddress(), request);
-            try {
-                TimeUnit.SECONDS.sleep(3);
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }
-
-            asyncCtx.sendResponse(StrUtil.format("客户端收到来自 {} 的请求: {}, 睡眠3秒后响应：{}", bizCtx.getRemoteAddress(), request, "hello server, i am client"));
-        });
+    protected Mono<Object> handle(BizContext bizCtx, RequestBody request) {
+        log.debug("客户端收到来自 {} 的请求：id={}, traceId={}", bizCtx.getRemoteAddress(), request.getId(), request.getTraceId());
+        return Mono.delay(Duration.ofSeconds(3))
+                .map(tick -> "hello server, i am client, 3 秒后响应, id: " + request.getId() + ", traceId: " + request.getTraceId());
     }
 
     @Override
@@ -43,4 +37,9 @@ public class MyAsyncClientUserProcessor extends AsyncUserProcessor<RequestBody>
         return RequestBody.class.getName();
     }
 
+    @Override
+    public Executor getExecutor() {
+        return taskExecutor;
+    }
+
 }
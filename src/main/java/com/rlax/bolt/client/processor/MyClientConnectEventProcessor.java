@@ -2,10 +2,20 @@ package com.rlax.bolt.client.processor;
 
 import com.alipay.remoting.Connection;
 import com.alipay.remoting.ConnectionEventProcessor;
+import com.alipay.remoting.InvokeCallback;
+import com.alipay.remoting.exception.RemotingException;
+import com.alipay.remoting.rpc.RpcClient;
+import com.rlax.bolt.message.StationRegister;
+import com.rlax.bolt.message.StationRegisterAck;
+import com.rlax.bolt.serialization.Capabilities;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.concurrent.Executor;
+
 /**
+ * 建立连接（含断线重连）后向服务端上报站级 id 与客户端能力，服务端应答的能力记录在连接上
+ *
  * @author Rlax
  * @date 2022/08/30
  */
@@ -13,15 +23,55 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class MyClientConnectEventProcessor implements ConnectionEventProcessor {
 
+    private static final int REGISTER_TIMEOUT_MILLIS = 3000;
+
     private Connection     connection;
     private String         remoteAddr;
 
+    /** 站级业务 id */
+    private String         stationId;
+    /** 所属客户端，用于上报注册消息 */
+    private RpcClient      rpcClient;
+    /** 客户端能力，见 {@link Capabilities} */
+    private int            capabilities;
+
     @Override
     public void onEvent(String remoteAddress, Connection connection) {
         this.remoteAddr = remoteAddress;
         this.connection = connection;
         log.info("客户端已与服务端 {} 建立连接", remoteAddress);
+        register(connection);
     }
 
+    private void register(Connection connection) {
+        if (rpcClient == null) {
+            return;
+        }
+        String remoteAddress = remoteAddr;
+        try {
+            rpcClient.invokeWithCallback(connection, new StationRegister(stationId, capabilities), new InvokeCallback() {
+                @Override
+                public void onResponse(Object result) {
+                    if (result instanceof StationRegisterAck) {
+                        Capabilities.setPeer(connection, ((StationRegisterAck) result).getCapabilities());
+                        log.info("服务端 {} 注册应答，服务端能力: {}", remoteAddress, ((StationRegisterAck) result).getCapabilities());
+                    }
+                }
+
+                @Override
+                public void onException(Throwable e) {
+                    log.error("客户端向服务端 {} 上报站级 id 失败", remoteAddress, e);
+                }
+
+                @Override
+                public Executor getExecutor() {
+                    return null;
+                }
+            }, REGISTER_TIMEOUT_MILLIS);
+            log.info("客户端向服务端 {} 上报站级 id: {}, 能力: {}", remoteAddress, stationId, capabilities);
+        } catch (RemotingException e) {
+            log.error("客户端向服务端 {} 上报站级 id 失败", remoteAddress, e);
+        }
+    }
 
 }
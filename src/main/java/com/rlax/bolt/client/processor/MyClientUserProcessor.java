@@ -2,9 +2,14 @@ package com.rlax.bolt.client.processor;
 
 import com.alipay.remoting.BizContext;
 import com.alipay.remoting.rpc.protocol.SyncUserProcessor;
+import com.rlax.bolt.deadline.Deadline;
+import com.rlax.bolt.deadline.DeadlineExceededException;
 import com.rlax.bolt.message.RequestBody;
+import com.rlax.bolt.trace.TraceHeaders;
+import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -12,16 +17,31 @@ import java.util.concurrent.TimeUnit;
  * @date 2022/08/30
  */
 @Slf4j
+@AllArgsConstructor
 public class MyClientUserProcessor extends SyncUserProcessor<RequestBody> {
 
+    /** 阻塞处理，按 bolt.execution.client-processor 使用线程池或虚拟线程 */
+    private final Executor executor;
+
     @Override
     public Object handleRequest(BizContext bizCtx, RequestBody request) throws Exception {
-        log.info("客户端收到来自 {} 的请求：{}", bizCtx.getRemoteAddress(), request);
+        TraceHeaders.Received received = TraceHeaders.takeReceived();
+        log.debug("客户端收到来自 {} 的请求：id={}, traceId={}", bizCtx.getRemoteAddress(), request.getId(), request.getTraceId());
+        Deadline deadline = Deadline.of(bizCtx);
+        if (deadline != null && deadline.isExpired()) {
+            // 在线程池队列中等待已超过中台的剩余预算，中台不再等待结果，不做无用功
+            request.release();
+            throw new DeadlineExceededException("请求 traceId=" + request.getTraceId() + " 已过截止时间");
+        }
         try {
             TimeUnit.SECONDS.sleep(1);
         } catch (InterruptedException e) {
             e.printStackTrace();
+        } finally {
+            // 响应不引用请求 body，返回前释放 ByteBuf body
+            request.release();
         }
+        TraceHeaders.responding(received, TraceHeaders.waitMillis(bizCtx.getInvokeContext()));
         return "hello server, i am client, traceId: " + request.getTraceId();
     }
 
@@ -30,4 +50,9 @@ public class MyClientUserProcessor extends SyncUserProcessor<RequestBody> {
         return RequestBody.class.getName();
     }
 
+    @Override
+    public Executor getExecutor() {
+        return executor;
+    }
+
 }
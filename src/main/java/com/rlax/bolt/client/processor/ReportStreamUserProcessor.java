@@ -0,0 +1,42 @@
+package com.rlax.bolt.client.processor;
+
+import com.alipay.remoting.BizContext;
+import com.rlax.bolt.invoke.chunk.ChunkStreamSender;
+import com.rlax.bolt.message.StreamRequest;
+import com.rlax.bolt.processor.ChunkStreamingUserProcessor;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 站级客户端按行生成报表并分块回传，每块按需生成，内存占用与报表大小无关
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public class ReportStreamUserProcessor extends ChunkStreamingUserProcessor {
+
+    private static final int LINES_PER_CHUNK = 1000;
+
+    private final String stationId;
+
+    public ReportStreamUserProcessor(ChunkStreamSender sender, String stationId) {
+        super(sender);
+        this.stationId = stationId;
+    }
+
+    @Override
+    protected Flux<byte[]> stream(BizContext bizCtx, StreamRequest request) {
+        int lines = Integer.parseInt(request.getParams().getOrDefault("lines", "100000"));
+        int chunks = (lines + LINES_PER_CHUNK - 1) / LINES_PER_CHUNK;
+        return Flux.range(0, chunks).map(chunk -> {
+            int from = chunk * LINES_PER_CHUNK;
+            int to = Math.min(lines, from + LINES_PER_CHUNK);
+            StringBuilder sb = new StringBuilder((to - from) * 48);
+            for (int line = from; line < to; line++) {
+                sb.append(line).append(',').append(stationId).append(',').append(request.getName()).append('\n');
+            }
+            return sb.toString().getBytes(StandardCharsets.UTF_8);
+        });
+    }
+}
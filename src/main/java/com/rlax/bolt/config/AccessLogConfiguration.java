@@ -0,0 +1,32 @@
+package com.rlax.bolt.config;
+
+import com.rlax.bolt.accesslog.AccessLogWebFilter;
+import com.rlax.bolt.accesslog.AccessLogger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 访问日志配置
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Slf4j
+@Configuration
+public class AccessLogConfiguration {
+
+    @Bean
+    public AccessLogger accessLogger(BoltProperties boltProperties) {
+        AccessLogger accessLogger = new AccessLogger(boltProperties.getAccessLog());
+        accessLogger.start();
+        log.info("访问日志配置：{}", boltProperties.getAccessLog());
+        return accessLogger;
+    }
+
+    @Bean
+    public AccessLogWebFilter accessLogWebFilter(AccessLogger accessLogger) {
+        return new AccessLogWebFilter(accessLogger);
+    }
+
+}
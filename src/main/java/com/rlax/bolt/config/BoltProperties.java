@@ -0,0 +1,139 @@
+package com.rlax.bolt.config;
+
+import com.rlax.bolt.accesslog.AccessLogOptions;
+import com.rlax.bolt.client.balance.BalancerOptions;
+import com.rlax.bolt.client.pool.ConnectionPoolOptions;
+import com.rlax.bolt.deadline.DeadlineOptions;
+import com.rlax.bolt.executor.ExecutionMode;
+import com.rlax.bolt.executor.ExecutorOptions;
+import com.rlax.bolt.invoke.batch.BatchOptions;
+import com.rlax.bolt.invoke.cache.ResponseCacheOptions;
+import com.rlax.bolt.invoke.chunk.ChunkOptions;
+import com.rlax.bolt.serialization.CompressionOptions;
+import com.rlax.bolt.server.breaker.CircuitBreakerOptions;
+import com.rlax.bolt.server.limit.ConcurrencyLimitOptions;
+import com.rlax.bolt.server.liveness.LivenessOptions;
+import com.rlax.bolt.trace.TraceOptions;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Bolt 配置项
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Data
+@ConfigurationProperties(prefix = "bolt")
+public class BoltProperties {
+
+    /** 站级客户端配置 */
+    private Client client = new Client();
+
+    /** 微批配置 */
+    private BatchOptions batch = new BatchOptions();
+
+    /** 分块流式上传 */
+    private ChunkOptions chunk = new ChunkOptions();
+
+    /** 网关响应缓存 */
+    private ResponseCacheOptions responseCache = new ResponseCacheOptions();
+
+    /** 编解码配置 */
+    private Codec codec = new Codec();
+
+    /** 指标配置 */
+    private Metrics metrics = new Metrics();
+
+    /** 客户端 UserProcessor 线程池 */
+    private ExecutorOptions clientExecutor = new ExecutorOptions(1);
+
+    /** 服务端 Callback Response 线程池 */
+    private ExecutorOptions serverExecutor = new ExecutorOptions(5);
+
+    /** 用户处理器 / 调用回调的执行方式 */
+    private Execution execution = new Execution();
+
+    /** Bolt 连接空闲检测，启动前写入系统属性，服务端与客户端共用 */
+    private Tcp tcp = new Tcp();
+
+    /** 中台调用站级客户端的自适应并发上限 */
+    private ConcurrencyLimitOptions concurrencyLimit = new ConcurrencyLimitOptions();
+
+    /** 中台调用站级客户端的熔断 */
+    private CircuitBreakerOptions circuitBreaker = new CircuitBreakerOptions();
+
+    /** 站级连接存活判定 */
+    private LivenessOptions liveness = new LivenessOptions();
+
+    /** 访问日志 */
+    private AccessLogOptions accessLog = new AccessLogOptions();
+
+    /** 链路与分阶段耗时 */
+    private TraceOptions trace = new TraceOptions();
+
+    /** 请求截止时间 */
+    private DeadlineOptions deadline = new DeadlineOptions();
+
+    @Data
+    public static class Client {
+
+        /** 站级业务 id，建立连接后上报给服务端，用于反向调用路由 */
+        private String stationId;
+
+        /** 接收中台流式上传文件的目录，为空时使用 java.io.tmpdir/bolt-upload */
+        private String uploadDirectory;
+
+        /** 中台服务端地址与负载均衡 */
+        private BalancerOptions balancer = new BalancerOptions();
+
+        /** 到每个中台服务端的连接池与启动预热 */
+        private ConnectionPoolOptions pool = new ConnectionPoolOptions();
+    }
+
+    @Data
+    public static class Codec {
+
+        /** RequestBody 使用二进制编码替代 Hessian，两端需保持一致 */
+        private boolean binaryRequestBody = true;
+
+        /** RequestBody body 解码为请求内容的零拷贝 ByteBuf 视图，处理器通过 bodyBuffer 读取，响应发送后自动释放 */
+        private boolean zeroCopyBody = false;
+
+        /** RequestBody 内容压缩，连接建立时协商，对端支持时才压缩 */
+        private CompressionOptions compression = new CompressionOptions();
+    }
+
+    @Data
+    public static class Execution {
+
+        /** 站级客户端 RequestBody 处理器，VIRTUAL 为虚拟线程上的阻塞处理器，DEFAULT 为线程池分发的非阻塞处理器 */
+        private ExecutionMode clientProcessor = ExecutionMode.DEFAULT;
+
+        /** 服务端 RequestBody 处理器，DEFAULT 为 Bolt 默认业务线程池 */
+        private ExecutionMode serverProcessor = ExecutionMode.DEFAULT;
+
+        /** ReactiveBoltInvoker 调用回调，DEFAULT 为直接在 Bolt 回调线程执行 */
+        private ExecutionMode callback = ExecutionMode.DEFAULT;
+    }
+
+    @Data
+    public static class Tcp {
+
+        /** 是否开启空闲检测，客户端空闲时发送心跳，间隔取 liveness.heartbeat-interval-millis */
+        private boolean idleSwitch = true;
+
+        /** 心跳无应答达到该次数时客户端断开连接 */
+        private int idleMaxTimes = 100;
+
+        /** 服务端超过该时间没有收到消息时断开连接 */
+        private long serverIdleMillis = 90000;
+    }
+
+    @Data
+    public static class Metrics {
+
+        /** 调用指标是否按站级 id / 服务端地址打标签，每个目标都有一组延迟直方图，只在站数量不多时开启 */
+        private boolean perTargetTags = false;
+    }
+}
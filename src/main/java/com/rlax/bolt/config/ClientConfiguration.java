@@ -1,18 +1,35 @@
 package com.rlax.bolt.config;
 
 import com.alipay.remoting.ConnectionEventType;
-import com.alipay.remoting.config.Configs;
+import com.alipay.remoting.config.BoltClientOption;
 import com.alipay.remoting.rpc.RpcClient;
+import com.alipay.remoting.rpc.protocol.UserProcessor;
+import com.rlax.bolt.client.pool.ServerConnectionPools;
+import com.rlax.bolt.client.processor.FileChunkUserProcessor;
 import com.rlax.bolt.client.processor.MyAsyncClientUserProcessor;
 import com.rlax.bolt.client.processor.MyClientConnectEventProcessor;
 import com.rlax.bolt.client.processor.MyClientDisConnectEventProcessor;
 import com.rlax.bolt.client.processor.MyClientExceptionEventProcessor;
+import com.rlax.bolt.client.processor.MyClientUserProcessor;
+import com.rlax.bolt.client.processor.ReportStreamUserProcessor;
+import com.rlax.bolt.executor.ExecutionMode;
+import com.rlax.bolt.executor.VirtualThreads;
+import com.rlax.bolt.invoke.chunk.ChunkStreamSender;
+import com.rlax.bolt.message.RequestBody;
+import com.rlax.bolt.processor.BatchUserProcessor;
+import com.rlax.bolt.serialization.PayloadCompressor;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
 
 import javax.annotation.Resource;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
 import java.util.concurrent.Executor;
 
 /**
@@ -29,28 +46,81 @@ public class ClientConfiguration {
     @Resource(name = "clientExecutor")
     private final Executor clientExecutor;
 
+    private final BoltProperties boltProperties;
+
+    private final PayloadCompressor payloadCompressor;
+
+    /**
+     * 只创建客户端并注册全部处理器，由 {@link com.rlax.bolt.startup.BoltStartup} 与服务端并行启动
+     */
     @Bean
+    @DependsOn("customSerializerRegistrar")
     public RpcClient rpcClient() {
-        // 客户端断线重连
-        System.setProperty(Configs.CONN_RECONNECT_SWITCH, "true");
-
         MyClientConnectEventProcessor clientConnectProcessor = new MyClientConnectEventProcessor();
+        clientConnectProcessor.setStationId(boltProperties.getClient().getStationId());
+        clientConnectProcessor.setCapabilities(payloadCompressor.capabilities());
         MyClientDisConnectEventProcessor clientDisConnectProcessor = new MyClientDisConnectEventProcessor();
-        // 同步
-//        MyClientUserProcessor clientUserProcessor = new MyClientUserProcessor();
-        // 异步
-        MyAsyncClientUserProcessor clientUserProcessor = new MyAsyncClientUserProcessor(clientExecutor);
+        ExecutionMode clientProcessorMode = boltProperties.getExecution().getClientProcessor();
+        Executor processorExecutor = VirtualThreads.select(clientProcessorMode, "client-processor-", clientExecutor);
+        UserProcessor<RequestBody> clientUserProcessor;
+        if (clientProcessorMode == ExecutionMode.VIRTUAL && VirtualThreads.isSupported()) {
+            // 虚拟线程：阻塞处理，等待期间只占用虚拟线程
+            clientUserProcessor = new MyClientUserProcessor(processorExecutor);
+        } else {
+            // 线程池：非阻塞处理，等待期间不占用线程
+            clientUserProcessor = new MyAsyncClientUserProcessor(processorExecutor);
+        }
 
         // 1. create a rpc client
         RpcClient client = new RpcClient();
+        // 客户端断线重连
+        client.option(BoltClientOption.CONN_RECONNECT_SWITCH, true);
         // 2. add processor for connect and close event if you need
         client.addConnectionEventProcessor(ConnectionEventType.CONNECT, clientConnectProcessor);
         client.addConnectionEventProcessor(ConnectionEventType.CLOSE, clientDisConnectProcessor);
         client.addConnectionEventProcessor(ConnectionEventType.EXCEPTION, new MyClientExceptionEventProcessor());
         client.registerUserProcessor(clientUserProcessor);
-        // 3. do init
-        client.startup();
+        client.registerUserProcessor(new BatchUserProcessor(clientUserProcessor));
+        client.registerUserProcessor(new FileChunkUserProcessor(uploadDirectory(), processorExecutor));
+        // 分块回传经同一客户端发往中台
+        client.registerUserProcessor(new ReportStreamUserProcessor(
+                new ChunkStreamSender(client::invokeWithCallback, boltProperties.getChunk()),
+                boltProperties.getClient().getStationId()));
+        // 连接建立后通过该客户端上报站级 id
+        clientConnectProcessor.setRpcClient(client);
         return client;
     }
 
+    /**
+     * 客户端启动后由 {@link com.rlax.bolt.startup.BoltStartup} 开始预热
+     */
+    @Bean
+    public ServerConnectionPools serverConnectionPools(RpcClient rpcClient) {
+        BoltProperties.Client client = boltProperties.getClient();
+        return new ServerConnectionPools(rpcClient, client.getBalancer().getServers(), client.getPool());
+    }
+
+    /**
+     * 连接池预热完成前为 OUT_OF_SERVICE，纳入 readiness 分组；详情为各服务端连接数与连不上的服务端
+     */
+    @Bean
+    public HealthIndicator boltClientPoolsHealthIndicator(ServerConnectionPools serverConnectionPools) {
+        return () -> {
+            Health.Builder builder = (serverConnectionPools.isWarm() ? Health.up() : Health.outOfService())
+                    .withDetails(serverConnectionPools.connectionCounts());
+            Map<String, String> unreachable = serverConnectionPools.unreachableServers();
+            if (!unreachable.isEmpty()) {
+                builder.withDetail("unreachable", unreachable);
+            }
+            return builder.build();
+        };
+    }
+
+    private Path uploadDirectory() {
+        String directory = boltProperties.getClient().getUploadDirectory();
+        return directory == null || directory.isEmpty()
+                ? Paths.get(System.getProperty("java.io.tmpdir"), "bolt-upload")
+                : Paths.get(directory);
+    }
+
 }
@@ -0,0 +1,30 @@
+package com.rlax.bolt.config;
+
+import com.rlax.bolt.deadline.DeadlineWebFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * 请求截止时间配置
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Slf4j
+@Configuration
+public class DeadlineConfiguration {
+
+    /**
+     * 紧随链路过滤器，截止时间从请求进入网关开始计算
+     */
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public DeadlineWebFilter deadlineWebFilter(BoltProperties boltProperties) {
+        log.info("请求截止时间配置：{}", boltProperties.getDeadline());
+        return new DeadlineWebFilter(boltProperties.getDeadline());
+    }
+
+}
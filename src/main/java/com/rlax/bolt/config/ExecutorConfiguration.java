@@ -1,5 +1,8 @@
 package com.rlax.bolt.config;
 
+import com.rlax.bolt.executor.ExecutorOptions;
+import com.rlax.bolt.executor.OverloadRejectedExecutionHandler;
+import com.rlax.bolt.metrics.BoltMetrics;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
@@ -7,7 +10,6 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
-import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * 线程池配置
@@ -20,24 +22,17 @@ import java.util.concurrent.ThreadPoolExecutor;
 @AllArgsConstructor
 public class ExecutorConfiguration {
 
+    private final BoltMetrics boltMetrics;
+
+    private final BoltProperties boltProperties;
+
     /**
      * 客户端 UserProcessor 线程池
      * @return clientExecutor
      */
     @Bean("clientExecutor")
     public Executor clientExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(1);
-        executor.setMaxPoolSize(50);
-        executor.setQueueCapacity(10000);
-        executor.setKeepAliveSeconds(300);
-        executor.setThreadNamePrefix("client-executor-");
-        /*
-           rejection-policy：当pool已经达到max size的时候，如何处理新任务
-           CALLER_RUNS：不在新线程中执行任务，而是有调用者所在的线程来执行
-        */
-        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
-        return executor;
+        return buildExecutor("clientExecutor", "client-executor-", boltProperties.getClientExecutor());
     }
 
     /**
@@ -46,17 +41,26 @@ public class ExecutorConfiguration {
      */
     @Bean("serverExecutor")
     public Executor serverExecutor() {
+        return buildExecutor("serverExecutor", "server-executor-", boltProperties.getServerExecutor());
+    }
+
+    private ThreadPoolTaskExecutor buildExecutor(String name, String threadNamePrefix, ExecutorOptions options) {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(5);
-        executor.setMaxPoolSize(50);
-        executor.setQueueCapacity(10000);
-        executor.setKeepAliveSeconds(300);
-        executor.setThreadNamePrefix("server-executor-");
+        executor.setCorePoolSize(options.getCorePoolSize());
+        executor.setMaxPoolSize(options.getMaxPoolSize());
+        executor.setQueueCapacity(options.getQueueCapacity());
+        executor.setKeepAliveSeconds(options.getKeepAliveSeconds());
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setTaskDecorator(boltMetrics.taskWaitDecorator(name));
         /*
            rejection-policy：当pool已经达到max size的时候，如何处理新任务
-           CALLER_RUNS：不在新线程中执行任务，而是有调用者所在的线程来执行
+           FAIL_FAST：立即拒绝，调用方快速失败；SHED_OLDEST：丢弃最早排队的任务
+           不再使用 CALLER_RUNS，提交线程可能是 Netty IO 线程，会拖慢同一 EventLoop 上的所有连接
         */
-        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setRejectedExecutionHandler(new OverloadRejectedExecutionHandler(name, options.getOverloadPolicy(),
+                boltMetrics.executorRejected(name, options.getOverloadPolicy().name())));
+        boltMetrics.monitorExecutor(executor, name);
+        log.info("线程池 {} 配置：{}", name, options);
         return executor;
     }
 
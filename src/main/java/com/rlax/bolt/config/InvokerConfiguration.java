@@ -0,0 +1,80 @@
+package com.rlax.bolt.config;
+
+import com.alipay.remoting.rpc.RpcClient;
+import com.rlax.bolt.accesslog.AccessLogger;
+import com.rlax.bolt.client.balance.ServerBalancer;
+import com.rlax.bolt.client.pool.ServerConnectionPools;
+import com.rlax.bolt.executor.VirtualThreads;
+import com.rlax.bolt.invoke.ReactiveBoltInvoker;
+import com.rlax.bolt.invoke.cache.ResponseCache;
+import com.rlax.bolt.invoke.chunk.ChunkStreamRegistry;
+import com.rlax.bolt.invoke.chunk.ChunkedDownloader;
+import com.rlax.bolt.invoke.chunk.ChunkedUploader;
+import com.rlax.bolt.metrics.BoltMetrics;
+import com.rlax.bolt.server.BoltServer;
+import com.rlax.bolt.server.breaker.StationCircuitBreakers;
+import com.rlax.bolt.server.limit.StationConcurrencyLimiter;
+import com.rlax.bolt.server.liveness.ConnectionLiveness;
+import com.rlax.bolt.server.broadcast.StationBroadcaster;
+import com.rlax.bolt.server.registry.StationRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.Executor;
+
+/**
+ * 调用器配置
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Slf4j
+@Configuration
+public class InvokerConfiguration {
+
+    @Bean
+    public ReactiveBoltInvoker reactiveBoltInvoker(BoltServer boltServer, RpcClient rpcClient,
+                                                   BoltProperties boltProperties, BoltMetrics boltMetrics,
+                                                   ConnectionLiveness connectionLiveness, AccessLogger accessLogger,
+                                                   StationConcurrencyLimiter stationConcurrencyLimiter,
+                                                   StationCircuitBreakers stationCircuitBreakers) {
+        Executor callbackExecutor = VirtualThreads.select(boltProperties.getExecution().getCallback(), "bolt-callback-", null);
+        return new ReactiveBoltInvoker(boltServer, rpcClient, boltProperties.getBatch(), boltMetrics, callbackExecutor,
+                connectionLiveness, accessLogger, stationConcurrencyLimiter, stationCircuitBreakers);
+    }
+
+    @Bean
+    public StationCircuitBreakers stationCircuitBreakers(BoltProperties boltProperties, BoltMetrics boltMetrics) {
+        return new StationCircuitBreakers(boltProperties.getCircuitBreaker(), boltMetrics);
+    }
+
+    @Bean
+    public ServerBalancer serverBalancer(ReactiveBoltInvoker reactiveBoltInvoker, ServerConnectionPools serverConnectionPools,
+                                         BoltProperties boltProperties, BoltMetrics boltMetrics) {
+        return new ServerBalancer(boltProperties.getClient().getBalancer(), serverConnectionPools::urlOf,
+                reactiveBoltInvoker, boltMetrics);
+    }
+
+    @Bean
+    public ChunkedUploader chunkedUploader(ReactiveBoltInvoker reactiveBoltInvoker, BoltProperties boltProperties) {
+        return new ChunkedUploader(reactiveBoltInvoker, boltProperties.getChunk());
+    }
+
+    @Bean
+    public ChunkedDownloader chunkedDownloader(ReactiveBoltInvoker reactiveBoltInvoker, ChunkStreamRegistry chunkStreamRegistry,
+                                               BoltProperties boltProperties) {
+        return new ChunkedDownloader(reactiveBoltInvoker, chunkStreamRegistry, boltProperties.getChunk());
+    }
+
+    @Bean
+    public ResponseCache responseCache(BoltProperties boltProperties, BoltMetrics boltMetrics) {
+        return new ResponseCache(boltProperties.getResponseCache(), boltMetrics);
+    }
+
+    @Bean
+    public StationBroadcaster stationBroadcaster(StationRegistry stationRegistry, ReactiveBoltInvoker reactiveBoltInvoker) {
+        return new StationBroadcaster(stationRegistry, reactiveBoltInvoker);
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.rlax.bolt.config;
+
+import com.rlax.bolt.metrics.BoltMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 指标配置，通过 /actuator/metrics、/actuator/prometheus 暴露
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Slf4j
+@Configuration
+public class MetricsConfiguration {
+
+    @Bean
+    public BoltMetrics boltMetrics(MeterRegistry meterRegistry, BoltProperties boltProperties) {
+        return new BoltMetrics(meterRegistry, boltProperties.getMetrics().isPerTargetTags());
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.rlax.bolt.config;
+
+import com.alipay.remoting.rpc.protocol.RpcCommandCode;
+import com.rlax.bolt.message.BatchRequest;
+import com.rlax.bolt.message.PreSerializedRequest;
+import com.rlax.bolt.message.RequestBody;
+import com.rlax.bolt.metrics.BoltMetrics;
+import com.rlax.bolt.processor.ExceptionResponseCommandFactory;
+import com.rlax.bolt.serialization.BatchRequestSerializer;
+import com.rlax.bolt.serialization.CustomSerializerRegistrar;
+import com.rlax.bolt.serialization.PayloadCompressor;
+import com.rlax.bolt.serialization.PreSerializedRequestSerializer;
+import com.rlax.bolt.serialization.RequestBodySerializer;
+import com.rlax.bolt.serialization.TraceHeaderSerializer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 自定义序列化器配置，BoltServer、RpcClient 依赖该配置先行注册。
+ * Bolt 协议的请求处理器同为全局注册，也在此替换（见 {@link ExceptionResponseCommandFactory}）
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Slf4j
+@Configuration
+public class SerializerConfiguration {
+
+    @Bean
+    public PayloadCompressor payloadCompressor(BoltProperties boltProperties, BoltMetrics boltMetrics) {
+        PayloadCompressor compressor = new PayloadCompressor(boltProperties.getCodec().getCompression(), boltMetrics);
+        log.info("请求内容压缩：{}", compressor);
+        return compressor;
+    }
+
+    @Bean
+    public CustomSerializerRegistrar customSerializerRegistrar(BoltProperties boltProperties, PayloadCompressor payloadCompressor) {
+        CustomSerializerRegistrar registrar = new CustomSerializerRegistrar();
+        // 其余请求与响应只携带链路头
+        TraceHeaderSerializer traceHeaderSerializer = new TraceHeaderSerializer();
+        registrar.register(RpcCommandCode.RPC_REQUEST, traceHeaderSerializer);
+        registrar.register(RpcCommandCode.RPC_RESPONSE, traceHeaderSerializer);
+        registrar.register(PreSerializedRequest.class.getName(), new PreSerializedRequestSerializer());
+        if (boltProperties.getCodec().isBinaryRequestBody()) {
+            registrar.register(RequestBody.class.getName(), new RequestBodySerializer(payloadCompressor,
+                    boltProperties.getCodec().isZeroCopyBody()));
+            // 微批中的 RequestBody 同样使用二进制编码
+            registrar.register(BatchRequest.class.getName(), new BatchRequestSerializer());
+        }
+        ExceptionResponseCommandFactory.install();
+        return registrar;
+    }
+
+}
@@ -3,16 +3,26 @@ package com.rlax.bolt.config;
 import com.alipay.remoting.CommonCommandCode;
 import com.alipay.remoting.ConnectionEventType;
 import com.alipay.remoting.config.BoltServerOption;
-import com.alipay.remoting.config.Configs;
 import com.alipay.remoting.rpc.protocol.RpcProtocol;
+import com.rlax.bolt.executor.VirtualThreads;
+import com.rlax.bolt.invoke.chunk.ChunkStreamRegistry;
+import com.rlax.bolt.processor.BatchUserProcessor;
+import com.rlax.bolt.serialization.PayloadCompressor;
+import com.rlax.bolt.metrics.BoltMetrics;
 import com.rlax.bolt.server.BoltServer;
+import com.rlax.bolt.server.limit.StationConcurrencyLimiter;
+import com.rlax.bolt.server.liveness.ConnectionLiveness;
+import com.rlax.bolt.server.processor.ChunkStreamProcessor;
 import com.rlax.bolt.server.processor.MyHeartBeatProcessor;
 import com.rlax.bolt.server.processor.MyServerConnectEventProcessor;
 import com.rlax.bolt.server.processor.MyServerDisConnectEventProcessor;
 import com.rlax.bolt.server.processor.MyServerUserProcessor;
+import com.rlax.bolt.server.processor.StationRegisterProcessor;
+import com.rlax.bolt.server.registry.StationRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
 
 /**
  * Server\
@@ -25,19 +35,44 @@ import org.springframework.context.annotation.Configuration;
 public class ServerConfiguration {
 
     @Bean
-    public BoltServer boltServer() {
-        // IDLE 事件间隔
-        System.setProperty(Configs.TCP_IDLE, "10000");
-        System.setProperty(Configs.TCP_IDLE_SWITCH, Boolean.toString(true));
-        // 超过心跳次数将断开连接
-        System.setProperty(Configs.TCP_IDLE_MAXTIMES, "100");
-        // 超过该时间没有接受消息将断开连接
-        System.setProperty(Configs.TCP_SERVER_IDLE, "90000");
+    public ConnectionLiveness connectionLiveness(BoltProperties boltProperties) {
+        ConnectionLiveness liveness = new ConnectionLiveness(boltProperties.getLiveness());
+        liveness.start();
+        return liveness;
+    }
+
+    @Bean
+    public StationRegistry stationRegistry(ConnectionLiveness connectionLiveness) {
+        return new StationRegistry(connectionLiveness);
+    }
+
+    @Bean
+    public StationConcurrencyLimiter stationConcurrencyLimiter(BoltProperties boltProperties, BoltMetrics boltMetrics) {
+        return new StationConcurrencyLimiter(boltProperties.getConcurrencyLimit(), boltMetrics);
+    }
 
+    @Bean
+    public ChunkStreamRegistry chunkStreamRegistry(BoltProperties boltProperties) {
+        return new ChunkStreamRegistry(boltProperties.getChunk().getWindow());
+    }
+
+    /**
+     * 只创建服务端并注册全部处理器，由 {@link com.rlax.bolt.startup.BoltStartup} 与客户端并行启动
+     */
+    @Bean
+    @DependsOn("customSerializerRegistrar")
+    public BoltServer boltServer(StationRegistry stationRegistry, ConnectionLiveness connectionLiveness,
+                                 BoltProperties boltProperties, PayloadCompressor payloadCompressor,
+                                 ChunkStreamRegistry chunkStreamRegistry,
+                                 StationConcurrencyLimiter stationConcurrencyLimiter, BoltMetrics boltMetrics) {
         MyServerConnectEventProcessor serverConnectProcessor = new MyServerConnectEventProcessor();
-        MyServerUserProcessor serverUserProcessor = new MyServerUserProcessor();
-        MyServerDisConnectEventProcessor serverDisConnectProcessor = new MyServerDisConnectEventProcessor();
-        MyHeartBeatProcessor heartBeatProcessor = new MyHeartBeatProcessor();
+        MyServerUserProcessor serverUserProcessor = new MyServerUserProcessor(VirtualThreads.select(
+                boltProperties.getExecution().getServerProcessor(), "server-processor-", null), connectionLiveness);
+        MyServerDisConnectEventProcessor serverDisConnectProcessor = new MyServerDisConnectEventProcessor(stationRegistry, connectionLiveness,
+                stationConcurrencyLimiter, boltMetrics);
+        StationRegisterProcessor stationRegisterProcessor = new StationRegisterProcessor(stationRegistry,
+                payloadCompressor.capabilities());
+        MyHeartBeatProcessor heartBeatProcessor = new MyHeartBeatProcessor(connectionLiveness);
 
         int port = 8899;
         BoltServer server = new BoltServer(port);
@@ -46,17 +81,12 @@ public class ServerConfiguration {
         server.addConnectionEventProcessor(ConnectionEventType.CLOSE, serverDisConnectProcessor);
         // 3. register user processor for client request
         server.registerUserProcessor(serverUserProcessor);
+        server.registerUserProcessor(stationRegisterProcessor);
+        server.registerUserProcessor(new BatchUserProcessor(serverUserProcessor));
+        server.registerUserProcessor(new ChunkStreamProcessor(chunkStreamRegistry));
         server.getRpcServer().option(BoltServerOption.SERVER_MANAGE_CONNECTION_SWITCH, true);
-
-        // 4. server start
-        if (server.startup()) {
-            log.info("TCP 服务端已启动：{}", port);
-        } else {
-            log.error("服务端启动失败");
-        }
-
-        server.getRpcServer().registerProcessor(RpcProtocol.PROTOCOL_CODE,
-                CommonCommandCode.HEARTBEAT, heartBeatProcessor);
+        // 心跳处理器在端口打开前注册，不会有心跳落到默认处理器
+        server.registerProcessor(RpcProtocol.PROTOCOL_CODE, CommonCommandCode.HEARTBEAT, heartBeatProcessor);
         return server;
     }
 
@@ -0,0 +1,57 @@
+package com.rlax.bolt.config;
+
+import com.alipay.remoting.config.Configs;
+import com.alipay.remoting.rpc.RpcClient;
+import com.rlax.bolt.client.pool.ServerConnectionPools;
+import com.rlax.bolt.metrics.BoltMetrics;
+import com.rlax.bolt.server.BoltServer;
+import com.rlax.bolt.startup.BoltStartup;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 启动编排配置
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Slf4j
+@Configuration
+public class StartupConfiguration {
+
+    @Bean
+    public BoltStartup boltStartup(BoltServer boltServer, RpcClient rpcClient, ServerConnectionPools serverConnectionPools,
+                                   BoltProperties boltProperties, BoltMetrics boltMetrics) {
+        return new BoltStartup(boltServer, rpcClient, serverConnectionPools, systemProperties(boltProperties), boltMetrics);
+    }
+
+    /**
+     * 启动完成前为 OUT_OF_SERVICE，纳入 readiness 分组，details 为各阶段耗时
+     */
+    @Bean
+    public HealthIndicator boltStartupHealthIndicator(BoltStartup boltStartup) {
+        return () -> (boltStartup.isStarted() ? Health.up() : Health.outOfService())
+                .withDetails(boltStartup.phaseMillis())
+                .build();
+    }
+
+    /**
+     * Bolt 只从系统属性读取的空闲检测参数，心跳间隔与连接存活判定保持一致
+     */
+    private static Map<String, String> systemProperties(BoltProperties boltProperties) {
+        BoltProperties.Tcp tcp = boltProperties.getTcp();
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put(Configs.TCP_IDLE_SWITCH, Boolean.toString(tcp.isIdleSwitch()));
+        properties.put(Configs.TCP_IDLE, Long.toString(boltProperties.getLiveness().getHeartbeatIntervalMillis()));
+        properties.put(Configs.TCP_IDLE_MAXTIMES, Integer.toString(tcp.getIdleMaxTimes()));
+        properties.put(Configs.TCP_SERVER_IDLE, Long.toString(tcp.getServerIdleMillis()));
+        return properties;
+    }
+
+}
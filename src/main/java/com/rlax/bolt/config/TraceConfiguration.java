@@ -0,0 +1,29 @@
+package com.rlax.bolt.config;
+
+import com.rlax.bolt.trace.TraceWebFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * 链路配置
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Slf4j
+@Configuration
+public class TraceConfiguration {
+
+    /**
+     * 最先执行，访问日志等后续过滤器可以读到链路上下文
+     */
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public TraceWebFilter traceWebFilter(BoltProperties boltProperties) {
+        return new TraceWebFilter(boltProperties.getTrace());
+    }
+
+}
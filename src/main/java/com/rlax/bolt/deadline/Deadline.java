@@ -0,0 +1,90 @@
+package com.rlax.bolt.deadline;
+
+import com.alipay.remoting.BizContext;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.util.context.ContextView;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 请求截止时间
+ * <p>
+ * 中台由 {@link DeadlineWebFilter} 在 HTTP 入口创建，放入 exchange 属性与 Reactor Context；
+ * ReactiveBoltInvoker 以剩余预算作为调用超时，Bolt 请求本身携带该超时。
+ * 站级以请求到达时刻 + 调用方超时还原截止时间（{@link #of(BizContext)}），只用本机时钟，不依赖两端时钟一致，
+ * 截止时间比中台略晚一个网络单程。
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public final class Deadline {
+
+    /** Reactor Context 与 ServerWebExchange 属性的 key */
+    public static final String CONTEXT_KEY = Deadline.class.getName();
+
+    private final long deadlineNanos;
+
+    private Deadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * 从现在起 timeoutMillis 后截止
+     */
+    public static Deadline after(long timeoutMillis) {
+        return new Deadline(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
+    }
+
+    /**
+     * 站级按请求到达时刻与调用方超时还原截止时间，调用方没有超时时为 null
+     */
+    public static Deadline of(BizContext bizCtx) {
+        int clientTimeout = bizCtx.getClientTimeout();
+        if (clientTimeout <= 0) {
+            return null;
+        }
+        long elapsedMillis = System.currentTimeMillis() - bizCtx.getArriveTimestamp();
+        return after(clientTimeout - Math.max(0, elapsedMillis));
+    }
+
+    /**
+     * HTTP 请求的截止时间，未设置时为 null
+     */
+    public static Deadline from(ServerWebExchange exchange) {
+        return exchange.getAttribute(CONTEXT_KEY);
+    }
+
+    public static Deadline from(ContextView context) {
+        return context.getOrDefault(CONTEXT_KEY, null);
+    }
+
+    /**
+     * 本次调用的超时：不超过截止时间的剩余预算
+     * @param deadline 截止时间，为 null 时使用 timeoutMillis
+     * @param timeoutMillis 调用自身的超时上限
+     * @throws DeadlineExceededException 已过截止时间
+     */
+    public static int timeoutMillis(Deadline deadline, int timeoutMillis) throws DeadlineExceededException {
+        if (deadline == null) {
+            return timeoutMillis;
+        }
+        long remaining = deadline.remainingMillis();
+        if (remaining <= 0) {
+            throw new DeadlineExceededException("已过截止时间 " + (-remaining) + "ms");
+        }
+        return (int) Math.min(timeoutMillis, remaining);
+    }
+
+    public long remainingMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+    }
+
+    public boolean isExpired() {
+        return deadlineNanos - System.nanoTime() <= 0;
+    }
+
+    @Override
+    public String toString() {
+        return "Deadline{remaining=" + remainingMillis() + "ms}";
+    }
+}
@@ -0,0 +1,18 @@
+package com.rlax.bolt.deadline;
+
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 截止时间已过，不再发起调用或处理请求；按超时计入指标
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public class DeadlineExceededException extends TimeoutException {
+
+    private static final long serialVersionUID = 3417760128391503382L;
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,27 @@
+package com.rlax.bolt.deadline;
+
+import lombok.Data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * HTTP 请求截止时间
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Data
+public class DeadlineOptions {
+
+    private boolean enabled = true;
+
+    /** 请求头，值为剩余预算毫秒数，优先于路由默认值 */
+    private String header = "X-Request-Timeout";
+
+    /** 按路由配置默认预算毫秒数，路由为路径模板如 /demo/async；未配置且没有请求头的请求不设截止时间 */
+    private Map<String, Long> routeTimeoutMillis = new LinkedHashMap<>();
+
+    /** 请求头给出的预算上限，小于等于 0 时不限制 */
+    private long maxTimeoutMillis = 60000;
+}
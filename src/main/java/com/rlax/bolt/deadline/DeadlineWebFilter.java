@@ -0,0 +1,69 @@
+package com.rlax.bolt.deadline;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * HTTP 入口截止时间
+ * <p>
+ * 预算取请求头（不超过上限），没有时取路由默认值，都没有时不设截止时间。
+ * 过滤器在处理器映射之前执行，路由按配置的路径模板自行匹配。
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Slf4j
+public class DeadlineWebFilter implements WebFilter {
+
+    private final DeadlineOptions options;
+
+    /** 路径模板 -> 默认预算毫秒数 */
+    private final Map<PathPattern, Long> routes = new LinkedHashMap<>();
+
+    public DeadlineWebFilter(DeadlineOptions options) {
+        this.options = options;
+        for (Map.Entry<String, Long> route : options.getRouteTimeoutMillis().entrySet()) {
+            routes.put(PathPatternParser.defaultInstance.parse(route.getKey()), route.getValue());
+        }
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        long timeoutMillis = options.isEnabled() ? timeoutMillis(exchange) : 0;
+        if (timeoutMillis <= 0) {
+            return chain.filter(exchange);
+        }
+        Deadline deadline = Deadline.after(timeoutMillis);
+        exchange.getAttributes().put(Deadline.CONTEXT_KEY, deadline);
+        return chain.filter(exchange).contextWrite(context -> context.put(Deadline.CONTEXT_KEY, deadline));
+    }
+
+    private long timeoutMillis(ServerWebExchange exchange) {
+        String header = exchange.getRequest().getHeaders().getFirst(options.getHeader());
+        if (header != null) {
+            try {
+                long timeout = Long.parseLong(header.trim());
+                long max = options.getMaxTimeoutMillis();
+                return max > 0 ? Math.min(timeout, max) : timeout;
+            } catch (NumberFormatException e) {
+                log.debug("忽略无效的截止时间请求头 {}: {}", options.getHeader(), header);
+            }
+        }
+        PathContainer path = exchange.getRequest().getPath().pathWithinApplication();
+        for (Map.Entry<PathPattern, Long> route : routes.entrySet()) {
+            if (route.getKey().matches(path)) {
+                return route.getValue();
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,16 @@
+package com.rlax.bolt.executor;
+
+/**
+ * 用户处理器 / 调用回调的执行方式
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public enum ExecutionMode {
+
+    /** 保持原有方式：用户处理器使用配置的线程池，回调直接在 Bolt 回调线程执行 */
+    DEFAULT,
+
+    /** 每个请求 / 回调一个虚拟线程，需要 JDK 21 及以上，低版本 JDK 回退为 DEFAULT */
+    VIRTUAL
+}
@@ -0,0 +1,31 @@
+package com.rlax.bolt.executor;
+
+import lombok.Data;
+
+/**
+ * 线程池参数
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Data
+public class ExecutorOptions {
+
+    private int corePoolSize;
+
+    private int maxPoolSize = 50;
+
+    private int queueCapacity = 10000;
+
+    private int keepAliveSeconds = 300;
+
+    /** 队列满且线程数达到上限时的处理策略 */
+    private OverloadPolicy overloadPolicy = OverloadPolicy.FAIL_FAST;
+
+    public ExecutorOptions() {
+    }
+
+    public ExecutorOptions(int corePoolSize) {
+        this.corePoolSize = corePoolSize;
+    }
+}
@@ -0,0 +1,18 @@
+package com.rlax.bolt.executor;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 线程池过载，任务被拒绝
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public class ExecutorOverloadException extends RejectedExecutionException {
+
+    private static final long serialVersionUID = -2279158432125587310L;
+
+    public ExecutorOverloadException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,19 @@
+package com.rlax.bolt.executor;
+
+/**
+ * 线程池过载策略
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public enum OverloadPolicy {
+
+    /** 由提交线程执行，提交线程为 Netty IO 线程时会阻塞同一 EventLoop 上的所有连接，仅为兼容保留 */
+    CALLER_RUNS,
+
+    /** 立即拒绝并抛出 {@link ExecutorOverloadException}，由调用方快速失败 */
+    FAIL_FAST,
+
+    /** 丢弃队列中最早的任务，为新任务腾出位置 */
+    SHED_OLDEST
+}
@@ -0,0 +1,64 @@
+package com.rlax.bolt.executor;
+
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 过载拒绝策略
+ * <p>
+ * 队列满且线程数达到上限时按 {@link OverloadPolicy} 处理，不再默认让提交线程（可能是 Netty IO 线程）执行任务，
+ * 每次拒绝 / 丢弃都计入 bolt.executor.rejected 指标。
+ * SHED_OLDEST 丢弃的任务经 {@link ShedTasks} 明确失败，没有可丢弃的任务或腾出的位置被其他线程占用时按 FAIL_FAST 处理。
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Slf4j
+public class OverloadRejectedExecutionHandler implements RejectedExecutionHandler {
+
+    private final String executorName;
+    private final OverloadPolicy policy;
+    private final Counter rejected;
+
+    public OverloadRejectedExecutionHandler(String executorName, OverloadPolicy policy, Counter rejected) {
+        this.executorName = executorName;
+        this.policy = policy;
+        this.rejected = rejected;
+    }
+
+    @Override
+    public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+        rejected.increment();
+        if (executor.isShutdown()) {
+            throw new ExecutorOverloadException("线程池 " + executorName + " 已关闭");
+        }
+        switch (policy) {
+            case CALLER_RUNS:
+                task.run();
+                return;
+            case SHED_OLDEST:
+                Runnable shed = executor.getQueue().poll();
+                if (shed != null) {
+                    boolean notified = ShedTasks.reject(shed);
+                    log.warn("线程池 {} 过载，丢弃最早的排队任务{}", executorName, notified ? "" : "（无法通知请求方）");
+                    // 直接入队而不是再次 execute，避免腾出的位置被抢占时递归拒绝
+                    if (executor.getQueue().offer(task)) {
+                        return;
+                    }
+                }
+                throw overloaded(executor);
+            case FAIL_FAST:
+            default:
+                throw overloaded(executor);
+        }
+    }
+
+    private ExecutorOverloadException overloaded(ThreadPoolExecutor executor) {
+        return new ExecutorOverloadException("线程池 " + executorName + " 已过载，活跃线程 "
+                + executor.getActiveCount() + "/" + executor.getMaximumPoolSize()
+                + "，排队任务 " + executor.getQueue().size());
+    }
+}
@@ -0,0 +1,79 @@
+package com.rlax.bolt.executor;
+
+import com.alipay.remoting.RemotingContext;
+import com.alipay.remoting.ResponseStatus;
+import com.alipay.remoting.rpc.RpcCommandFactory;
+import com.alipay.remoting.rpc.RpcCommandType;
+import com.alipay.remoting.rpc.protocol.RpcRequestCommand;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.Future;
+
+/**
+ * 拒绝从队列中丢弃的任务
+ * <p>
+ * 丢弃的任务需要明确失败，否则请求方只能等满超时：Future 任务取消；
+ * Bolt 业务线程池中的 ProcessTask 以 SERVER_THREADPOOL_BUSY 应答，与 Bolt 提交被拒绝时的应答一致，调用方收到 InvokeServerBusyException。
+ * ProcessTask 为 AbstractRemotingProcessor 的内部类，没有公开的访问方法，这里按字段类型反射取出请求上下文与请求。
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Slf4j
+final class ShedTasks {
+
+    private static final String BOLT_PROCESS_TASK = "com.alipay.remoting.AbstractRemotingProcessor$ProcessTask";
+
+    private static final RpcCommandFactory COMMAND_FACTORY = new RpcCommandFactory();
+
+    private ShedTasks() {
+    }
+
+    /**
+     * @return 是否已通知任务的请求方
+     */
+    static boolean reject(Runnable task) {
+        Runnable unwrapped = task;
+        while (unwrapped instanceof WrappedTask) {
+            unwrapped = ((WrappedTask) unwrapped).unwrap();
+        }
+        if (unwrapped instanceof Future) {
+            ((Future<?>) unwrapped).cancel(false);
+            return true;
+        }
+        if (unwrapped != null && BOLT_PROCESS_TASK.equals(unwrapped.getClass().getName())) {
+            return rejectBoltTask(unwrapped);
+        }
+        return false;
+    }
+
+    private static boolean rejectBoltTask(Runnable task) {
+        try {
+            RemotingContext ctx = null;
+            RpcRequestCommand request = null;
+            for (Field field : task.getClass().getDeclaredFields()) {
+                if (RemotingContext.class.isAssignableFrom(field.getType())) {
+                    field.setAccessible(true);
+                    ctx = (RemotingContext) field.get(task);
+                } else if (!field.isSynthetic()) {
+                    field.setAccessible(true);
+                    Object value = field.get(task);
+                    if (value instanceof RpcRequestCommand) {
+                        request = (RpcRequestCommand) value;
+                    }
+                }
+            }
+            if (ctx == null || request == null) {
+                return false;
+            }
+            if (request.getType() != RpcCommandType.REQUEST_ONEWAY) {
+                ctx.writeAndFlush(COMMAND_FACTORY.createExceptionResponse(request.getId(), ResponseStatus.SERVER_THREADPOOL_BUSY));
+            }
+            return true;
+        } catch (Exception e) {
+            log.warn("应答被丢弃的 Bolt 请求失败: {}", e.toString());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.rlax.bolt.executor;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 虚拟线程支持
+ * <p>
+ * 项目以 Java 1.8 编译，虚拟线程相关 API 通过反射调用，运行在 JDK 21 及以上时可用。
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Slf4j
+public final class VirtualThreads {
+
+    private static final Method OF_VIRTUAL;
+    private static final Method BUILDER_NAME;
+    private static final Method BUILDER_FACTORY;
+    private static final Method NEW_THREAD_PER_TASK_EXECUTOR;
+
+    static {
+        Method ofVirtual = null;
+        Method builderName = null;
+        Method builderFactory = null;
+        Method newThreadPerTaskExecutor = null;
+        try {
+            // 通过公开接口取方法，实现类不可访问
+            Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            builderName = builder.getMethod("name", String.class, long.class);
+            builderFactory = builder.getMethod("factory");
+            newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            // JDK 19 / 20 中为预览特性，未开启预览时调用会抛出异常
+            ofVirtual.invoke(null);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            ofVirtual = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        BUILDER_NAME = builderName;
+        BUILDER_FACTORY = builderFactory;
+        NEW_THREAD_PER_TASK_EXECUTOR = newThreadPerTaskExecutor;
+    }
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * 当前 JDK 是否支持虚拟线程
+     */
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * 每个任务一个虚拟线程的 executor
+     * @param namePrefix 线程名前缀，后接递增序号
+     * @throws UnsupportedOperationException 当前 JDK 不支持虚拟线程
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String namePrefix) {
+        if (!isSupported()) {
+            throw new UnsupportedOperationException("当前 JDK 不支持虚拟线程：" + System.getProperty("java.version"));
+        }
+        try {
+            Object builder = BUILDER_NAME.invoke(OF_VIRTUAL.invoke(null), namePrefix, 0L);
+            ThreadFactory factory = (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+            return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("创建虚拟线程 executor 失败", e);
+        }
+    }
+
+    /**
+     * 按执行方式选择 executor
+     * @param mode 执行方式
+     * @param namePrefix 虚拟线程名前缀
+     * @param defaultExecutor DEFAULT 方式或不支持虚拟线程时使用，可以为 null
+     */
+    public static Executor select(ExecutionMode mode, String namePrefix, Executor defaultExecutor) {
+        if (mode != ExecutionMode.VIRTUAL) {
+            return defaultExecutor;
+        }
+        if (!isSupported()) {
+            log.warn("当前 JDK {} 不支持虚拟线程，{} 回退为默认执行方式", System.getProperty("java.version"), namePrefix);
+            return defaultExecutor;
+        }
+        log.info("{} 使用虚拟线程执行", namePrefix);
+        return newThreadPerTaskExecutor(namePrefix);
+    }
+}
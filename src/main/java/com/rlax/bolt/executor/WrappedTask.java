@@ -0,0 +1,12 @@
+package com.rlax.bolt.executor;
+
+/**
+ * 包装了另一个任务的任务（如 TaskDecorator 的结果），过载丢弃时据此找到原始任务
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public interface WrappedTask extends Runnable {
+
+    Runnable unwrap();
+}
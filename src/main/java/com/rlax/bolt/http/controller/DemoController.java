@@ -2,22 +2,46 @@ package com.rlax.bolt.http.controller;
 
 import cn.hutool.core.util.RandomUtil;
 import com.alipay.remoting.Connection;
-import com.alipay.remoting.InvokeCallback;
-import com.alipay.remoting.exception.RemotingException;
 import com.alipay.remoting.rpc.RpcClient;
+import com.rlax.bolt.client.balance.ServerBalancer;
+import com.rlax.bolt.deadline.Deadline;
+import com.rlax.bolt.invoke.ReactiveBoltInvoker;
+import com.rlax.bolt.invoke.cache.ResponseCache;
+import com.rlax.bolt.invoke.chunk.ChunkedDownloader;
+import com.rlax.bolt.invoke.chunk.ChunkedUploader;
 import com.rlax.bolt.message.RequestBody;
-import com.rlax.bolt.server.BoltServer;
+import com.rlax.bolt.server.breaker.CircuitState;
+import com.rlax.bolt.server.breaker.StationCircuitBreakers;
+import com.rlax.bolt.server.broadcast.BroadcastOptions;
+import com.rlax.bolt.server.broadcast.BroadcastResult;
+import com.rlax.bolt.server.broadcast.StationBroadcaster;
+import com.rlax.bolt.server.liveness.ConnectionLiveness;
+import com.rlax.bolt.server.liveness.LivenessView;
+import com.rlax.bolt.server.registry.StationRegistry;
+import com.rlax.bolt.trace.TraceHeaders;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import javax.annotation.Resource;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.Executor;
+import java.util.Set;
 
 /**
  * 中台调用站级 Demo
@@ -31,11 +55,25 @@ import java.util.concurrent.Executor;
 public class DemoController {
 
 	@Resource
-	private BoltServer boltServer;
+	private StationRegistry stationRegistry;
 	@Resource
 	private RpcClient rpcClient;
-	@Resource(name = "serverExecutor")
-	private Executor taskExecutor;
+	@Resource
+	private ReactiveBoltInvoker reactiveBoltInvoker;
+	@Resource
+	private ServerBalancer serverBalancer;
+	@Resource
+	private StationBroadcaster stationBroadcaster;
+	@Resource
+	private ConnectionLiveness connectionLiveness;
+	@Resource
+	private ChunkedUploader chunkedUploader;
+	@Resource
+	private ChunkedDownloader chunkedDownloader;
+	@Resource
+	private ResponseCache responseCache;
+	@Resource
+	private StationCircuitBreakers stationCircuitBreakers;
 
 	/**
 	 * client 发送请求，连接到 server 端
@@ -43,98 +81,172 @@ public class DemoController {
 	 * @throws Exception
 	 */
 	@GetMapping("/connect")
-	public ResponseEntity<String> clientConnect(@RequestHeader String traceId) throws Exception {
-		log.info("clientConnect 1 ...");
-		String addr = "127.0.0.1:" + 8899;
+	public ResponseEntity<String> clientConnect(@RequestHeader String traceId, ServerWebExchange exchange) throws Exception {
+		log.debug("clientConnect 1 ...");
 		RequestBody req = new RequestBody(1, "hello , i am client, i call sync", traceId);
-		log.info("clientConnect 2 ...");
-		Object response = rpcClient.invokeSync(addr, req, 30000);
-		log.info("客户端调用返回：{}", response);
-		log.info("clientConnect 3 ...");
+		log.debug("clientConnect 2 ...");
+		int timeout = Deadline.timeoutMillis(Deadline.from(exchange), 30000);
+		ServerBalancer.Lease lease = serverBalancer.acquire();
+		Object response;
+		try {
+			response = rpcClient.invokeSync(lease.address(), req, TraceHeaders.invokeContext(traceId), timeout);
+			lease.success();
+		} catch (Exception e) {
+			lease.failure(e);
+			throw e;
+		}
+		log.debug("客户端调用返回：{}", response);
+		log.debug("clientConnect 3 ...");
 		return ResponseEntity.ok(Objects.requireNonNull(response).toString());
 	}
 
 	/**
 	 * 模拟中台调用站级客户端，客户端线程睡眠3秒
-	 * @param key 客户端 address，如：127.0.0.1:52049
+	 * @param key 站级客户端 id，如：station-1
 	 * @return 站级客户端响应结果
 	 */
 	@GetMapping("/async")
 	public Mono<ResponseEntity<String>> callClientByAsync(String key, @RequestHeader String traceId) {
-		log.info("callClientByAsync 1 ...");
+		log.debug("callClientByAsync 1 ...");
 		RequestBody req = new RequestBody(RandomUtil.randomInt(100), "server call client ...", traceId);
-		// 随机哪个连接
-		Connection connection = boltServer.getRpcServer().getConnectionManager().get(key);
-
-		Mono<ResponseEntity<String>> mono = Mono.create(rMonoSink -> {
-			try {
-				boltServer.getRpcServer().invokeWithCallback(connection, req, new InvokeCallback() {
-					@Override
-					public void onResponse(Object result) {
-						log.info("callClientByAsync 2 ...");
-						log.info("客户端调用返回：{}, 响应中台 HTTP Response", result);
-						rMonoSink.success(ResponseEntity.ok(result.toString()));
-					}
-
-					@Override
-					public void onException(Throwable e) {
-						rMonoSink.error(e);
-					}
-
-					@Override
-					public Executor getExecutor() {
-						return taskExecutor;
-					}
-				}, 30000);
-			} catch (RemotingException e) {
-				e.printStackTrace();
-			}
-		});
-
-		log.info("callClientByAsync 3 ...");
+		// 按站级 id 路由连接
+		Connection connection = stationRegistry.get(key);
+
+		Mono<ResponseEntity<String>> mono = reactiveBoltInvoker.invoke(connection, req, 30000)
+				.map(result -> {
+					log.debug("callClientByAsync 2 ...");
+					log.debug("客户端调用返回：{}, 响应中台 HTTP Response", result);
+					return ResponseEntity.ok(result.toString());
+				});
+
+		log.debug("callClientByAsync 3 ...");
 		return mono;
 	}
 
+	/**
+	 * 站级只读查询，开启 bolt.response-cache 后相同站、相同查询在缓存时间内直接返回缓存的响应
+	 * @param key 站级客户端 id，如：station-1
+	 * @param q 查询内容
+	 * @return 站级客户端响应结果
+	 */
+	@GetMapping("/query")
+	public Mono<ResponseEntity<String>> query(String key, String q, @RequestHeader String traceId) {
+		RequestBody req = new RequestBody(RandomUtil.randomInt(100), q, traceId);
+		return responseCache.get("/demo/query", key, req,
+						() -> reactiveBoltInvoker.invoke(stationRegistry.get(key), req, 30000))
+				.map(result -> ResponseEntity.ok(result.toString()));
+	}
+
+	/**
+	 * 站级数据变更后失效缓存
+	 * @param key 站级客户端 id，为空时失效全部站
+	 * @param route 路由，为空时失效全部路由
+	 */
+	@DeleteMapping("/cache")
+	public Mono<ResponseEntity<String>> invalidateCache(@RequestParam(required = false) String key,
+														@RequestParam(required = false) String route) {
+		if (key != null && route != null) {
+			responseCache.invalidate(route, key);
+		} else if (key != null) {
+			responseCache.invalidateStation(key);
+		} else if (route != null) {
+			responseCache.invalidateRoute(route);
+		} else {
+			responseCache.invalidateAll();
+		}
+		return Mono.just(ResponseEntity.ok(String.valueOf(responseCache.size())));
+	}
+
 	/**
 	 * 模拟中台调用站级客户端，客户端线程睡眠3秒
-	 * @param key 客户端 address，如：127.0.0.1:52049
+	 * @param key 站级客户端 id，如：station-1
 	 * @return 站级客户端响应结果
 	 */
 	@GetMapping("/timeout")
 	public Mono<ResponseEntity<String>> timeoutTest(String key, @RequestHeader String traceId) {
-		log.info("callClientByAsync 1 ...");
+		log.debug("callClientByAsync 1 ...");
 		RequestBody req = new RequestBody(RandomUtil.randomInt(100), "server call client ...", traceId);
-		// 随机哪个连接
-		Connection connection = boltServer.getRpcServer().getConnectionManager().get(key);
-
-		Mono<ResponseEntity<String>> mono = Mono.create(rMonoSink -> {
-			try {
-				boltServer.getRpcServer().invokeWithCallback(connection, req, new InvokeCallback() {
-					@Override
-					public void onResponse(Object result) {
-						log.info("callClientByAsync 2 ...");
-						log.info("客户端调用返回：{}, 响应中台 HTTP Response", result);
-						rMonoSink.success(ResponseEntity.ok(result.toString()));
-					}
-
-					@Override
-					public void onException(Throwable e) {
-						rMonoSink.success(ResponseEntity.ok("请求异常：" + e.getMessage() + ", 请求体" + req.toString()));
-//						rMonoSink.error(e);
-					}
-
-					@Override
-					public Executor getExecutor() {
-						return taskExecutor;
-					}
-				}, 1000);
-			} catch (RemotingException e) {
-				e.printStackTrace();
-			}
-		});
-
-		log.info("callClientByAsync 3 ...");
+		// 按站级 id 路由连接
+		Connection connection = stationRegistry.get(key);
+
+		Mono<ResponseEntity<String>> mono = reactiveBoltInvoker.invoke(connection, req, 1000)
+				.map(result -> {
+					log.debug("callClientByAsync 2 ...");
+					log.debug("客户端调用返回：{}, 响应中台 HTTP Response", result);
+					return ResponseEntity.ok(result.toString());
+				})
+				.onErrorResume(e -> Mono.just(ResponseEntity.ok("请求异常：" + e.getMessage() + ", 请求体" + req.toString())));
+
+		log.debug("callClientByAsync 3 ...");
 		return mono;
 	}
 
+	/**
+	 * 模拟中台广播到站级客户端
+	 * @param stations 站级客户端 id 列表，为空时广播到全部站
+	 * @param maxInFlight 同时在途上限
+	 * @param timeout 单站超时时间
+	 * @return 各站结果，逐个推送
+	 */
+	@GetMapping("/broadcast")
+	public Flux<BroadcastResult> broadcast(@RequestParam(required = false) List<String> stations,
+										 @RequestParam(defaultValue = "64") int maxInFlight,
+										 @RequestParam(defaultValue = "3000") int timeout,
+										 @RequestHeader String traceId) {
+		RequestBody req = new RequestBody(RandomUtil.randomInt(100), "server broadcast ...", traceId);
+		BroadcastOptions options = new BroadcastOptions(maxInFlight, timeout);
+		if (stations == null || stations.isEmpty()) {
+			return stationBroadcaster.broadcast(req, options);
+		}
+		Set<String> targets = new HashSet<>(stations);
+		return stationBroadcaster.multicast(req, targets::contains, options);
+	}
+
+	/**
+	 * 流式上传文件到站级客户端，请求体按分块转发，中台不缓存整个文件
+	 * @param key 站级客户端 id，如：station-1
+	 * @param name 文件名
+	 * @return 站级客户端接收结果
+	 */
+	@PostMapping("/upload")
+	public Mono<ResponseEntity<String>> upload(String key, @RequestParam(required = false) String name,
+											   ServerHttpRequest request) {
+		Connection connection = stationRegistry.get(key);
+		return chunkedUploader.upload(connection, name, request.getHeaders().getContentLength(), request.getBody())
+				.map(result -> ResponseEntity.ok(result.toString()))
+				.defaultIfEmpty(ResponseEntity.ok(""));
+	}
+
+	/**
+	 * 站级客户端分块回传报表，边接收边写入 HTTP 响应，中台不缓存整个报表
+	 * @param key 站级客户端 id，如：station-1
+	 * @param name 报表名
+	 * @param lines 报表行数
+	 * @return 报表内容
+	 */
+	@GetMapping(value = "/report", produces = MediaType.TEXT_PLAIN_VALUE)
+	public Flux<DataBuffer> report(String key, @RequestParam(defaultValue = "report") String name,
+								   @RequestParam(defaultValue = "100000") int lines) {
+		Connection connection = stationRegistry.get(key);
+		return chunkedDownloader.download(connection, name, Collections.singletonMap("lines", String.valueOf(lines)));
+	}
+
+	/**
+	 * 站级连接存活表
+	 * @return 各连接最后往来时间、丢失心跳次数与往返时间估计
+	 */
+	@GetMapping("/liveness")
+	public List<LivenessView> liveness() {
+		return connectionLiveness.snapshot();
+	}
+
+	/**
+	 * 站级熔断状态
+	 * @return 站级 id -> CLOSED / OPEN / HALF_OPEN，只包含有过调用的站级
+	 */
+	@GetMapping("/breakers")
+	public Map<String, CircuitState> breakers() {
+		return stationCircuitBreakers.snapshot();
+	}
+
 }
@@ -3,22 +3,28 @@ package com.rlax.bolt.http.controller;
 import cn.hutool.core.date.DateUtil;
 import cn.hutool.core.util.RandomUtil;
 import com.alipay.remoting.Connection;
-import com.alipay.remoting.InvokeCallback;
 import com.alipay.remoting.exception.RemotingException;
 import com.alipay.remoting.rpc.RpcClient;
+import com.rlax.bolt.client.balance.ServerBalancer;
+import com.rlax.bolt.deadline.Deadline;
+import com.rlax.bolt.deadline.DeadlineExceededException;
+import com.rlax.bolt.invoke.ReactiveBoltInvoker;
 import com.rlax.bolt.message.RequestBody;
 import com.rlax.bolt.server.BoltServer;
+import com.rlax.bolt.server.registry.StationRegistry;
+import com.rlax.bolt.trace.TraceContext;
+import com.rlax.bolt.trace.TraceHeaders;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 import javax.annotation.Resource;
 import java.util.Objects;
-import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -36,106 +42,97 @@ public class TestController {
 	private BoltServer boltServer;
 	@Resource
 	private RpcClient rpcClient;
-	@Resource(name = "serverExecutor")
-	private Executor taskExecutor;
+	@Resource
+	private StationRegistry stationRegistry;
+	@Resource
+	private ReactiveBoltInvoker reactiveBoltInvoker;
+	@Resource
+	private ServerBalancer serverBalancer;
 
 	@GetMapping("/mono")
 	public Mono<ResponseEntity<String>> demoAsync() {
-		log.info("demoAsync 1 ...");
+		log.debug("demoAsync 1 ...");
 		Mono<ResponseEntity<String>> mono = Mono.create(monoSink -> {
 			try {
 				TimeUnit.SECONDS.sleep(3);
-				log.info("create 2 ...");
+				log.debug("create 2 ...");
 				monoSink.success(ResponseEntity.ok("hello "+ DateUtil.date()));
 			} catch (InterruptedException e) {
 				e.printStackTrace();
 			}
 		});
-		log.info("demoAsync 3 ...");
+		log.debug("demoAsync 3 ...");
 		return mono;
 	}
 
 	@GetMapping("/from")
 	public Mono<ResponseEntity<String>> demoAsyncFrom() {
-		log.info("demoAsyncFrom 1 ...");
+		log.debug("demoAsyncFrom 1 ...");
 		Mono<ResponseEntity<String>> mono = Mono.fromSupplier(() -> {
 			try {
 				TimeUnit.SECONDS.sleep(3);
 			} catch (InterruptedException e) {
 				e.printStackTrace();
 			}
-			log.info("supplier ...");
+			log.debug("supplier ...");
 			return ResponseEntity.ok("hello "+ DateUtil.date());
 		});
-		log.info("demoAsyncFrom 3 ...");
+		log.debug("demoAsyncFrom 3 ...");
 		return mono;
 	}
 
 	@GetMapping("/send/{msg}")
-	public ResponseEntity<String> send(@PathVariable String msg, String key) {
-		RequestBody req = new RequestBody(RandomUtil.randomInt(100), msg, "1234");
-		// 随机哪个连接
-		Connection connection = boltServer.getRpcServer().getConnectionManager().get(key);
+	public ResponseEntity<String> send(@PathVariable String msg, String key, ServerWebExchange exchange) {
+		String traceId = TraceContext.traceId(exchange);
+		RequestBody req = new RequestBody(RandomUtil.randomInt(100), msg, traceId);
+		// 按站级 id 路由连接
+		Connection connection = stationRegistry.get(key);
 		Object response = null;
 		try {
-			response = boltServer.getRpcServer().invokeSync(connection, req, 1000);
-		} catch (RemotingException | InterruptedException e) {
+			int timeout = Deadline.timeoutMillis(Deadline.from(exchange), 1000);
+			response = boltServer.getRpcServer().invokeSync(connection, req, TraceHeaders.invokeContext(traceId), timeout);
+		} catch (RemotingException | InterruptedException | DeadlineExceededException e) {
 			e.printStackTrace();
 		}
-		log.info("服务端调用返回：{}", response);
+		log.debug("服务端调用返回：{}", response);
 		return ResponseEntity.ok(Objects.requireNonNull(response).toString());
 	}
 
 	@GetMapping("/client/sync")
-	public ResponseEntity<String> clientSync() throws Exception {
-		log.info("clientSync 1 ...");
-		String addr = "127.0.0.1:" + 8899;
-		RequestBody req = new RequestBody(1, "hello , i am client, i call sync", "1234");
-		log.info("clientSync 2 ...");
-		Object response = rpcClient.invokeSync(addr, req, 30000);
-		log.info("客户端调用返回：{}", response);
-		log.info("clientSync 3 ...");
+	public ResponseEntity<String> clientSync(ServerWebExchange exchange) throws Exception {
+		log.debug("clientSync 1 ...");
+		String traceId = TraceContext.traceId(exchange);
+		RequestBody req = new RequestBody(1, "hello , i am client, i call sync", traceId);
+		log.debug("clientSync 2 ...");
+		int timeout = Deadline.timeoutMillis(Deadline.from(exchange), 30000);
+		ServerBalancer.Lease lease = serverBalancer.acquire();
+		Object response;
+		try {
+			response = rpcClient.invokeSync(lease.address(), req, TraceHeaders.invokeContext(traceId), timeout);
+			lease.success();
+		} catch (Exception e) {
+			lease.failure(e);
+			throw e;
+		}
+		log.debug("客户端调用返回：{}", response);
+		log.debug("clientSync 3 ...");
 		return ResponseEntity.ok(Objects.requireNonNull(response).toString());
 	}
 
 	@GetMapping("/client/async")
-	public Mono<ResponseEntity<String>> clientCall() throws Exception {
-		log.info("clientCall 1 ...");
-		String addr = "127.0.0.1:" + 8899;
-		RequestBody req = new RequestBody(2, "hello , i am client, i call async", "1234");
-
-		Mono<ResponseEntity<String>> mono = Mono.create(rMonoSink -> {
-			try {
-				rpcClient.invokeWithCallback(addr, req, new InvokeCallback() {
-					@Override
-					public void onResponse(Object result) {
-						log.info("clientCall 2 ...");
-						log.info("客户端调用返回：{}", result);
-						rMonoSink.success(ResponseEntity.ok(result.toString()));
-					}
-
-					@Override
-					public void onException(Throwable e) {
-
-					}
-
-					@Override
-					public Executor getExecutor() {
-						return taskExecutor;
-					}
-
-				}, 30000);
-			} catch (RemotingException e) {
-				e.printStackTrace();
-			} catch (InterruptedException e) {
-				e.printStackTrace();
-			}
-		});
-
-		log.info("clientCall 3 ...");
+	public Mono<ResponseEntity<String>> clientCall(ServerWebExchange exchange) throws Exception {
+		log.debug("clientCall 1 ...");
+		RequestBody req = new RequestBody(2, "hello , i am client, i call async", TraceContext.traceId(exchange));
+
+		Mono<ResponseEntity<String>> mono = serverBalancer.invoke(req, 30000)
+				.map(result -> {
+					log.debug("clientCall 2 ...");
+					log.debug("客户端调用返回：{}", result);
+					return ResponseEntity.ok(result.toString());
+				});
+
+		log.debug("clientCall 3 ...");
 		return mono;
 	}
 
-
-
 }
@@ -0,0 +1,384 @@
+package com.rlax.bolt.invoke;
+
+import com.alipay.remoting.Connection;
+import com.alipay.remoting.InvokeCallback;
+import com.alipay.remoting.InvokeContext;
+import com.alipay.remoting.exception.RemotingException;
+import com.alipay.remoting.rpc.RpcClient;
+import com.alipay.remoting.rpc.RpcServer;
+import com.rlax.bolt.accesslog.AccessLogger;
+import com.rlax.bolt.client.pool.ServerConnectionPools;
+import com.rlax.bolt.deadline.Deadline;
+import com.rlax.bolt.deadline.DeadlineExceededException;
+import com.rlax.bolt.invoke.batch.BatchOptions;
+import com.rlax.bolt.invoke.batch.MicroBatcher;
+import com.rlax.bolt.message.RequestBody;
+import com.rlax.bolt.metrics.BoltMetrics;
+import com.rlax.bolt.serialization.Capabilities;
+import com.rlax.bolt.serialization.PayloadCompressor;
+import com.rlax.bolt.server.BoltServer;
+import com.rlax.bolt.server.breaker.StationCircuitBreakers;
+import com.rlax.bolt.server.limit.StationConcurrencyLimiter;
+import com.rlax.bolt.server.liveness.ConnectionLiveness;
+import com.rlax.bolt.server.registry.StationRegistry;
+import com.rlax.bolt.trace.Stage;
+import com.rlax.bolt.trace.TraceContext;
+import com.rlax.bolt.trace.TraceHeaders;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * Bolt 响应式调用器
+ * <p>
+ * 将 invokeWithCallback 桥接为 {@link Mono}，订阅时才真正发起调用；
+ * 回调默认不指定 executor，直接在 Bolt 回调线程完成 Mono，不再额外切换线程；也可指定回调 executor（如虚拟线程）。
+ * 开启微批后，小的 {@link RequestBody} 按连接合批发送，调用方式不变。
+ * 订阅方 Reactor Context 中的 {@link TraceContext} 经 Bolt 请求头带到对端，并记录各阶段耗时（合批调用不记录）。
+ * 连接协商了压缩能力时，标记序列化器对超过阈值的请求内容压缩。
+ * 订阅方 Reactor Context 中的 {@link Deadline} 限制调用超时，传入的超时时间只作为上限。
+ * 服务端调用站级客户端先经 {@link StationCircuitBreakers} 判断站级是否熔断，再经 {@link StationConcurrencyLimiter} 取得该连接的并发许可。
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Slf4j
+public class ReactiveBoltInvoker {
+
+    private static final String TYPE_CALLBACK = RequestBody.InvokeType.CALLBACK.name();
+    private static final String TYPE_BATCH = "BATCH";
+
+    private final RpcServer rpcServer;
+    private final RpcClient rpcClient;
+
+    private final BoltMetrics metrics;
+
+    /** 调用回调 executor，为 null 时直接在 Bolt 回调线程执行 */
+    private final Executor callbackExecutor;
+
+    /** 站级连接存活表，服务端调用成功时记录往返时间，可以为 null */
+    private final ConnectionLiveness liveness;
+
+    private final AccessLogger accessLogger;
+
+    /** 站级连接并发上限，为 null 时不限制 */
+    private final StationConcurrencyLimiter concurrencyLimiter;
+
+    /** 站级熔断，为 null 时不熔断 */
+    private final StationCircuitBreakers circuitBreakers;
+
+    private final BatchOptions batchOptions;
+    /** 服务端到站级客户端的微批器，未开启时为 null */
+    private final MicroBatcher<Connection> serverBatcher;
+    /** 客户端到服务端的微批器，未开启时为 null */
+    private final MicroBatcher<String> clientBatcher;
+
+    public ReactiveBoltInvoker(BoltServer boltServer, RpcClient rpcClient) {
+        this(boltServer, rpcClient, new BatchOptions(), BoltMetrics.NOOP);
+    }
+
+    public ReactiveBoltInvoker(BoltServer boltServer, RpcClient rpcClient, BatchOptions batchOptions, BoltMetrics metrics) {
+        this(boltServer, rpcClient, batchOptions, metrics, null, null, AccessLogger.DISABLED, null, null);
+    }
+
+    /**
+     * @param callbackExecutor 调用回调 executor，为 null 时直接在 Bolt 回调线程执行
+     * @param liveness 站级连接存活表，可以为 null
+     * @param accessLogger 访问日志
+     * @param concurrencyLimiter 站级连接并发上限，可以为 null
+     * @param circuitBreakers 站级熔断，可以为 null
+     */
+    public ReactiveBoltInvoker(BoltServer boltServer, RpcClient rpcClient, BatchOptions batchOptions, BoltMetrics metrics,
+                               Executor callbackExecutor, ConnectionLiveness liveness, AccessLogger accessLogger,
+                               StationConcurrencyLimiter concurrencyLimiter, StationCircuitBreakers circuitBreakers) {
+        this.rpcServer = boltServer.getRpcServer();
+        this.rpcClient = rpcClient;
+        this.metrics = metrics;
+        this.callbackExecutor = callbackExecutor;
+        this.liveness = liveness;
+        this.accessLogger = accessLogger;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.circuitBreakers = circuitBreakers;
+        this.batchOptions = batchOptions;
+        if (batchOptions.isEnabled()) {
+            this.serverBatcher = new MicroBatcher<>("server",
+                    (connection, batch, callback, timeout) -> rpcServer.invokeWithCallback(connection, batch, callback, timeout),
+                    batchOptions);
+            this.clientBatcher = new MicroBatcher<>("client",
+                    (address, batch, callback, timeout) -> rpcClient.invokeWithCallback(address, batch, callback, timeout),
+                    batchOptions);
+            log.info("Bolt 微批已开启：{}", batchOptions);
+        } else {
+            this.serverBatcher = null;
+            this.clientBatcher = null;
+        }
+    }
+
+    /**
+     * 服务端调用站级客户端
+     * @param connection 站级客户端连接
+     * @param request 请求体
+     * @param timeoutMillis 超时时间
+     * @return 客户端响应，响应为 null 时为空 Mono
+     */
+    public <T> Mono<T> invoke(Connection connection, Object request, int timeoutMillis) {
+        String target = StationRegistry.stationIdOf(connection);
+        if (serverBatcher != null && isBatchable(request)) {
+            return instrument(protect(target, limit(connection, trackRtt(withDeadline(timeoutMillis, timeout -> isAvailable(connection)
+                    ? serverBatcher.<T>submit(connection, request, timeout)
+                    : Mono.error(unavailable(connection))), connection))), request, BoltMetrics.DIRECTION_SERVER_TO_CLIENT, target, TYPE_BATCH);
+        }
+        return instrument(protect(target, limit(connection, trackRtt(withDeadline(timeoutMillis, timeout -> Mono.<T>create(sink -> {
+            if (!isAvailable(connection)) {
+                sink.error(unavailable(connection));
+                return;
+            }
+            MonoSinkCallback<T> callback = newCallback(sink, connection);
+            try {
+                long start = System.nanoTime();
+                rpcServer.invokeWithCallback(connection, request, callback.invokeContext, callback, timeout);
+                callback.sent(start);
+            } catch (RemotingException e) {
+                sink.error(e);
+            }
+        })), connection))), request, BoltMetrics.DIRECTION_SERVER_TO_CLIENT, target, TYPE_CALLBACK);
+    }
+
+    /**
+     * 客户端调用服务端
+     * @param address 服务端地址，如：127.0.0.1:8899，可带 Bolt 连接池参数，见 {@link ServerConnectionPools}
+     * @param request 请求体
+     * @param timeoutMillis 超时时间
+     * @return 服务端响应，响应为 null 时为空 Mono
+     */
+    public <T> Mono<T> invoke(String address, Object request, int timeoutMillis) {
+        String poolKey = ServerConnectionPools.poolKeyOf(address);
+        if (clientBatcher != null && isBatchable(request)) {
+            return instrument(withDeadline(timeoutMillis, timeout -> clientBatcher.<T>submit(address, request, timeout)),
+                    request, BoltMetrics.DIRECTION_CLIENT_TO_SERVER, poolKey, TYPE_BATCH);
+        }
+        return instrument(withDeadline(timeoutMillis, timeout -> Mono.<T>create(sink -> {
+            MonoSinkCallback<T> callback = newCallback(sink, rpcClient.getConnectionManager().get(poolKey));
+            try {
+                long start = System.nanoTime();
+                rpcClient.invokeWithCallback(address, request, callback.invokeContext, callback, timeout);
+                callback.sent(start);
+            } catch (RemotingException e) {
+                sink.error(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                sink.error(e);
+            }
+        })), request, BoltMetrics.DIRECTION_CLIENT_TO_SERVER, poolKey, TYPE_CALLBACK);
+    }
+
+    /**
+     * 订阅方 Reactor Context 带有截止时间时，调用超时取其剩余预算，已过截止时间时不发起调用
+     */
+    private static <T> Mono<T> withDeadline(int timeoutMillis, IntFunction<Mono<T>> invoke) {
+        return Mono.deferContextual(context -> {
+            int timeout;
+            try {
+                timeout = Deadline.timeoutMillis(Deadline.from(context), timeoutMillis);
+            } catch (DeadlineExceededException e) {
+                return Mono.error(e);
+            }
+            return invoke.apply(timeout);
+        });
+    }
+
+    /**
+     * 订阅时开始计时，完成、异常或取消时记录一次指标与访问日志
+     */
+    private <T> Mono<T> instrument(Mono<T> invoke, Object request, String direction, String target, String invokeType) {
+        String route = BoltMetrics.DIRECTION_SERVER_TO_CLIENT.equals(direction)
+                ? AccessLogger.ROUTE_RPC_SERVER_TO_CLIENT : AccessLogger.ROUTE_RPC_CLIENT_TO_SERVER;
+        return Mono.defer(() -> {
+            BoltMetrics.InvokeSample sample = metrics.startInvoke(direction, target, invokeType);
+            long start = System.nanoTime();
+            return invoke.doOnSuccess(result -> {
+                        sample.success();
+                        accessLog(route, request, target, invokeType, result, start, AccessLogger.OUTCOME_SUCCESS, false);
+                    })
+                    .doOnError(e -> {
+                        sample.error(e);
+                        accessLog(route, request, target, invokeType, null, start,
+                                BoltMetrics.isTimeout(e) ? AccessLogger.OUTCOME_TIMEOUT : AccessLogger.OUTCOME_ERROR, true);
+                    })
+                    .doOnCancel(() -> {
+                        sample.cancel();
+                        accessLog(route, request, target, invokeType, null, start, AccessLogger.OUTCOME_CANCEL, false);
+                    });
+        });
+    }
+
+    private void accessLog(String route, Object request, String target, String invokeType, Object response,
+                           long start, String outcome, boolean failed) {
+        String traceId = request instanceof RequestBody ? ((RequestBody) request).getTraceId() : null;
+        accessLogger.log(route, traceId, target, invokeType, sizeOf(request), sizeOf(response),
+                System.nanoTime() - start, outcome, failed);
+    }
+
+    /**
+     * 报文大小估计，只统计业务字段，未知类型为 -1
+     */
+    private static int sizeOf(Object message) {
+        if (message instanceof RequestBody) {
+            RequestBody body = (RequestBody) message;
+            return body.bodyLength() + (body.getMsg() == null ? 0 : body.getMsg().length());
+        }
+        if (message instanceof String) {
+            return ((String) message).length();
+        }
+        if (message instanceof byte[]) {
+            return ((byte[]) message).length;
+        }
+        return message == null ? 0 : -1;
+    }
+
+    /**
+     * 从订阅方 Reactor Context 取链路上下文，经 InvokeContext 写入 Bolt 请求头；对端支持压缩时一并标记
+     * @param connection 目标连接，客户端尚未建立连接时为 null，此时不压缩
+     */
+    private <T> MonoSinkCallback<T> newCallback(MonoSink<T> sink, Connection connection) {
+        TraceContext trace = sink.currentContext().getOrDefault(TraceContext.CONTEXT_KEY, null);
+        InvokeContext invokeContext = new InvokeContext();
+        if (trace != null) {
+            trace.recordOnce(Stage.HTTP_RECEIVE, System.nanoTime() - trace.getStartNanos());
+            invokeContext.put(TraceHeaders.TRACE_ID, trace.getTraceId());
+        }
+        if (Capabilities.peerSupports(connection, Capabilities.COMPRESSION_LZ4)) {
+            invokeContext.put(PayloadCompressor.PEER_ACCEPTS, true);
+        }
+        return new MonoSinkCallback<>(sink, callbackExecutor, trace, invokeContext);
+    }
+
+    /**
+     * 站级熔断中直接失败，不占用并发许可
+     */
+    private <T> Mono<T> protect(String stationId, Mono<T> invoke) {
+        return circuitBreakers == null ? invoke : circuitBreakers.protect(stationId, invoke);
+    }
+
+    /**
+     * 取得站级连接的并发许可后再发起调用，排队时间计入截止时间但不计入往返时间
+     */
+    private <T> Mono<T> limit(Connection connection, Mono<T> invoke) {
+        return concurrencyLimiter == null ? invoke : concurrencyLimiter.limit(connection, invoke);
+    }
+
+    /**
+     * 调用成功时将往返时间计入连接存活表
+     */
+    private <T> Mono<T> trackRtt(Mono<T> invoke, Connection connection) {
+        if (liveness == null) {
+            return invoke;
+        }
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return invoke.doOnSuccess(result -> liveness.recordRtt(connection, System.nanoTime() - start));
+        });
+    }
+
+    public void shutdown() {
+        if (serverBatcher != null) {
+            serverBatcher.shutdown();
+        }
+        if (clientBatcher != null) {
+            clientBatcher.shutdown();
+        }
+    }
+
+    private static boolean isAvailable(Connection connection) {
+        return connection != null && connection.isFine();
+    }
+
+    private static RemotingException unavailable(Connection connection) {
+        return new RemotingException("站级客户端连接不可用: " + connection);
+    }
+
+    /**
+     * 只有小的业务请求参与合批
+     */
+    private boolean isBatchable(Object request) {
+        if (!(request instanceof RequestBody)) {
+            return false;
+        }
+        RequestBody body = (RequestBody) request;
+        // ByteBuf body 只经二进制编码传输，不进入 Hessian 编码的批量请求
+        return body.getBodyBuffer() == null && body.bodyLength() <= batchOptions.getMaxItemBytes();
+    }
+
+    /**
+     * InvokeCallback 到 MonoSink 的桥接，executor 为 null 时 Bolt 直接在回调线程执行
+     * <p>
+     * 带有链路上下文时，按调用返回时刻、响应头解码时刻与站级回传耗时拆分各阶段。
+     */
+    static class MonoSinkCallback<T> implements InvokeCallback {
+
+        private final MonoSink<T> sink;
+        private final Executor executor;
+        private final TraceContext trace;
+        final InvokeContext invokeContext;
+        /** 请求写入发送队列的时刻，响应先于调用返回到达时为 0 */
+        private volatile long sentNanos;
+
+        MonoSinkCallback(MonoSink<T> sink, Executor executor, TraceContext trace, InvokeContext invokeContext) {
+            this.sink = sink;
+            this.executor = executor;
+            this.trace = trace;
+            this.invokeContext = invokeContext;
+        }
+
+        void sent(long startNanos) {
+            long now = System.nanoTime();
+            sentNanos = now;
+            if (trace != null) {
+                trace.record(Stage.SERIALIZE, now - startNanos);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void onResponse(Object result) {
+            recordStages();
+            sink.success((T) result);
+        }
+
+        @Override
+        public void onException(Throwable e) {
+            recordStages();
+            sink.error(e);
+        }
+
+        private void recordStages() {
+            if (trace == null) {
+                return;
+            }
+            long now = System.nanoTime();
+            long decoded = longValue(invokeContext.get(TraceHeaders.RESPONSE_DECODED_NANOS), now);
+            long waitNanos = TimeUnit.MILLISECONDS.toNanos(longValue(invokeContext.get(TraceHeaders.STATION_WAIT_MILLIS), 0));
+            long processNanos = longValue(invokeContext.get(TraceHeaders.STATION_PROCESS_NANOS), 0);
+            long sent = sentNanos;
+            if (sent > 0) {
+                trace.record(Stage.NETWORK, Math.max(0, decoded - sent - waitNanos - processNanos));
+            }
+            trace.record(Stage.EXECUTOR_WAIT, waitNanos);
+            trace.record(Stage.STATION_PROCESS, processNanos);
+            trace.record(Stage.CALLBACK_DISPATCH, now - decoded);
+        }
+
+        private static long longValue(Object value, long defaultValue) {
+            return value instanceof Number ? ((Number) value).longValue() : defaultValue;
+        }
+
+        @Override
+        public Executor getExecutor() {
+            return executor;
+        }
+    }
+}
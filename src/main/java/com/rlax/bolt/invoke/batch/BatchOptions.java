@@ -0,0 +1,25 @@
+package com.rlax.bolt.invoke.batch;
+
+import lombok.Data;
+
+/**
+ * 微批参数
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Data
+public class BatchOptions {
+
+    /** 是否开启微批，需对端注册 BatchUserProcessor */
+    private boolean enabled = false;
+
+    /** 单批最多请求数，达到后立即发送 */
+    private int maxBatchSize = 64;
+
+    /** 首个请求入批后最长等待时间 */
+    private long lingerMillis = 1;
+
+    /** 单个请求 body 超过该大小不参与合批 */
+    private int maxItemBytes = 1024;
+}
@@ -0,0 +1,263 @@
+package com.rlax.bolt.invoke.batch;
+
+import com.alipay.remoting.InvokeCallback;
+import com.alipay.remoting.exception.RemotingException;
+import com.alipay.remoting.rpc.exception.InvokeServerException;
+import com.alipay.remoting.rpc.exception.InvokeTimeoutException;
+import com.rlax.bolt.message.BatchItemError;
+import com.rlax.bolt.message.BatchRequest;
+import com.rlax.bolt.message.BatchResponse;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 按连接（或地址）聚合请求的微批器
+ * <p>
+ * 同一个 key 的请求在 linger 时间窗口内或达到 maxBatchSize 时合并为一个 {@link BatchRequest} 发送，
+ * 收到 {@link BatchResponse} 后按下标逐个完成各请求的 Mono。单批超时取批内请求超时的最大值，
+ * 每个请求仍按自己的超时失败（{@link InvokeTimeoutException}）；已超时或被取消的请求不再随批发送，已发送的忽略迟到的结果。
+ * 单个请求的处理异常与单发时一样以 {@link InvokeServerException} 失败。
+ * 批次总在微批器自己的调度线程上发送，不占用提交请求的线程（可能是 Netty IO 线程或 HTTP 处理线程）。
+ *
+ * @param <K> 连接 key，服务端为 Connection，客户端为地址
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Slf4j
+public class MicroBatcher<K> {
+
+    /**
+     * 批量发送
+     */
+    @FunctionalInterface
+    public interface BatchSender<K> {
+        void send(K key, BatchRequest batch, InvokeCallback callback, int timeoutMillis) throws Exception;
+    }
+
+    private final ConcurrentMap<K, Batch> pending = new ConcurrentHashMap<>();
+
+    private final BatchSender<K> sender;
+    private final BatchOptions options;
+    private final ScheduledExecutorService scheduler;
+
+    public MicroBatcher(String name, BatchSender<K> sender, BatchOptions options) {
+        this.sender = sender;
+        this.options = options;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "bolt-batch-" + name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 提交单个请求，API 与单发一致
+     */
+    public <T> Mono<T> submit(K key, Object request, int timeoutMillis) {
+        Mono<T> response = Mono.create(sink -> {
+            Item item = new Item(request, sink);
+            for (;;) {
+                Batch batch = pending.computeIfAbsent(key, this::newBatch);
+                int size = batch.add(item, timeoutMillis);
+                if (size > 0) {
+                    sink.onCancel(() -> batch.cancel(item));
+                    if (size == batch.maxSize) {
+                        flushAsync(key, batch);
+                    }
+                    return;
+                }
+                // 该批已满或已关闭发送中，开新批重试
+                pending.remove(key, batch);
+            }
+        });
+        if (timeoutMillis <= 0) {
+            return response;
+        }
+        return response.timeout(Duration.ofMillis(timeoutMillis), Mono.error(() ->
+                new InvokeTimeoutException("批量请求中的请求等待响应超时, timeout=" + timeoutMillis + "ms, request=" + request)));
+    }
+
+    public void shutdown() {
+        scheduler.shutdown();
+        pending.forEach(this::flush);
+    }
+
+    private Batch newBatch(K key) {
+        Batch batch = new Batch(options.getMaxBatchSize());
+        batch.lingerTask = scheduler.schedule(() -> flush(key, batch), options.getLingerMillis(), TimeUnit.MILLISECONDS);
+        return batch;
+    }
+
+    /**
+     * 已满的批次交给调度线程发送，微批器已关闭时直接发送
+     */
+    private void flushAsync(K key, Batch batch) {
+        pending.remove(key, batch);
+        try {
+            scheduler.execute(() -> flush(key, batch));
+        } catch (RejectedExecutionException e) {
+            flush(key, batch);
+        }
+    }
+
+    private void flush(K key, Batch batch) {
+        pending.remove(key, batch);
+        if (!batch.close()) {
+            return;
+        }
+        if (batch.lingerTask != null) {
+            batch.lingerTask.cancel(false);
+        }
+        if (batch.items.isEmpty()) {
+            return;
+        }
+        List<Object> requests = new ArrayList<>(batch.items.size());
+        for (Item item : batch.items) {
+            requests.add(item.request);
+        }
+        try {
+            sender.send(key, new BatchRequest(requests), new BatchCallback(batch.items), batch.timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            batch.fail(e);
+        } catch (Exception e) {
+            batch.fail(e);
+        }
+    }
+
+    /**
+     * 批次中的单个请求，超时或被取消后不再发送，也不再接收结果
+     */
+    private static class Item {
+
+        private final Object request;
+        private final MonoSink<Object> sink;
+        private volatile boolean cancelled;
+
+        @SuppressWarnings("unchecked")
+        Item(Object request, MonoSink<?> sink) {
+            this.request = request;
+            this.sink = (MonoSink<Object>) sink;
+        }
+
+        void success(Object result) {
+            if (!cancelled) {
+                sink.success(result);
+            }
+        }
+
+        void error(Throwable e) {
+            if (!cancelled) {
+                sink.error(e);
+            }
+        }
+    }
+
+    /**
+     * 一个待发送的批次，add、cancel 与 close 互斥，关闭后不再接收请求
+     */
+    private static class Batch {
+
+        private final int maxSize;
+        private final List<Item> items = new ArrayList<>();
+        private int timeoutMillis;
+        private boolean closed;
+        private volatile ScheduledFuture<?> lingerTask;
+
+        Batch(int maxSize) {
+            this.maxSize = Math.max(1, maxSize);
+        }
+
+        /**
+         * @return 加入后的批大小，批已满或已关闭时返回 0
+         */
+        synchronized int add(Item item, int timeoutMillis) {
+            if (closed || items.size() >= maxSize) {
+                return 0;
+            }
+            items.add(item);
+            this.timeoutMillis = Math.max(this.timeoutMillis, timeoutMillis);
+            return items.size();
+        }
+
+        /**
+         * 请求超时或被取消，批次未发送时移出批次
+         */
+        synchronized void cancel(Item item) {
+            item.cancelled = true;
+            if (!closed) {
+                items.remove(item);
+            }
+        }
+
+        synchronized boolean close() {
+            if (closed) {
+                return false;
+            }
+            closed = true;
+            return true;
+        }
+
+        void fail(Throwable e) {
+            for (Item item : items) {
+                item.error(e);
+            }
+        }
+    }
+
+    /**
+     * 批量响应拆分回各个请求，executor 为 null 时直接在 Bolt 回调线程执行
+     */
+    private static class BatchCallback implements InvokeCallback {
+
+        private final List<Item> items;
+
+        BatchCallback(List<Item> items) {
+            this.items = items;
+        }
+
+        @Override
+        public void onResponse(Object result) {
+            List<Object> results = result instanceof BatchResponse ? ((BatchResponse) result).getResults() : null;
+            if (results == null || results.size() != items.size()) {
+                onException(new RemotingException("批量响应与请求数量不一致: " + result));
+                return;
+            }
+            for (int i = 0; i < items.size(); i++) {
+                Object item = results.get(i);
+                if (item instanceof BatchItemError) {
+                    // 与单发时服务端处理异常一致，熔断与摘除不计为传输失败
+                    BatchItemError error = (BatchItemError) item;
+                    items.get(i).error(new InvokeServerException(error.getType() + ": " + error.getMessage()));
+                } else {
+                    items.get(i).success(item);
+                }
+            }
+        }
+
+        @Override
+        public void onException(Throwable e) {
+            for (Item item : items) {
+                item.error(e);
+            }
+        }
+
+        @Override
+        public Executor getExecutor() {
+            return null;
+        }
+    }
+}
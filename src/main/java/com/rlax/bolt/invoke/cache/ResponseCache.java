@@ -0,0 +1,259 @@
+package com.rlax.bolt.invoke.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.rlax.bolt.message.RequestBody;
+import com.rlax.bolt.metrics.BoltMetrics;
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * 网关响应缓存
+ * <p>
+ * 用于站级只读查询，按 路由 + 站级 id + 请求内容 缓存站级的响应，命中时不再发起 RPC。
+ * 只缓存配置了缓存时间的路由，每个路由单独的 TTL；条目数有上限，按 Caffeine 的 W-TinyLFU 淘汰。
+ * RequestBody 的请求内容为 msg 与 body，id、traceId 标识的是一次调用，不参与匹配；ByteBuf body 的请求不缓存。
+ * 缓存的响应对象在多个 HTTP 请求间共享，调用方不应修改。
+ * <p>
+ * 站级数据变更后由调用方通过 invalidate* 主动失效；失效前已发出、失效后才返回的调用结果不写入缓存。
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Slf4j
+public class ResponseCache {
+
+    private final Cache<Key, Entry> cache;
+
+    /** 路由 -> TTL 纳秒 */
+    private final Map<String, Long> ttlNanos = new HashMap<>();
+
+    /** 路由 -> [命中, 未命中] */
+    private final Map<String, Counter[]> requests = new HashMap<>();
+
+    /** 每次失效递增，调用返回时与发起时不一致则不写入 */
+    private final AtomicLong generation = new AtomicLong();
+
+    public ResponseCache(ResponseCacheOptions options, BoltMetrics metrics) {
+        this(options, metrics, Ticker.systemTicker());
+    }
+
+    ResponseCache(ResponseCacheOptions options, BoltMetrics metrics, Ticker ticker) {
+        if (!options.isEnabled()) {
+            this.cache = null;
+            return;
+        }
+        for (Map.Entry<String, Long> route : options.getRouteTtlMillis().entrySet()) {
+            if (route.getValue() != null && route.getValue() > 0) {
+                ttlNanos.put(route.getKey(), TimeUnit.MILLISECONDS.toNanos(route.getValue()));
+                requests.put(route.getKey(), new Counter[]{
+                        metrics.responseCacheRequests(route.getKey(), "hit"),
+                        metrics.responseCacheRequests(route.getKey(), "miss")});
+            }
+        }
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(options.getMaximumSize())
+                .expireAfter(new RouteExpiry())
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        metrics.monitorCache(cache, "bolt.response");
+        log.info("网关响应缓存已开启: maximumSize={}, routes={}", options.getMaximumSize(), options.getRouteTtlMillis());
+    }
+
+    /**
+     * 命中时直接返回缓存的响应，否则调用站级并缓存非空结果；路由未配置缓存时直接调用
+     * @param route 路由，与 route-ttl-millis 中的配置一致
+     * @param stationId 站级 id
+     * @param request 请求
+     * @param loader 调用站级
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> get(String route, String stationId, Object request, Supplier<Mono<T>> loader) {
+        Long ttl = cache == null ? null : ttlNanos.get(route);
+        Object content = ttl == null ? null : contentOf(request);
+        if (content == null) {
+            return Mono.defer(loader);
+        }
+        Counter[] counters = requests.get(route);
+        return Mono.defer(() -> {
+            Key key = new Key(route, stationId, content);
+            Entry entry = cache.getIfPresent(key);
+            if (entry != null) {
+                counters[0].increment();
+                return Mono.just((T) entry.value);
+            }
+            counters[1].increment();
+            long loadGeneration = generation.get();
+            return loader.get().doOnNext(value -> {
+                if (generation.get() == loadGeneration) {
+                    cache.put(key, new Entry(value, ttl));
+                }
+            });
+        });
+    }
+
+    /**
+     * 失效某站某路由的全部缓存
+     */
+    public void invalidate(String route, String stationId) {
+        invalidateIf(key -> Objects.equals(key.route, route) && Objects.equals(key.stationId, stationId));
+    }
+
+    /**
+     * 失效某站的全部缓存，如站级数据整体变更、重新连接
+     */
+    public void invalidateStation(String stationId) {
+        invalidateIf(key -> Objects.equals(key.stationId, stationId));
+    }
+
+    /**
+     * 失效某路由的全部缓存
+     */
+    public void invalidateRoute(String route) {
+        invalidateIf(key -> Objects.equals(key.route, route));
+    }
+
+    public void invalidateAll() {
+        if (cache != null) {
+            generation.incrementAndGet();
+            cache.invalidateAll();
+        }
+    }
+
+    public long size() {
+        return cache == null ? 0 : cache.estimatedSize();
+    }
+
+    void cleanUp() {
+        if (cache != null) {
+            cache.cleanUp();
+        }
+    }
+
+    /**
+     * 遍历全部条目，只用于主动失效
+     */
+    private void invalidateIf(Predicate<Key> predicate) {
+        if (cache != null) {
+            generation.incrementAndGet();
+            cache.asMap().keySet().removeIf(predicate);
+        }
+    }
+
+    /**
+     * @return 参与匹配的请求内容，不可缓存时为 null
+     */
+    private static Object contentOf(Object request) {
+        if (request instanceof RequestBody) {
+            RequestBody body = (RequestBody) request;
+            if (body.getBodyBuffer() != null) {
+                return null;
+            }
+            return new RequestContent(body.getMsg(), body.getBody());
+        }
+        return request;
+    }
+
+    private static final class Key {
+
+        private final String route;
+        private final String stationId;
+        private final Object content;
+        private final int hash;
+
+        Key(String route, String stationId, Object content) {
+            this.route = route;
+            this.stationId = stationId;
+            this.content = content;
+            this.hash = Objects.hash(route, stationId, content);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return hash == other.hash && Objects.equals(route, other.route)
+                    && Objects.equals(stationId, other.stationId) && Objects.equals(content, other.content);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class RequestContent {
+
+        private final String msg;
+        private final byte[] body;
+
+        RequestContent(String msg, byte[] body) {
+            this.msg = msg;
+            this.body = body;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof RequestContent)) {
+                return false;
+            }
+            RequestContent other = (RequestContent) o;
+            return Objects.equals(msg, other.msg) && Arrays.equals(body, other.body);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Objects.hashCode(msg) + Arrays.hashCode(body);
+        }
+    }
+
+    private static final class Entry {
+
+        private final Object value;
+        private final long ttlNanos;
+
+        Entry(Object value, long ttlNanos) {
+            this.value = value;
+            this.ttlNanos = ttlNanos;
+        }
+    }
+
+    /**
+     * 写入时按路由 TTL 过期，读取不续期
+     */
+    private static final class RouteExpiry implements Expiry<Key, Entry> {
+
+        @Override
+        public long expireAfterCreate(Key key, Entry value, long currentTime) {
+            return value.ttlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Key key, Entry value, long currentTime, long currentDuration) {
+            return value.ttlNanos;
+        }
+
+        @Override
+        public long expireAfterRead(Key key, Entry value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.rlax.bolt.invoke.cache;
+
+import lombok.Data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 网关响应缓存配置
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Data
+public class ResponseCacheOptions {
+
+    /** 是否开启，关闭时所有路由直接调用站级 */
+    private boolean enabled = false;
+
+    /** 最多缓存条目数，超过后按 W-TinyLFU 淘汰 */
+    private long maximumSize = 10000;
+
+    /** 按路由配置缓存时间（毫秒），只缓存此处列出且大于 0 的路由，路由为 HTTP 路径模板如 /demo/query */
+    private Map<String, Long> routeTtlMillis = new LinkedHashMap<>();
+}
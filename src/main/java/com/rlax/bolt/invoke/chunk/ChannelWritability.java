@@ -0,0 +1,93 @@
+package com.rlax.bolt.invoke.chunk;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelPipeline;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 等待 Netty 通道可写
+ * <p>
+ * 发送缓冲超过高水位时通道不可写，首次等待时在 pipeline 末尾加入监听 writability 变化的 handler，
+ * 回到低水位或通道关闭时唤醒等待方；通道关闭后由后续调用自行失败。取消的等待方随即移出等待队列。
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public final class ChannelWritability {
+
+    static final String HANDLER_NAME = "rlaxWritability";
+
+    private ChannelWritability() {
+    }
+
+    /**
+     * 通道可写或已关闭时完成
+     */
+    public static Mono<Void> awaitWritable(Channel channel) {
+        if (channel == null || channel.isWritable() || !channel.isActive()) {
+            return Mono.empty();
+        }
+        return Mono.create(sink -> handler(channel).await(channel, sink));
+    }
+
+    private static WritabilityHandler handler(Channel channel) {
+        ChannelPipeline pipeline = channel.pipeline();
+        WritabilityHandler handler = (WritabilityHandler) pipeline.get(HANDLER_NAME);
+        if (handler != null) {
+            return handler;
+        }
+        synchronized (channel) {
+            handler = (WritabilityHandler) pipeline.get(HANDLER_NAME);
+            if (handler == null) {
+                handler = new WritabilityHandler();
+                pipeline.addLast(HANDLER_NAME, handler);
+            }
+            return handler;
+        }
+    }
+
+    static class WritabilityHandler extends ChannelInboundHandlerAdapter {
+
+        private final Queue<MonoSink<Void>> waiters = new ConcurrentLinkedQueue<>();
+
+        void await(Channel channel, MonoSink<Void> sink) {
+            waiters.add(sink);
+            sink.onCancel(() -> waiters.remove(sink));
+            // 加入等待队列前通道可能已恢复可写
+            if (channel.isWritable() || !channel.isActive()) {
+                release();
+            }
+        }
+
+        @Override
+        public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+            if (ctx.channel().isWritable()) {
+                release();
+            }
+            super.channelWritabilityChanged(ctx);
+        }
+
+        @Override
+        public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+            release();
+            super.channelInactive(ctx);
+        }
+
+        int waiters() {
+            return waiters.size();
+        }
+
+        private void release() {
+            MonoSink<Void> sink;
+            while ((sink = waiters.poll()) != null) {
+                sink.success();
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.rlax.bolt.invoke.chunk;
+
+import lombok.Data;
+
+/**
+ * 分块流式上传参数，中台占用内存约为 (window + 1) * chunkBytes
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Data
+public class ChunkOptions {
+
+    /** 单个分块最大字节数 */
+    private int chunkBytes = 64 * 1024;
+
+    /** 同时在途（未应答）的分块数，需不大于站级乱序等待上限 */
+    private int window = 8;
+
+    /** 单个分块调用超时时间 */
+    private int frameTimeoutMillis = 30000;
+}
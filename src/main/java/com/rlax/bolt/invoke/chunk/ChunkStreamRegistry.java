@@ -0,0 +1,259 @@
+package com.rlax.bolt.invoke.chunk;
+
+import com.alipay.remoting.AsyncContext;
+import com.rlax.bolt.message.ChunkFrame;
+import com.rlax.bolt.processor.ExceptionResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 中台接收站级回传的分块流
+ * <p>
+ * 每个流对应一个 {@link Receiver}，DATA 帧按序号重排后只在下游（HTTP 响应）请求时发出，发出后才应答站级；
+ * reactor-netty 在连接不可写时停止请求，站级因窗口内的分块未应答而暂停，中台最多持有一个窗口的分块。
+ * 下游取消或流失败时，未应答的分块以异常响应（{@link ExceptionResponse}）应答，站级随即中止。
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Slf4j
+public class ChunkStreamRegistry {
+
+    private final ConcurrentMap<String, Receiver> receivers = new ConcurrentHashMap<>();
+
+    /** 单个流乱序等待的最大帧数，应不小于站级发送窗口 */
+    private final int maxPendingFrames;
+
+    private final DataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+
+    public ChunkStreamRegistry(int maxPendingFrames) {
+        this.maxPendingFrames = maxPendingFrames;
+    }
+
+    /**
+     * 登记一个流，需在请求站级回传之前调用，订阅前到达的分块暂存且不应答
+     */
+    Receiver open(String streamId) {
+        Receiver receiver = new Receiver(streamId);
+        if (receivers.putIfAbsent(streamId, receiver) != null) {
+            throw new IllegalStateException("分块流重复登记: " + streamId);
+        }
+        return receiver;
+    }
+
+    /**
+     * 注销流，流尚未结束时视为下游取消
+     */
+    void close(String streamId) {
+        Receiver receiver = receivers.remove(streamId);
+        if (receiver != null) {
+            receiver.fail(new CancellationException("分块流已取消: " + streamId));
+        }
+    }
+
+    /**
+     * 站级发来的帧
+     */
+    public void onFrame(ChunkFrame frame, AsyncContext asyncCtx) {
+        Receiver receiver = receivers.get(frame.getStreamId());
+        if (receiver == null) {
+            asyncCtx.sendResponse(frame.getType() == ChunkFrame.Type.ABORT
+                    ? null : error("分块流不存在或已结束: " + frame.getStreamId()));
+            return;
+        }
+        switch (frame.getType()) {
+            case DATA:
+                receiver.onData(frame, asyncCtx);
+                break;
+            case END:
+                receiver.onEnd(frame, asyncCtx);
+                break;
+            case ABORT:
+                receiver.fail(new CancellationException("站级中止分块流: " + frame.getStreamId()));
+                asyncCtx.sendResponse(null);
+                break;
+            default:
+                asyncCtx.sendResponse(error("不支持的分块帧类型: " + frame.getType()));
+        }
+    }
+
+    public int activeStreams() {
+        return receivers.size();
+    }
+
+    private static ExceptionResponse error(String message) {
+        return new ExceptionResponse(new IllegalStateException(message));
+    }
+
+    /**
+     * 单个流的接收状态，方法均在流锁内执行
+     */
+    class Receiver {
+
+        private final String streamId;
+        private final TreeMap<Integer, Pending> outOfOrder = new TreeMap<>();
+        private final ArrayDeque<Pending> ready = new ArrayDeque<>();
+        private int nextSeq;
+        private long demand;
+        private boolean draining;
+        private boolean terminated;
+        /** END 帧携带的帧数，未收到时为 -1 */
+        private int expectedFrames = -1;
+        private AsyncContext endCtx;
+        private FluxSink<DataBuffer> sink;
+        /** 订阅前已失败 */
+        private Throwable failure;
+
+        Receiver(String streamId) {
+            this.streamId = streamId;
+        }
+
+        /**
+         * 只能订阅一次
+         */
+        Flux<DataBuffer> flux() {
+            return Flux.create(this::attach);
+        }
+
+        private synchronized void attach(FluxSink<DataBuffer> sink) {
+            if (this.sink != null) {
+                sink.error(new IllegalStateException("分块流只能订阅一次: " + streamId));
+                return;
+            }
+            this.sink = sink;
+            if (failure != null) {
+                sink.error(failure);
+                return;
+            }
+            sink.onRequest(this::request);
+            drain();
+        }
+
+        private synchronized void request(long n) {
+            demand += n;
+            if (demand < 0) {
+                demand = Long.MAX_VALUE;
+            }
+            drain();
+        }
+
+        synchronized void onData(ChunkFrame frame, AsyncContext asyncCtx) {
+            if (terminated) {
+                asyncCtx.sendResponse(error("分块流已结束: " + streamId));
+                return;
+            }
+            int seq = frame.getSeq();
+            if (seq < nextSeq || outOfOrder.containsKey(seq)) {
+                asyncCtx.sendResponse(null);
+                return;
+            }
+            if (seq > nextSeq) {
+                if (outOfOrder.size() >= maxPendingFrames) {
+                    asyncCtx.sendResponse(error("分块流乱序等待帧数超过上限: " + maxPendingFrames));
+                    fail(new IllegalStateException("分块流 " + streamId + " 乱序等待帧数超过上限: " + maxPendingFrames));
+                    return;
+                }
+                outOfOrder.put(seq, new Pending(frame.getData(), asyncCtx));
+                return;
+            }
+            ready.add(new Pending(frame.getData(), asyncCtx));
+            nextSeq++;
+            Pending next;
+            while ((next = outOfOrder.remove(nextSeq)) != null) {
+                ready.add(next);
+                nextSeq++;
+            }
+            drain();
+        }
+
+        synchronized void onEnd(ChunkFrame frame, AsyncContext asyncCtx) {
+            if (terminated) {
+                asyncCtx.sendResponse(error("分块流已结束: " + streamId));
+                return;
+            }
+            expectedFrames = frame.getSeq();
+            endCtx = asyncCtx;
+            drain();
+        }
+
+        /**
+         * 下游有请求时发出分块并应答站级；下游 onNext 中再次请求时只累加 demand，由外层循环继续发出
+         */
+        private void drain() {
+            if (sink == null || draining || terminated) {
+                return;
+            }
+            draining = true;
+            try {
+                while (demand > 0 && !ready.isEmpty()) {
+                    Pending pending = ready.poll();
+                    demand--;
+                    sink.next(bufferFactory.wrap(pending.data == null ? new byte[0] : pending.data));
+                    pending.asyncCtx.sendResponse(null);
+                }
+                if (expectedFrames >= 0 && ready.isEmpty() && outOfOrder.isEmpty()) {
+                    if (nextSeq != expectedFrames) {
+                        fail(new IllegalStateException("分块流 " + streamId + " 不完整: 期望 " + expectedFrames + " 帧, 已接收 " + nextSeq + " 帧"));
+                        return;
+                    }
+                    terminated = true;
+                    receivers.remove(streamId, this);
+                    endCtx.sendResponse(null);
+                    sink.complete();
+                }
+            } finally {
+                draining = false;
+            }
+        }
+
+        synchronized void fail(Throwable e) {
+            if (terminated) {
+                return;
+            }
+            terminated = true;
+            receivers.remove(streamId, this);
+            ExceptionResponse response = new ExceptionResponse(e);
+            for (Pending pending : ready) {
+                pending.asyncCtx.sendResponse(response);
+            }
+            for (Map.Entry<Integer, Pending> entry : outOfOrder.entrySet()) {
+                entry.getValue().asyncCtx.sendResponse(response);
+            }
+            ready.clear();
+            outOfOrder.clear();
+            if (endCtx != null) {
+                endCtx.sendResponse(response);
+            }
+            log.warn("分块流 {} 失败: {}", streamId, e.toString());
+            if (sink != null) {
+                if (!sink.isCancelled()) {
+                    sink.error(e);
+                }
+            } else {
+                failure = e;
+            }
+        }
+    }
+
+    private static final class Pending {
+
+        private final byte[] data;
+        private final AsyncContext asyncCtx;
+
+        Pending(byte[] data, AsyncContext asyncCtx) {
+            this.data = data;
+            this.asyncCtx = asyncCtx;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.rlax.bolt.invoke.chunk;
+
+import com.alipay.remoting.Connection;
+import com.alipay.remoting.InvokeCallback;
+import com.alipay.remoting.exception.RemotingException;
+import com.rlax.bolt.message.ChunkFrame;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 站级向中台回传分块流
+ * <p>
+ * 按 DATA、END 顺序发送 {@link ChunkFrame}，同时在途的分块不超过窗口，每个分块发送前等待连接可写；
+ * 中台只有在 HTTP 响应写出分块后才应答，因此站级的生产速度最终受 HTTP 客户端读取速度约束。
+ * 失败时发送 ABORT。
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Slf4j
+public class ChunkStreamSender {
+
+    /**
+     * 在连接上发起回调调用，如 RpcClient::invokeWithCallback
+     */
+    @FunctionalInterface
+    public interface FrameInvoker {
+
+        void invoke(Connection connection, ChunkFrame frame, InvokeCallback callback, int timeoutMillis) throws RemotingException;
+    }
+
+    private final FrameInvoker invoker;
+    private final ChunkOptions options;
+
+    public ChunkStreamSender(FrameInvoker invoker, ChunkOptions options) {
+        this.invoker = invoker;
+        this.options = options;
+    }
+
+    /**
+     * @param connection 与中台的连接
+     * @param streamId 中台分配的流 id
+     * @param chunks 分块内容，按窗口向上游请求
+     */
+    public Mono<Void> send(Connection connection, String streamId, Flux<byte[]> chunks) {
+        return Mono.defer(() -> {
+            AtomicInteger frames = new AtomicInteger();
+            AtomicLong bytes = new AtomicLong();
+            return chunks
+                    .flatMap(chunk -> {
+                        ChunkFrame frame = ChunkFrame.data(streamId, frames.getAndIncrement(), chunk);
+                        bytes.addAndGet(chunk.length);
+                        return ChannelWritability.awaitWritable(connection.getChannel()).then(invoke(connection, frame));
+                    }, options.getWindow())
+                    .then(Mono.defer(() -> invoke(connection, ChunkFrame.end(streamId, frames.get(), bytes.get()))))
+                    .doOnSuccess(ignored -> log.debug("分块流 {} 回传完成: frames={}, bytes={}", streamId, frames.get(), bytes.get()))
+                    .doOnError(e -> {
+                        log.warn("分块流 {} 回传失败: {}", streamId, e.toString());
+                        invoke(connection, ChunkFrame.abort(streamId))
+                                .subscribe(null, ex -> log.debug("分块流 {} 发送 ABORT 失败: {}", streamId, ex.toString()));
+                    })
+                    .then();
+        });
+    }
+
+    private Mono<Object> invoke(Connection connection, ChunkFrame frame) {
+        return Mono.create(sink -> {
+            try {
+                invoker.invoke(connection, frame, new InvokeCallback() {
+                    @Override
+                    public void onResponse(Object result) {
+                        sink.success(result);
+                    }
+
+                    @Override
+                    public void onException(Throwable e) {
+                        sink.error(e);
+                    }
+
+                    @Override
+                    public Executor getExecutor() {
+                        return null;
+                    }
+                }, options.getFrameTimeoutMillis());
+            } catch (RemotingException e) {
+                sink.error(e);
+            }
+        });
+    }
+}
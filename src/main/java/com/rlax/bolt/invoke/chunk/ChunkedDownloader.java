@@ -0,0 +1,46 @@
+package com.rlax.bolt.invoke.chunk;
+
+import cn.hutool.core.util.IdUtil;
+import com.alipay.remoting.Connection;
+import com.rlax.bolt.invoke.ReactiveBoltInvoker;
+import com.rlax.bolt.message.StreamRequest;
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Flux;
+
+import java.util.Map;
+
+/**
+ * 请求站级以分块流回传结果，直接作为 HTTP 响应体转发，站级需注册
+ * {@link com.rlax.bolt.processor.ChunkStreamingUserProcessor}，中台需注册 ChunkStreamProcessor
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public class ChunkedDownloader {
+
+    private final ReactiveBoltInvoker invoker;
+    private final ChunkStreamRegistry registry;
+    private final ChunkOptions options;
+
+    public ChunkedDownloader(ReactiveBoltInvoker invoker, ChunkStreamRegistry registry, ChunkOptions options) {
+        this.invoker = invoker;
+        this.registry = registry;
+        this.options = options;
+    }
+
+    /**
+     * @param connection 站级客户端连接
+     * @param name 请求的内容，如报表名
+     * @param params 请求参数
+     * @return 站级回传的分块，按下游请求逐块应答站级
+     */
+    public Flux<DataBuffer> download(Connection connection, String name, Map<String, String> params) {
+        return Flux.defer(() -> {
+            String streamId = IdUtil.fastSimpleUUID();
+            ChunkStreamRegistry.Receiver receiver = registry.open(streamId);
+            return invoker.invoke(connection, new StreamRequest(streamId, name, params), options.getFrameTimeoutMillis())
+                    .thenMany(receiver.flux())
+                    .doFinally(signal -> registry.close(streamId));
+        });
+    }
+}
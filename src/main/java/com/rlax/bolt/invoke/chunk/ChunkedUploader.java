@@ -0,0 +1,134 @@
+package com.rlax.bolt.invoke.chunk;
+
+import cn.hutool.core.util.IdUtil;
+import com.alipay.remoting.Connection;
+import com.rlax.bolt.invoke.ReactiveBoltInvoker;
+import com.rlax.bolt.message.ChunkFrame;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 分块流式上传
+ * <p>
+ * 将 HTTP 请求体等 {@code Flux<DataBuffer>} 重新切分为固定大小的分块，以 {@link ChunkFrame} 发往站级客户端。
+ * 同时在途的分块数不超过窗口，只有分块应答后才继续读取上游，每个分块发送前等待连接可写，中台内存占用与文件大小无关。
+ * 上传失败或被取消时向站级发送 ABORT，站级需注册 {@link com.rlax.bolt.processor.ChunkAssemblingUserProcessor}。
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Slf4j
+public class ChunkedUploader {
+
+    private final ReactiveBoltInvoker invoker;
+    private final ChunkOptions options;
+
+    public ChunkedUploader(ReactiveBoltInvoker invoker, ChunkOptions options) {
+        this.invoker = invoker;
+        this.options = options;
+    }
+
+    /**
+     * 上传到站级客户端
+     * @param connection 站级客户端连接
+     * @param name 名称，如文件名
+     * @param length 内容总长度，未知时为 -1
+     * @param content 内容，读取后释放
+     * @return 站级 {@link com.rlax.bolt.processor.ChunkSink#onComplete()} 的结果
+     */
+    public <T> Mono<T> upload(Connection connection, String name, long length, Flux<DataBuffer> content) {
+        return Mono.defer(() -> {
+            String streamId = IdUtil.fastSimpleUUID();
+            int timeout = options.getFrameTimeoutMillis();
+            AtomicInteger frames = new AtomicInteger();
+            AtomicLong bytes = new AtomicLong();
+            Rechunker rechunker = new Rechunker(options.getChunkBytes());
+
+            Mono<Void> data = content
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                    .concatMapIterable(rechunker::accept, 1)
+                    .concatWith(Mono.fromCallable(rechunker::flush))
+                    .flatMap(chunk -> {
+                        bytes.addAndGet(chunk.length);
+                        ChunkFrame frame = ChunkFrame.data(streamId, frames.getAndIncrement(), chunk);
+                        return ChannelWritability.awaitWritable(connection == null ? null : connection.getChannel())
+                                .then(invoker.invoke(connection, frame, timeout));
+                    }, options.getWindow())
+                    .then();
+
+            return invoker.invoke(connection, ChunkFrame.open(streamId, name, length), timeout)
+                    .then(data)
+                    .then(Mono.defer(() -> invoker.<T>invoke(connection, ChunkFrame.end(streamId, frames.get(), bytes.get()), timeout)))
+                    .doOnSuccess(result -> log.debug("分块流 {} 上传完成: frames={}, bytes={}", streamId, frames.get(), bytes.get()))
+                    .doOnError(e -> abort(connection, streamId, e))
+                    .doOnCancel(() -> abort(connection, streamId, null));
+        });
+    }
+
+    private void abort(Connection connection, String streamId, Throwable cause) {
+        log.warn("分块流 {} 上传中止: {}", streamId, cause == null ? "cancelled" : cause.toString());
+        invoker.invoke(connection, ChunkFrame.abort(streamId), options.getFrameTimeoutMillis())
+                .subscribe(null, e -> log.debug("分块流 {} 发送 ABORT 失败: {}", streamId, e.toString()));
+    }
+
+    /**
+     * 将任意大小的 DataBuffer 切分 / 拼接为固定大小的分块，读取后释放 DataBuffer，单个订阅内使用
+     */
+    static class Rechunker {
+
+        private final int chunkBytes;
+        private byte[] current;
+        private int position;
+
+        Rechunker(int chunkBytes) {
+            this.chunkBytes = chunkBytes;
+        }
+
+        List<byte[]> accept(DataBuffer buffer) {
+            try {
+                List<byte[]> full = Collections.emptyList();
+                while (buffer.readableByteCount() > 0) {
+                    if (current == null) {
+                        current = new byte[chunkBytes];
+                        position = 0;
+                    }
+                    int n = Math.min(chunkBytes - position, buffer.readableByteCount());
+                    buffer.read(current, position, n);
+                    position += n;
+                    if (position == chunkBytes) {
+                        if (full.isEmpty()) {
+                            full = new ArrayList<>(2);
+                        }
+                        full.add(current);
+                        current = null;
+                    }
+                }
+                return full;
+            } finally {
+                DataBufferUtils.release(buffer);
+            }
+        }
+
+        /**
+         * @return 最后一个不满的分块，没有时为 null
+         */
+        byte[] flush() {
+            if (current == null || position == 0) {
+                return null;
+            }
+            byte[] last = new byte[position];
+            System.arraycopy(current, 0, last, 0, position);
+            current = null;
+            return last;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.rlax.bolt.message;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 批量请求中单个请求的处理异常
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Data
+public class BatchItemError implements Serializable {
+
+    /** for serialization */
+    private static final long serialVersionUID = 2731947040983446105L;
+
+    /** 异常类型 */
+    private String type;
+
+    /** 异常信息 */
+    private String message;
+
+    public BatchItemError() {
+    }
+
+    public BatchItemError(Throwable e) {
+        this.type = e.getClass().getName();
+        this.message = e.getMessage();
+    }
+}
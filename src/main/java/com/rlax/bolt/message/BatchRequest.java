@@ -0,0 +1,30 @@
+package com.rlax.bolt.message;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 批量请求信封，同一连接上短时间内的多个小请求合并为一个 Bolt 帧
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Data
+public class BatchRequest implements Serializable {
+
+    /** for serialization */
+    private static final long serialVersionUID = -4517025306139852310L;
+
+    /** 原始请求，顺序与响应一一对应 */
+    private List<Object> items;
+
+    public BatchRequest() {
+    }
+
+    public BatchRequest(List<Object> items) {
+        this.items = new ArrayList<>(items);
+    }
+}
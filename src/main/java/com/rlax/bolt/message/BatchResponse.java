@@ -0,0 +1,29 @@
+package com.rlax.bolt.message;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 批量响应，results 与 {@link BatchRequest#getItems()} 按下标一一对应，
+ * 单个请求处理失败时对应位置为 {@link BatchItemError}
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Data
+public class BatchResponse implements Serializable {
+
+    /** for serialization */
+    private static final long serialVersionUID = 6098727152683520453L;
+
+    private List<Object> results;
+
+    public BatchResponse() {
+    }
+
+    public BatchResponse(List<Object> results) {
+        this.results = results;
+    }
+}
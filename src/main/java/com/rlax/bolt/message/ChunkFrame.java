@@ -0,0 +1,82 @@
+package com.rlax.bolt.message;
+
+import lombok.Data;
+import lombok.ToString;
+
+import java.io.Serializable;
+
+/**
+ * 分块流帧
+ * <p>
+ * 一个流依次为 OPEN、若干 DATA、END；发送方出错或取消时发送 ABORT。
+ * OPEN 应答后才发送 DATA，DATA 全部应答后才发送 END，DATA 之间可能乱序到达，由接收方按 seq 重排。
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Data
+public class ChunkFrame implements Serializable {
+
+    /** for serialization */
+    private static final long serialVersionUID = 5804196413310962641L;
+
+    public enum Type {
+        OPEN, DATA, END, ABORT
+    }
+
+    /** 流 id */
+    private String streamId;
+
+    private Type type;
+
+    /** DATA：从 0 开始的序号；END：DATA 帧总数 */
+    private int seq;
+
+    /** DATA：分块内容 */
+    @ToString.Exclude
+    private byte[] data;
+
+    /** OPEN：名称，如文件名 */
+    private String name;
+
+    /** OPEN：内容总长度，未知时为 -1；END：实际发送的总字节数 */
+    private long length;
+
+    public ChunkFrame() {
+    }
+
+    private ChunkFrame(String streamId, Type type) {
+        this.streamId = streamId;
+        this.type = type;
+    }
+
+    public static ChunkFrame open(String streamId, String name, long length) {
+        ChunkFrame frame = new ChunkFrame(streamId, Type.OPEN);
+        frame.name = name;
+        frame.length = length;
+        return frame;
+    }
+
+    public static ChunkFrame data(String streamId, int seq, byte[] data) {
+        ChunkFrame frame = new ChunkFrame(streamId, Type.DATA);
+        frame.seq = seq;
+        frame.data = data;
+        return frame;
+    }
+
+    public static ChunkFrame end(String streamId, int frames, long length) {
+        ChunkFrame frame = new ChunkFrame(streamId, Type.END);
+        frame.seq = frames;
+        frame.length = length;
+        return frame;
+    }
+
+    public static ChunkFrame abort(String streamId) {
+        return new ChunkFrame(streamId, Type.ABORT);
+    }
+
+    @ToString.Include(name = "dataLength")
+    private int dataLength() {
+        return data == null ? 0 : data.length;
+    }
+}
@@ -0,0 +1,89 @@
+package com.rlax.bolt.message;
+
+import com.alipay.remoting.CustomSerializer;
+import com.alipay.remoting.CustomSerializerManager;
+import com.alipay.remoting.exception.CodecException;
+import com.alipay.remoting.serialization.SerializerManager;
+import com.rlax.bolt.serialization.ContentEncoder;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 预序列化请求
+ * <p>
+ * 广播等场景下同一请求需要发往大量连接，先序列化一次，
+ * 发送时由 {@link com.rlax.bolt.serialization.PreSerializedRequestSerializer} 直接复用字节，
+ * 对端看到的仍是原始请求类型。content 在多个连接间共享，只读；
+ * 支持压缩的对端使用压缩后的内容，同样只在首次使用时压缩一次。
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Getter
+public class PreSerializedRequest {
+
+    /** 原始请求类型 */
+    private final String targetClass;
+
+    /** 原始请求类型字节，对应 Bolt 协议 clazz 字段 */
+    private final byte[] targetClassBytes;
+
+    /** 序列化器类型 */
+    private final byte serializer;
+
+    /** 序列化后的请求体 */
+    private final byte[] content;
+
+    /** 自定义编码器，为 null 时不压缩 */
+    @Getter(AccessLevel.NONE)
+    private final ContentEncoder encoder;
+
+    @Getter(AccessLevel.NONE)
+    private volatile byte[] compressedContent;
+
+    private PreSerializedRequest(String targetClass, byte serializer, byte[] content, ContentEncoder encoder) {
+        this.targetClass = targetClass;
+        this.targetClassBytes = targetClass.getBytes(StandardCharsets.UTF_8);
+        this.serializer = serializer;
+        this.content = content;
+        this.encoder = encoder;
+    }
+
+    /**
+     * 序列化请求，请求类型注册了可独立编码的自定义序列化器时使用该序列化器，
+     * 否则使用 Bolt 默认序列化器（Hessian2），与对端的解码方式保持一致
+     */
+    public static PreSerializedRequest of(Object request) throws CodecException {
+        String targetClass = request.getClass().getName();
+        byte serializer = SerializerManager.Hessian2;
+        CustomSerializer customSerializer = CustomSerializerManager.getCustomSerializer(targetClass);
+        if (customSerializer instanceof ContentEncoder) {
+            ContentEncoder encoder = (ContentEncoder) customSerializer;
+            return new PreSerializedRequest(targetClass, serializer, encoder.encode(request), encoder);
+        }
+        return new PreSerializedRequest(targetClass, serializer,
+                SerializerManager.getSerializer(serializer).serialize(request), null);
+    }
+
+    /**
+     * 发往某一对端的内容，对端支持压缩时使用压缩后的内容，并发首次调用可能重复压缩，结果相同
+     */
+    public byte[] contentFor(boolean peerAcceptsCompression) {
+        if (!peerAcceptsCompression || encoder == null) {
+            return content;
+        }
+        byte[] compressed = compressedContent;
+        if (compressed == null) {
+            compressed = encoder.compress(content);
+            compressedContent = compressed;
+        }
+        return compressed;
+    }
+
+    @Override
+    public String toString() {
+        return "PreSerializedRequest(targetClass=" + targetClass + ", contentLength=" + content.length + ")";
+    }
+}
@@ -1,9 +1,11 @@
 package com.rlax.bolt.message;
 
+import io.netty.buffer.ByteBuf;
 import lombok.Data;
+import lombok.ToString;
 
 import java.io.Serializable;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * biz request as a demo
@@ -24,9 +26,16 @@ public class RequestBody implements Serializable {
     private String             msg;
 
     /** body */
+    @ToString.Exclude
     private byte[]             body;
 
-    private Random             r                         = new Random();
+    /**
+     * ByteBuf body，开启 bolt.codec.zero-copy-body 后解码为请求内容的零拷贝视图，body 为 null；只经二进制编码传输。
+     * 处理器基类在响应发送后调用 {@link #release()} 释放，处理器不需要、也不应再持有它；
+     * 发送方设置时由发送方负责释放。
+     */
+    @ToString.Exclude
+    private transient ByteBuf  bodyBuffer;
 
     private String traceId;
 
@@ -44,7 +53,35 @@ public class RequestBody implements Serializable {
         this.id = id;
         this.msg = "";
         this.body = new byte[size];
-        r.nextBytes(this.body);
+        ThreadLocalRandom.current().nextBytes(this.body);
+    }
+
+    @ToString.Include(name = "bodyLength")
+    public int bodyLength() {
+        if (bodyBuffer != null) {
+            return bodyBuffer.readableBytes();
+        }
+        return body == null ? 0 : body.length;
+    }
+
+    /**
+     * 释放 ByteBuf body，没有 ByteBuf body 时无操作，可重复调用
+     */
+    public void release() {
+        ByteBuf buffer = bodyBuffer;
+        if (buffer != null) {
+            bodyBuffer = null;
+            buffer.release();
+        }
+    }
+
+    /**
+     * 处理器释放请求，非 RequestBody 时无操作
+     */
+    public static void release(Object request) {
+        if (request instanceof RequestBody) {
+            ((RequestBody) request).release();
+        }
     }
 
     static public enum InvokeType {
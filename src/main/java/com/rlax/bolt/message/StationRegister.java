@@ -0,0 +1,36 @@
+package com.rlax.bolt.message;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 站级客户端建立连接后上报的注册消息，服务端回复 {@link StationRegisterAck}
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Data
+public class StationRegister implements Serializable {
+
+    /** for serialization */
+    private static final long serialVersionUID = 3954163523867213386L;
+
+    /** 站级业务 id */
+    private String stationId;
+
+    /** 客户端能力，见 {@link com.rlax.bolt.serialization.Capabilities} */
+    private int capabilities;
+
+    public StationRegister() {
+    }
+
+    public StationRegister(String stationId) {
+        this.stationId = stationId;
+    }
+
+    public StationRegister(String stationId, int capabilities) {
+        this.stationId = stationId;
+        this.capabilities = capabilities;
+    }
+}
@@ -0,0 +1,28 @@
+package com.rlax.bolt.message;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 服务端对 {@link StationRegister} 的应答
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Data
+public class StationRegisterAck implements Serializable {
+
+    /** for serialization */
+    private static final long serialVersionUID = -2319087254426130795L;
+
+    /** 服务端能力，见 {@link com.rlax.bolt.serialization.Capabilities} */
+    private int capabilities;
+
+    public StationRegisterAck() {
+    }
+
+    public StationRegisterAck(int capabilities) {
+        this.capabilities = capabilities;
+    }
+}
@@ -0,0 +1,40 @@
+package com.rlax.bolt.message;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 中台请求站级以分块流的方式回传结果，站级以 {@link ChunkFrame} 的 DATA / END / ABORT 帧发回同一 streamId
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Data
+public class StreamRequest implements Serializable {
+
+    /** for serialization */
+    private static final long serialVersionUID = -6045722313086407719L;
+
+    /** 中台分配的流 id */
+    private String streamId;
+
+    /** 请求的内容，如报表名 */
+    private String name;
+
+    /** 请求参数 */
+    private HashMap<String, String> params = new HashMap<>();
+
+    public StreamRequest() {
+    }
+
+    public StreamRequest(String streamId, String name, Map<String, String> params) {
+        this.streamId = streamId;
+        this.name = name;
+        if (params != null) {
+            this.params.putAll(params);
+        }
+    }
+}
@@ -0,0 +1,397 @@
+package com.rlax.bolt.metrics;
+
+import com.alipay.remoting.rpc.exception.InvokeTimeoutException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.rlax.bolt.client.balance.ServerEndpoint;
+import com.rlax.bolt.executor.WrappedTask;
+import com.rlax.bolt.server.breaker.CircuitState;
+import com.rlax.bolt.server.breaker.StationCircuitBreakers;
+import com.rlax.bolt.server.limit.StationConcurrencyLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.search.Search;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * RPC 指标
+ * <p>
+ * bolt.invoke：调用延迟直方图，按方向、目标（站级 id / 服务端地址）、调用方式、结果（success / error / timeout）打标签；
+ * bolt.invoke.inflight：在途调用数；bolt.executor.*：线程池队列深度、活跃线程、任务排队等待时间与过载拒绝数；
+ * bolt.codec.compression.*：请求内容压缩耗时、压缩比与字节数；bolt.cache.requests：网关响应缓存按路由的命中 / 未命中数；
+ * bolt.balancer.*：站级客户端到各中台服务端的在途数、延迟估计、摘除状态与摘除次数；bolt.startup：各启动阶段耗时；
+ * bolt.limit.*：中台调用站级客户端的自适应并发上限、在途数、排队数与拒绝数；
+ * bolt.breaker.*：熔断 / 半开的站级数、熔断状态变化次数与熔断中拒绝的调用数。
+ * 按站级 id 打标签时，站级的全部连接断开后由 {@link #removeTarget(String)} 移除对应指标。
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public class BoltMetrics {
+
+    /** 不上报的空实现 */
+    public static final BoltMetrics NOOP = new BoltMetrics(new CompositeMeterRegistry(), false);
+
+    public static final String DIRECTION_SERVER_TO_CLIENT = "server_to_client";
+    public static final String DIRECTION_CLIENT_TO_SERVER = "client_to_server";
+
+    /** 关闭按目标打标签时统一使用的目标值 */
+    private static final String ALL_TARGETS = "all";
+
+    private final MeterRegistry registry;
+    private final boolean perTargetTags;
+    private final ConcurrentMap<Tags, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * @param registry 指标注册表
+     * @param perTargetTags 是否按站级 id / 地址打标签，站数量很大时可关闭以控制指标基数
+     */
+    public BoltMetrics(MeterRegistry registry, boolean perTargetTags) {
+        this.registry = registry;
+        this.perTargetTags = perTargetTags;
+    }
+
+    public MeterRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * 开始一次调用计时
+     * @param direction 调用方向
+     * @param target 站级 id 或服务端地址
+     * @param invokeType 调用方式
+     */
+    public InvokeSample startInvoke(String direction, String target, String invokeType) {
+        Tags tags = Tags.of("direction", direction,
+                "target", perTargetTags && target != null ? target : ALL_TARGETS,
+                "type", invokeType);
+        AtomicInteger counter = inFlight.computeIfAbsent(tags, t -> {
+            AtomicInteger value = new AtomicInteger();
+            Gauge.builder("bolt.invoke.inflight", value, AtomicInteger::get)
+                    .description("在途 RPC 调用数")
+                    .tags(t)
+                    .register(registry);
+            return value;
+        });
+        counter.incrementAndGet();
+        return new InvokeSample(tags, counter, System.nanoTime());
+    }
+
+    /**
+     * 移除按该目标打标签的全部指标，关闭按目标打标签时无操作。
+     * 站级的全部连接断开后调用，站级上下线不会让指标只增不减；之后再有调用时重新注册
+     */
+    public void removeTarget(String target) {
+        if (!perTargetTags || target == null) {
+            return;
+        }
+        inFlight.keySet().removeIf(tags -> target.equals(tagValue(tags, "target")));
+        for (Meter meter : Search.in(registry).tag("target", target).meters()) {
+            registry.remove(meter);
+        }
+    }
+
+    private static String tagValue(Tags tags, String key) {
+        return tags.stream().filter(tag -> key.equals(tag.getKey())).map(tag -> tag.getValue()).findFirst().orElse(null);
+    }
+
+    /**
+     * 任务装饰器，记录任务从提交到开始执行的排队等待时间
+     */
+    public TaskDecorator taskWaitDecorator(String executorName) {
+        Timer waitTimer = Timer.builder("bolt.executor.wait")
+                .description("任务在线程池队列中的等待时间")
+                .tag("executor", executorName)
+                .publishPercentileHistogram()
+                .register(registry);
+        return runnable -> {
+            long submitted = System.nanoTime();
+            return new WrappedTask() {
+                @Override
+                public void run() {
+                    waitTimer.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+                    runnable.run();
+                }
+
+                @Override
+                public Runnable unwrap() {
+                    return runnable;
+                }
+            };
+        };
+    }
+
+    /**
+     * 线程池队列深度、活跃线程等指标，采集时读取，线程池未初始化时为 0
+     */
+    public void monitorExecutor(ThreadPoolTaskExecutor executor, String executorName) {
+        executorGauge("bolt.executor.queued", "队列中等待的任务数", executor, executorName, e -> e.getQueue().size());
+        executorGauge("bolt.executor.active", "正在执行任务的线程数", executor, executorName, ThreadPoolExecutor::getActiveCount);
+        executorGauge("bolt.executor.pool.size", "当前线程数", executor, executorName, ThreadPoolExecutor::getPoolSize);
+        executorGauge("bolt.executor.pool.max", "最大线程数", executor, executorName, ThreadPoolExecutor::getMaximumPoolSize);
+        executorGauge("bolt.executor.queue.remaining", "队列剩余容量", executor, executorName, e -> e.getQueue().remainingCapacity());
+        executorGauge("bolt.executor.completed", "已完成任务数", executor, executorName, ThreadPoolExecutor::getCompletedTaskCount);
+    }
+
+    /**
+     * 线程池拒绝 / 丢弃任务计数
+     */
+    public Counter executorRejected(String executorName, String policy) {
+        return Counter.builder("bolt.executor.rejected")
+                .description("线程池过载时被拒绝或丢弃的任务数")
+                .tag("executor", executorName)
+                .tag("policy", policy)
+                .register(registry);
+    }
+
+    /**
+     * 压缩 / 解压耗时，为编解码线程上的耗时
+     * @param operation compress / decompress
+     */
+    public Timer compressionTime(String operation) {
+        return Timer.builder("bolt.codec.compression.time")
+                .description("请求内容压缩 / 解压耗时")
+                .tag("operation", operation)
+                .register(registry);
+    }
+
+    /**
+     * 压缩比，原始字节数 / 压缩后字节数
+     */
+    public DistributionSummary compressionRatio() {
+        return DistributionSummary.builder("bolt.codec.compression.ratio")
+                .description("请求内容压缩比")
+                .register(registry);
+    }
+
+    /**
+     * 压缩前后字节数
+     * @param type raw / compressed
+     */
+    public Counter compressionBytes(String type) {
+        return Counter.builder("bolt.codec.compression.bytes")
+                .description("压缩的请求内容字节数")
+                .baseUnit("bytes")
+                .tag("type", type)
+                .register(registry);
+    }
+
+    /**
+     * 压缩后没有变小、按原样发送的次数
+     */
+    public Counter compressionSkipped() {
+        return Counter.builder("bolt.codec.compression.skipped")
+                .description("压缩后没有变小而原样发送的请求数")
+                .register(registry);
+    }
+
+    /**
+     * 网关响应缓存请求数
+     * @param route 路由
+     * @param result hit / miss
+     */
+    public Counter responseCacheRequests(String route, String result) {
+        return Counter.builder("bolt.cache.requests")
+                .description("网关响应缓存请求数")
+                .tag("route", route)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /**
+     * 缓存条目数、淘汰数等，cache.* 指标，需开启 recordStats
+     */
+    public void monitorCache(Cache<?, ?> cache, String cacheName) {
+        CaffeineCacheMetrics.monitor(registry, cache, cacheName);
+    }
+
+    /**
+     * 中台服务端在途数、延迟估计与是否摘除，按服务端地址打标签，服务端数量固定
+     */
+    public void monitorServerEndpoint(ServerEndpoint endpoint, LongSupplier clock) {
+        Gauge.builder("bolt.balancer.inflight", endpoint, ServerEndpoint::inFlight)
+                .description("发往该服务端的在途调用数")
+                .tag("server", endpoint.getAddress())
+                .register(registry);
+        Gauge.builder("bolt.balancer.latency", endpoint, e -> e.latencyNanos(clock.getAsLong()) / 1_000_000)
+                .description("该服务端的延迟估计（峰值 EWMA）")
+                .baseUnit("milliseconds")
+                .tag("server", endpoint.getAddress())
+                .register(registry);
+        Gauge.builder("bolt.balancer.ejected", endpoint, e -> e.isEjected(clock.getAsLong()) ? 1 : 0)
+                .description("该服务端是否被摘除")
+                .tag("server", endpoint.getAddress())
+                .register(registry);
+    }
+
+    /**
+     * 中台服务端被摘除次数
+     */
+    public Counter serverEjections(String server) {
+        return Counter.builder("bolt.balancer.ejections")
+                .description("服务端因连续失败被摘除的次数")
+                .tag("server", server)
+                .register(registry);
+    }
+
+    /**
+     * 站级连接并发上限、在途数与排队数，同一站级多条连接合计；关闭按目标打标签时为全部站级合计
+     */
+    public void monitorConcurrencyLimit(StationConcurrencyLimiter limiter, String stationId) {
+        String target = perTargetTags && stationId != null ? stationId : ALL_TARGETS;
+        String filter = perTargetTags ? stationId : null;
+        Gauge.builder("bolt.limit.concurrency", limiter, l -> l.totalLimit(filter))
+                .description("站级连接的自适应并发上限")
+                .tag("target", target)
+                .register(registry);
+        Gauge.builder("bolt.limit.inflight", limiter, l -> l.totalInFlight(filter))
+                .description("占用并发上限的在途调用数")
+                .tag("target", target)
+                .register(registry);
+        Gauge.builder("bolt.limit.queued", limiter, l -> l.totalQueued(filter))
+                .description("达到并发上限后排队等待的调用数")
+                .tag("target", target)
+                .register(registry);
+    }
+
+    /**
+     * 达到并发上限被拒绝的调用数
+     * @param reason queue_full / queue_timeout
+     */
+    public Counter concurrencyLimitRejected(String stationId, String reason) {
+        return Counter.builder("bolt.limit.rejected")
+                .description("达到并发上限被拒绝的调用数")
+                .tag("target", perTargetTags && stationId != null ? stationId : ALL_TARGETS)
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    /**
+     * 处于熔断 / 半开状态的站级数
+     */
+    public void monitorCircuitBreakers(StationCircuitBreakers breakers) {
+        for (CircuitState state : new CircuitState[]{CircuitState.OPEN, CircuitState.HALF_OPEN}) {
+            Gauge.builder("bolt.breaker.stations", breakers, b -> b.count(state))
+                    .description("处于该熔断状态的站级数")
+                    .tag("state", state.name().toLowerCase())
+                    .register(registry);
+        }
+    }
+
+    /**
+     * 站级熔断状态变化次数
+     * @param state 变化后的状态
+     */
+    public Counter circuitBreakerTransition(String stationId, CircuitState state) {
+        return Counter.builder("bolt.breaker.transitions")
+                .description("站级熔断状态变化次数")
+                .tag("target", perTargetTags && stationId != null ? stationId : ALL_TARGETS)
+                .tag("state", state.name().toLowerCase())
+                .register(registry);
+    }
+
+    /**
+     * 熔断中被直接拒绝的调用数
+     */
+    public Counter circuitBreakerRejected(String stationId) {
+        return Counter.builder("bolt.breaker.rejected")
+                .description("站级熔断中被直接拒绝的调用数")
+                .tag("target", perTargetTags && stationId != null ? stationId : ALL_TARGETS)
+                .register(registry);
+    }
+
+    /**
+     * 启动阶段耗时
+     * @param phase server / client / total
+     */
+    public Timer startupTime(String phase) {
+        return Timer.builder("bolt.startup")
+                .description("Bolt 服务端 / 客户端启动阶段耗时")
+                .tag("phase", phase)
+                .register(registry);
+    }
+
+    private void executorGauge(String name, String description, ThreadPoolTaskExecutor executor, String executorName,
+                               ToDoubleFunction<ThreadPoolExecutor> value) {
+        Gauge.builder(name, executor, e -> {
+                    try {
+                        return value.applyAsDouble(e.getThreadPoolExecutor());
+                    } catch (IllegalStateException notInitialized) {
+                        return 0;
+                    }
+                })
+                .description(description)
+                .tag("executor", executorName)
+                .register(registry);
+    }
+
+    /**
+     * 一次调用的计时，只记录一次结果
+     */
+    public class InvokeSample {
+
+        private final Tags tags;
+        private final AtomicInteger inFlightCounter;
+        private final long startNanos;
+        private final AtomicBoolean stopped = new AtomicBoolean();
+
+        InvokeSample(Tags tags, AtomicInteger inFlightCounter, long startNanos) {
+            this.tags = tags;
+            this.inFlightCounter = inFlightCounter;
+            this.startNanos = startNanos;
+        }
+
+        public void success() {
+            stop("success");
+        }
+
+        public void error(Throwable e) {
+            stop(isTimeout(e) ? "timeout" : "error");
+        }
+
+        public void cancel() {
+            stop("cancel");
+        }
+
+        private void stop(String outcome) {
+            if (!stopped.compareAndSet(false, true)) {
+                return;
+            }
+            inFlightCounter.decrementAndGet();
+            long elapsed = System.nanoTime() - startNanos;
+            Timer.builder("bolt.invoke")
+                    .description("RPC 调用延迟")
+                    .tags(tags)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(registry)
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public static boolean isTimeout(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof InvokeTimeoutException || t instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
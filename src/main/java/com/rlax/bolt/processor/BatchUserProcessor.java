@@ -0,0 +1,156 @@
+package com.rlax.bolt.processor;
+
+import com.alipay.remoting.AsyncContext;
+import com.alipay.remoting.BizContext;
+import com.alipay.remoting.rpc.protocol.AsyncUserProcessor;
+import com.alipay.remoting.rpc.protocol.UserProcessor;
+import com.rlax.bolt.executor.ExecutorOverloadException;
+import com.rlax.bolt.message.BatchItemError;
+import com.rlax.bolt.message.BatchRequest;
+import com.rlax.bolt.message.BatchResponse;
+import com.rlax.bolt.trace.TraceHeaders;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 批量请求处理器
+ * <p>
+ * 拆开 {@link BatchRequest}，按请求类型交给已有的 UserProcessor 逐个处理，
+ * 同步、异步处理器均支持，全部完成后一次性返回 {@link BatchResponse}。
+ * 每个请求与单发时一样交给处理器自己的线程池（{@link UserProcessor#getExecutor()}），受同样的过载策略约束，
+ * 被拒绝或被丢弃的请求在对应位置返回 {@link BatchItemError}；处理器没有线程池时在当前 Bolt 业务线程处理。
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Slf4j
+public class BatchUserProcessor extends AsyncUserProcessor<BatchRequest> {
+
+    private final Map<String, UserProcessor<?>> delegates = new HashMap<>();
+
+    public BatchUserProcessor(UserProcessor<?>... delegates) {
+        for (UserProcessor<?> delegate : delegates) {
+            this.delegates.put(delegate.interest(), delegate);
+        }
+    }
+
+    @Override
+    public void handleRequest(BizContext bizCtx, AsyncContext asyncCtx, BatchRequest request) {
+        // 链路头属于整个批次，不交给逐个处理的子请求
+        TraceHeaders.Received received = TraceHeaders.takeReceived();
+        long waitMillis = TraceHeaders.waitMillis(bizCtx.getInvokeContext());
+        List<Object> items = request.getItems();
+        int size = items == null ? 0 : items.size();
+        Object[] results = new Object[size];
+        AtomicInteger remaining = new AtomicInteger(size);
+        if (size == 0) {
+            TraceHeaders.responding(received, waitMillis);
+            asyncCtx.sendResponse(new BatchResponse(new ArrayList<>(Arrays.asList(results))));
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            int index = i;
+            dispatch(bizCtx, items.get(i), new ItemContext(result -> {
+                results[index] = result;
+                if (remaining.decrementAndGet() == 0) {
+                    TraceHeaders.responding(received, waitMillis);
+                    asyncCtx.sendResponse(new BatchResponse(new ArrayList<>(Arrays.asList(results))));
+                }
+            }));
+        }
+    }
+
+    private void dispatch(BizContext bizCtx, Object item, ItemContext itemCtx) {
+        UserProcessor<?> processor = item == null ? null : delegates.get(item.getClass().getName());
+        if (processor == null) {
+            itemCtx.sendResponse(new BatchItemError(new IllegalArgumentException("没有处理器可以处理请求: " + item)));
+            return;
+        }
+        Executor executor = processor.getExecutor();
+        if (executor == null) {
+            process(processor, bizCtx, item, itemCtx);
+            return;
+        }
+        try {
+            executor.execute(new ItemTask(() -> process(processor, bizCtx, item, itemCtx), itemCtx));
+        } catch (RejectedExecutionException e) {
+            log.warn("批量请求中的请求被拒绝：{}, {}", item, e.getMessage());
+            itemCtx.sendResponse(new BatchItemError(e));
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static void process(UserProcessor processor, BizContext bizCtx, Object item, ItemContext itemCtx) {
+        try {
+            if (processor instanceof AsyncUserProcessor) {
+                processor.handleRequest(bizCtx, itemCtx, item);
+            } else {
+                itemCtx.sendResponse(processor.handleRequest(bizCtx, item));
+            }
+        } catch (Exception e) {
+            log.error("批量请求中的请求处理失败：{}", item, e);
+            itemCtx.sendResponse(new BatchItemError(e));
+        }
+    }
+
+    @Override
+    public String interest() {
+        return BatchRequest.class.getName();
+    }
+
+    /**
+     * 单个请求的任务，被过载策略丢弃（取消）时同样应答对应位置
+     */
+    private static class ItemTask extends FutureTask<Void> {
+
+        private final ItemContext itemCtx;
+
+        ItemTask(Runnable runnable, ItemContext itemCtx) {
+            super(runnable, null);
+            this.itemCtx = itemCtx;
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled()) {
+                itemCtx.sendResponse(new BatchItemError(new ExecutorOverloadException("线程池过载，批量请求中的请求被丢弃")));
+            }
+        }
+    }
+
+    /**
+     * 单个请求的响应槽位，只接受第一次响应
+     */
+    @FunctionalInterface
+    private interface ItemResponder {
+        void respond(Object result);
+    }
+
+    private static class ItemContext implements AsyncContext {
+
+        private final ItemResponder responder;
+        private final AtomicBoolean sent = new AtomicBoolean();
+
+        ItemContext(ItemResponder responder) {
+            this.responder = responder;
+        }
+
+        @Override
+        public void sendResponse(Object responseObject) {
+            if (sent.compareAndSet(false, true)) {
+                responder.respond(responseObject instanceof ExceptionResponse
+                        ? new BatchItemError(((ExceptionResponse) responseObject).getCause()) : responseObject);
+            }
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.rlax.bolt.processor;
+
+import com.alipay.remoting.BizContext;
+import com.alipay.remoting.rpc.protocol.SyncUserProcessor;
+import com.rlax.bolt.message.ChunkFrame;
+import com.rlax.bolt.trace.TraceHeaders;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 分块流组装处理器
+ * <p>
+ * 接收 {@link ChunkFrame}，按流 id 组装，DATA 帧按序号重排后顺序交给 {@link ChunkSink}，
+ * END 帧校验帧数与字节数后返回 {@link ChunkSink#onComplete()} 的结果。
+ * 乱序等待的帧数超过上限、处理异常或发送方中止时流失败；新流打开时清理空闲超时的流。
+ * 子类实现 {@link #open(BizContext, ChunkFrame)} 决定每个流写到哪里。
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Slf4j
+public abstract class ChunkAssemblingUserProcessor extends SyncUserProcessor<ChunkFrame> {
+
+    private final ConcurrentMap<String, Assembly> streams = new ConcurrentHashMap<>();
+
+    /** 单个流乱序等待的最大帧数，应不小于发送方窗口 */
+    private final int maxPendingFrames;
+
+    /** 流空闲超时 */
+    private final long idleTimeoutMillis;
+
+    protected ChunkAssemblingUserProcessor() {
+        this(64, 60_000);
+    }
+
+    protected ChunkAssemblingUserProcessor(int maxPendingFrames, long idleTimeoutMillis) {
+        this.maxPendingFrames = maxPendingFrames;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    /**
+     * 打开一个流
+     * @param bizCtx 请求上下文
+     * @param open OPEN 帧，携带名称与总长度
+     */
+    protected abstract ChunkSink open(BizContext bizCtx, ChunkFrame open) throws Exception;
+
+    @Override
+    public Object handleRequest(BizContext bizCtx, ChunkFrame frame) throws Exception {
+        TraceHeaders.Received received = TraceHeaders.takeReceived();
+        Object result = handle(bizCtx, frame);
+        TraceHeaders.responding(received, TraceHeaders.waitMillis(bizCtx == null ? null : bizCtx.getInvokeContext()));
+        return result;
+    }
+
+    private Object handle(BizContext bizCtx, ChunkFrame frame) throws Exception {
+        String streamId = frame.getStreamId();
+        switch (frame.getType()) {
+            case OPEN:
+                expireIdle();
+                // 先占住流 id 再打开，重复的 OPEN 不会打开（截断）已有流的目标；打开完成前到达的帧在流锁上等待
+                Assembly assembly = new Assembly(streamId);
+                synchronized (assembly) {
+                    if (streams.putIfAbsent(streamId, assembly) != null) {
+                        throw new IllegalStateException("分块流重复打开: " + streamId);
+                    }
+                    try {
+                        assembly.sink = open(bizCtx, frame);
+                    } catch (Exception | Error e) {
+                        streams.remove(streamId, assembly);
+                        throw e;
+                    }
+                }
+                log.debug("分块流 {} 已打开: name={}, length={}", streamId, frame.getName(), frame.getLength());
+                return null;
+            case DATA:
+                try {
+                    assembly(streamId).accept(frame);
+                } catch (Exception e) {
+                    fail(streamId, e);
+                    throw e;
+                }
+                return null;
+            case END:
+                try {
+                    Object result = assembly(streamId).finish(frame);
+                    streams.remove(streamId);
+                    log.debug("分块流 {} 已完成: frames={}, length={}", streamId, frame.getSeq(), frame.getLength());
+                    return result;
+                } catch (Exception e) {
+                    fail(streamId, e);
+                    throw e;
+                }
+            case ABORT:
+                fail(streamId, new CancellationException("发送方中止分块流: " + streamId));
+                return null;
+            default:
+                throw new IllegalArgumentException("未知的分块帧类型: " + frame.getType());
+        }
+    }
+
+    public int activeStreams() {
+        return streams.size();
+    }
+
+    @Override
+    public String interest() {
+        return ChunkFrame.class.getName();
+    }
+
+    private Assembly assembly(String streamId) {
+        Assembly assembly = streams.get(streamId);
+        if (assembly == null) {
+            throw new IllegalStateException("分块流不存在或已失败: " + streamId);
+        }
+        return assembly;
+    }
+
+    private void fail(String streamId, Throwable e) {
+        Assembly assembly = streams.remove(streamId);
+        if (assembly != null) {
+            log.warn("分块流 {} 失败: {}", streamId, e.toString());
+            assembly.abort(e);
+        }
+    }
+
+    private void expireIdle() {
+        long deadline = System.currentTimeMillis() - idleTimeoutMillis;
+        for (Iterator<Map.Entry<String, Assembly>> it = streams.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<String, Assembly> entry = it.next();
+            if (entry.getValue().lastActiveMillis < deadline) {
+                it.remove();
+                log.warn("分块流 {} 空闲超时，已清理", entry.getKey());
+                entry.getValue().abort(new TimeoutException("分块流空闲超时: " + entry.getKey()));
+            }
+        }
+    }
+
+    /**
+     * 单个流的组装状态，方法均在流锁内执行
+     */
+    private class Assembly {
+
+        private final String streamId;
+        /** 打开完成前为 null */
+        private ChunkSink sink;
+        private final TreeMap<Integer, byte[]> pending = new TreeMap<>();
+        private int nextSeq;
+        private long bytes;
+        private volatile long lastActiveMillis = System.currentTimeMillis();
+
+        Assembly(String streamId) {
+            this.streamId = streamId;
+        }
+
+        synchronized void accept(ChunkFrame frame) throws Exception {
+            checkOpened();
+            lastActiveMillis = System.currentTimeMillis();
+            int seq = frame.getSeq();
+            if (seq < nextSeq || pending.containsKey(seq)) {
+                log.debug("分块流 {} 忽略重复帧: {}", streamId, seq);
+                return;
+            }
+            if (seq > nextSeq) {
+                if (pending.size() >= maxPendingFrames) {
+                    throw new IllegalStateException("分块流 " + streamId + " 乱序等待帧数超过上限: " + maxPendingFrames);
+                }
+                pending.put(seq, frame.getData());
+                return;
+            }
+            deliver(frame.getData());
+            byte[] next;
+            while ((next = pending.remove(nextSeq)) != null) {
+                deliver(next);
+            }
+        }
+
+        private void deliver(byte[] data) throws Exception {
+            if (data != null) {
+                sink.onChunk(data);
+                bytes += data.length;
+            }
+            nextSeq++;
+        }
+
+        private void checkOpened() {
+            if (sink == null) {
+                throw new IllegalStateException("分块流打开失败: " + streamId);
+            }
+        }
+
+        synchronized Object finish(ChunkFrame end) throws Exception {
+            checkOpened();
+            if (nextSeq != end.getSeq() || !pending.isEmpty()) {
+                throw new IllegalStateException("分块流 " + streamId + " 不完整: 期望 " + end.getSeq() + " 帧, 已接收 " + nextSeq
+                        + " 帧, 乱序等待 " + pending.size() + " 帧");
+            }
+            if (bytes != end.getLength()) {
+                throw new IllegalStateException("分块流 " + streamId + " 字节数不一致: 期望 " + end.getLength() + ", 已接收 " + bytes);
+            }
+            return sink.onComplete();
+        }
+
+        synchronized void abort(Throwable e) {
+            pending.clear();
+            if (sink == null) {
+                return;
+            }
+            try {
+                sink.onError(e);
+            } catch (RuntimeException ex) {
+                log.warn("分块流 {} 释放资源失败", streamId, ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.rlax.bolt.processor;
+
+/**
+ * 分块流的接收端，由 {@link ChunkAssemblingUserProcessor} 按序号顺序回调，同一个流的回调不会并发
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public interface ChunkSink {
+
+    /**
+     * 按顺序收到一个分块，抛出异常时整个流失败并回调 {@link #onError(Throwable)}
+     */
+    void onChunk(byte[] data) throws Exception;
+
+    /**
+     * 全部分块已收到
+     * @return 返回给发送方的结果
+     */
+    Object onComplete() throws Exception;
+
+    /**
+     * 流失败、被发送方中止或空闲超时，用于释放资源
+     */
+    void onError(Throwable e);
+}
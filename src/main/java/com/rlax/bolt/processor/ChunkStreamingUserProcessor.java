@@ -0,0 +1,52 @@
+package com.rlax.bolt.processor;
+
+import com.alipay.remoting.BizContext;
+import com.alipay.remoting.rpc.protocol.SyncUserProcessor;
+import com.rlax.bolt.invoke.chunk.ChunkStreamSender;
+import com.rlax.bolt.message.StreamRequest;
+import com.rlax.bolt.trace.TraceHeaders;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+
+/**
+ * 分块流回传处理器
+ * <p>
+ * 收到 {@link StreamRequest} 后立即应答，随后将 {@link #stream(BizContext, StreamRequest)} 的分块
+ * 经 {@link ChunkStreamSender} 在同一连接上发回中台。返回的 Flux 按发送窗口被请求，应惰性生成内容，
+ * 不要一次性生成整个结果。
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Slf4j
+public abstract class ChunkStreamingUserProcessor extends SyncUserProcessor<StreamRequest> {
+
+    private final ChunkStreamSender sender;
+
+    protected ChunkStreamingUserProcessor(ChunkStreamSender sender) {
+        this.sender = sender;
+    }
+
+    /**
+     * 生成回传内容，在 Bolt 业务线程上调用，不能阻塞
+     */
+    protected abstract Flux<byte[]> stream(BizContext bizCtx, StreamRequest request);
+
+    @Override
+    public Object handleRequest(BizContext bizCtx, StreamRequest request) throws Exception {
+        TraceHeaders.Received received = TraceHeaders.takeReceived();
+        if (request.getStreamId() == null || bizCtx.getConnection() == null) {
+            throw new IllegalArgumentException("无效的分块流请求: " + request);
+        }
+        Flux<byte[]> chunks = stream(bizCtx, request);
+        sender.send(bizCtx.getConnection(), request.getStreamId(), chunks)
+                .subscribe(null, e -> log.warn("分块流 {} 回传 {} 失败: {}", request.getStreamId(), request.getName(), e.toString()));
+        TraceHeaders.responding(received, TraceHeaders.waitMillis(bizCtx.getInvokeContext()));
+        return null;
+    }
+
+    @Override
+    public String interest() {
+        return StreamRequest.class.getName();
+    }
+}
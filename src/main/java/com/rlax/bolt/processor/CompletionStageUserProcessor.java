@@ -0,0 +1,32 @@
+package com.rlax.bolt.processor;
+
+import com.alipay.remoting.BizContext;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * 非阻塞用户处理器，处理结果为 {@link CompletionStage}
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ * @see NonBlockingUserProcessor
+ */
+public abstract class CompletionStageUserProcessor<T> extends NonBlockingUserProcessor<T> {
+
+    /**
+     * 处理请求
+     * @param bizCtx 业务上下文
+     * @param request 请求体
+     * @return 响应，完成值为 null 时响应 null
+     */
+    protected abstract CompletionStage<Object> handleAsync(BizContext bizCtx, T request);
+
+    @Override
+    protected final Mono<Object> handle(BizContext bizCtx, T request) {
+        return Mono.defer(() -> {
+            CompletionStage<Object> stage = handleAsync(bizCtx, request);
+            return stage == null ? Mono.empty() : Mono.fromCompletionStage(stage);
+        });
+    }
+}
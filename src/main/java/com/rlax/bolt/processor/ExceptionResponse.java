@@ -0,0 +1,30 @@
+package com.rlax.bolt.processor;
+
+/**
+ * 异步处理器的失败响应
+ * <p>
+ * {@link com.alipay.remoting.AsyncContext#sendResponse(Object)} 只能发送成功响应，
+ * 异步处理器以该对象作为响应时由 {@link ExceptionResponseCommandFactory} 改为 Bolt 的异常响应（SERVER_EXCEPTION），
+ * 调用方与同步处理器抛出异常时一样收到 {@link com.alipay.remoting.rpc.exception.InvokeServerException}。
+ * 该对象本身不会被序列化。
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public final class ExceptionResponse {
+
+    private final Throwable cause;
+
+    public ExceptionResponse(Throwable cause) {
+        this.cause = cause;
+    }
+
+    public Throwable getCause() {
+        return cause;
+    }
+
+    @Override
+    public String toString() {
+        return "ExceptionResponse{" + cause + "}";
+    }
+}
@@ -0,0 +1,57 @@
+package com.rlax.bolt.processor;
+
+import com.alipay.remoting.ProtocolCode;
+import com.alipay.remoting.ProtocolManager;
+import com.alipay.remoting.RemotingCommand;
+import com.alipay.remoting.rpc.RpcCommandFactory;
+import com.alipay.remoting.rpc.RpcRemoting;
+import com.alipay.remoting.rpc.protocol.RpcCommandCode;
+import com.alipay.remoting.rpc.protocol.RpcProtocol;
+import com.alipay.remoting.rpc.protocol.RpcProtocolV2;
+import com.alipay.remoting.rpc.protocol.RpcRequestProcessor;
+import com.alipay.remoting.rpc.protocol.RpcResponseCommand;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 支持 {@link ExceptionResponse} 的命令工厂
+ * <p>
+ * RpcAsyncContext 发送响应时经请求处理器的命令工厂创建响应命令，这里把 {@link ExceptionResponse}
+ * 创建为与同步处理器抛出异常时相同的 SERVER_EXCEPTION 响应，其余响应不变。
+ * 通过 {@link #install()} 替换 Bolt 协议的请求处理器生效。
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Slf4j
+public class ExceptionResponseCommandFactory extends RpcCommandFactory {
+
+    @Override
+    public RpcResponseCommand createResponse(Object responseObject, RemotingCommand requestCmd) {
+        if (!(responseObject instanceof ExceptionResponse)) {
+            return super.createResponse(responseObject, requestCmd);
+        }
+        RpcResponseCommand response = createExceptionResponse(requestCmd.getId(),
+                ((ExceptionResponse) responseObject).getCause(), "ASYNC process rpc request failed, id=" + requestCmd.getId());
+        response.setProtocolSwitch(requestCmd.getProtocolSwitch());
+        return response;
+    }
+
+    /**
+     * 以使用该工厂的请求处理器替换 Bolt 协议的默认请求处理器。
+     * 协议为全局静态注册，服务端与客户端共用，需在 BoltServer、RpcClient 启动前调用
+     */
+    public static void install() {
+        try {
+            // 协议在 RpcRemoting 类初始化时注册
+            Class.forName(RpcRemoting.class.getName(), true, RpcRemoting.class.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+        RpcRequestProcessor processor = new RpcRequestProcessor(new ExceptionResponseCommandFactory());
+        for (byte protocolCode : new byte[]{RpcProtocol.PROTOCOL_CODE, RpcProtocolV2.PROTOCOL_CODE}) {
+            ProtocolManager.getProtocol(ProtocolCode.fromBytes(protocolCode)).getCommandHandler()
+                    .registerProcessor(RpcCommandCode.RPC_REQUEST, processor);
+        }
+        log.info("Bolt 请求处理器已替换，异步处理器支持异常响应");
+    }
+}
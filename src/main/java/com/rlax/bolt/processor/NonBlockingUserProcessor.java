@@ -0,0 +1,97 @@
+package com.rlax.bolt.processor;
+
+import com.alipay.remoting.AsyncContext;
+import com.alipay.remoting.BizContext;
+import com.alipay.remoting.rpc.exception.InvokeServerException;
+import com.alipay.remoting.rpc.protocol.AsyncUserProcessor;
+import com.rlax.bolt.deadline.Deadline;
+import com.rlax.bolt.message.RequestBody;
+import com.rlax.bolt.trace.TraceContext;
+import com.rlax.bolt.trace.TraceHeaders;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 非阻塞用户处理器
+ * <p>
+ * 子类返回 {@link Mono}，完成时自动调用 {@link AsyncContext#sendResponse(Object)}，
+ * 等待期间不占用任何线程；处理失败时以 {@link ExceptionResponse} 发送 Bolt 异常响应，
+ * 调用方与同步处理器抛出异常时一样收到 {@link InvokeServerException}。调用方带有超时时间时按 {@link Deadline#of(BizContext)} 还原截止时间：
+ * 在队列中等待已过截止时间的请求直接丢弃，不调用 handle；否则截止时间放入 handle 返回 Mono 的 Reactor Context
+ * （子类以 {@link Deadline#from(reactor.util.context.ContextView)} 读取），超过后不再等待结果。
+ * 请求头中的链路 id 放入 handle 返回 Mono 的 Reactor Context（key 为 {@link TraceContext#CONTEXT_KEY}），站级耗时随响应头回传。
+ * 响应发送后释放请求中的 ByteBuf body（见 {@link RequestBody#getBodyBuffer()}），handle 返回的 Mono 完成后不应再访问它。
+ * handle 方法本身运行在 Bolt 业务线程上，不能阻塞。
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Slf4j
+public abstract class NonBlockingUserProcessor<T> extends AsyncUserProcessor<T> {
+
+    /**
+     * 处理请求
+     * @param bizCtx 业务上下文
+     * @param request 请求体
+     * @return 响应，为空时响应 null
+     */
+    protected abstract Mono<Object> handle(BizContext bizCtx, T request);
+
+    @Override
+    public final void handleRequest(BizContext bizCtx, AsyncContext asyncCtx, T request) {
+        TraceHeaders.Received received = TraceHeaders.takeReceived();
+        String traceId = received == null ? null : received.getTraceId();
+        Deadline deadline = Deadline.of(bizCtx);
+        if (deadline != null && deadline.isExpired()) {
+            // 在队列中等待已超过调用方超时，调用方不再等待结果，直接丢弃
+            log.debug("来自 {} 的请求已过截止时间，不再处理：{}", bizCtx.getRemoteAddress(), request);
+            RequestBody.release(request);
+            return;
+        }
+        Mono<Object> response;
+        try {
+            response = handle(bizCtx, request);
+        } catch (Exception e) {
+            response = Mono.error(e);
+        }
+        if (response == null) {
+            response = Mono.empty();
+        }
+        if (deadline != null) {
+            response = response.timeout(Duration.ofMillis(Math.max(1, deadline.remainingMillis())))
+                    .contextWrite(Context.of(Deadline.CONTEXT_KEY, deadline));
+        }
+        if (traceId != null) {
+            response = response.contextWrite(Context.of(TraceContext.CONTEXT_KEY, new TraceContext(traceId)));
+        }
+        long waitMillis = TraceHeaders.waitMillis(bizCtx.getInvokeContext());
+        response.materialize().subscribe(signal -> {
+            TraceHeaders.responding(received, waitMillis);
+            try {
+                if (signal.isOnNext()) {
+                    asyncCtx.sendResponse(signal.get());
+                } else if (signal.isOnError()) {
+                    asyncCtx.sendResponse(toExceptionResponse(bizCtx, request, signal.getThrowable()));
+                } else {
+                    asyncCtx.sendResponse(null);
+                }
+            } finally {
+                RequestBody.release(request);
+            }
+        });
+    }
+
+    private ExceptionResponse toExceptionResponse(BizContext bizCtx, T request, Throwable e) {
+        if (e instanceof TimeoutException) {
+            log.warn("处理来自 {} 的请求超时：{}", bizCtx.getRemoteAddress(), request);
+        } else {
+            log.error("处理来自 {} 的请求失败：{}", bizCtx.getRemoteAddress(), request, e);
+        }
+        // Bolt 只回传异常类型、信息与堆栈，业务异常类不需要在调用方反序列化
+        return new ExceptionResponse(e);
+    }
+}
@@ -0,0 +1,116 @@
+package com.rlax.bolt.serialization;
+
+import com.alipay.remoting.InvokeContext;
+import com.alipay.remoting.exception.CodecException;
+import com.alipay.remoting.exception.DeserializationException;
+import com.alipay.remoting.exception.SerializationException;
+import com.alipay.remoting.rpc.RequestCommand;
+import com.alipay.remoting.rpc.protocol.RpcRequestCommand;
+import com.alipay.remoting.serialization.Serializer;
+import com.alipay.remoting.serialization.SerializerManager;
+import com.rlax.bolt.message.BatchRequest;
+import com.rlax.bolt.message.RequestBody;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@link BatchRequest} 自定义序列化器，RequestBody 子请求与单发时一样按 {@link RequestBodyCodec} 编码，其余子请求按 Hessian 编码
+ * <p>
+ * 布局：version(1B) | 子请求数(varint) | 每个子请求：类型(1B，0 Hessian / 1 RequestBody) | 长度(varint) | 内容。
+ * 与 {@link RequestBodySerializer} 一同注册，两端需保持一致；子请求不超过微批大小上限，不再压缩。
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public class BatchRequestSerializer extends TraceHeaderSerializer {
+
+    /** 布局版本 */
+    public static final byte VERSION = 1;
+
+    private static final byte ITEM_HESSIAN = 0;
+    private static final byte ITEM_REQUEST_BODY = 1;
+
+    @Override
+    public <T extends RequestCommand> boolean serializeContent(T request, InvokeContext invokeContext)
+            throws SerializationException {
+        RpcRequestCommand command = (RpcRequestCommand) request;
+        try {
+            command.setContent(encode((BatchRequest) command.getRequestObject()));
+        } catch (CodecException | RuntimeException e) {
+            throw new SerializationException("BatchRequest 编码失败, id=" + command.getId(), e);
+        }
+        return true;
+    }
+
+    @Override
+    public <T extends RequestCommand> boolean deserializeContent(T request) throws DeserializationException {
+        RpcRequestCommand command = (RpcRequestCommand) request;
+        try {
+            command.setRequestObject(decode(command.getContent()));
+        } catch (CodecException | RuntimeException e) {
+            throw new DeserializationException("BatchRequest 解码失败, id=" + command.getId(), e);
+        }
+        return true;
+    }
+
+    static byte[] encode(BatchRequest batch) throws CodecException {
+        List<Object> items = batch.getItems() == null ? Collections.emptyList() : batch.getItems();
+        Serializer hessian = SerializerManager.getSerializer(SerializerManager.Hessian2);
+        byte[][] encoded = new byte[items.size()][];
+        int size = 1 + RequestBodyCodec.varIntSize(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            Object item = items.get(i);
+            encoded[i] = item instanceof RequestBody ? RequestBodyCodec.encode((RequestBody) item) : hessian.serialize(item);
+            size += 1 + RequestBodyCodec.varIntSize(encoded[i].length) + encoded[i].length;
+        }
+        byte[] content = new byte[size];
+        ByteBuf out = Unpooled.wrappedBuffer(content);
+        out.writerIndex(0);
+        out.writeByte(VERSION);
+        RequestBodyCodec.writeVarInt(out, items.size());
+        for (int i = 0; i < items.size(); i++) {
+            out.writeByte(items.get(i) instanceof RequestBody ? ITEM_REQUEST_BODY : ITEM_HESSIAN);
+            RequestBodyCodec.writeVarInt(out, encoded[i].length);
+            out.writeBytes(encoded[i]);
+        }
+        return content;
+    }
+
+    static BatchRequest decode(byte[] content) throws CodecException {
+        ByteBuf in = Unpooled.wrappedBuffer(content);
+        byte version = in.readByte();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("不支持的 BatchRequest 编码版本: " + version);
+        }
+        int count = RequestBodyCodec.readVarInt(in);
+        if (count < 0) {
+            throw new IllegalArgumentException("子请求数非法: " + count);
+        }
+        // 每个子请求至少 2 字节，按剩余字节数约束预分配，不信任线上的数量
+        List<Object> items = new ArrayList<>(Math.min(count, in.readableBytes() / 2));
+        Serializer hessian = SerializerManager.getSerializer(SerializerManager.Hessian2);
+        for (int i = 0; i < count; i++) {
+            byte type = in.readByte();
+            int length = RequestBodyCodec.readVarInt(in);
+            if (length < 0 || length > in.readableBytes()) {
+                throw new IllegalArgumentException("子请求长度 " + length + " 超过剩余字节数 " + in.readableBytes());
+            }
+            byte[] item = new byte[length];
+            in.readBytes(item);
+            if (type == ITEM_REQUEST_BODY) {
+                items.add(RequestBodyCodec.decode(item));
+            } else if (type == ITEM_HESSIAN) {
+                items.add(hessian.deserialize(item, Object.class.getName()));
+            } else {
+                throw new IllegalArgumentException("不支持的子请求类型: " + type);
+            }
+        }
+        BatchRequest batch = new BatchRequest();
+        batch.setItems(items);
+        return batch;
+    }
+}
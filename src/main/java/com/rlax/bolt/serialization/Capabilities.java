@@ -0,0 +1,36 @@
+package com.rlax.bolt.serialization;
+
+import com.alipay.remoting.Connection;
+
+/**
+ * 连接能力协商
+ * <p>
+ * 站级客户端注册时上报本端能力，服务端记录在连接上并在应答中回复服务端能力，客户端同样记录在连接上。
+ * 发送方只有在对端声明支持时才使用对应能力，未完成协商的连接按不支持处理。
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public final class Capabilities {
+
+    /** 支持 LZ4 压缩的请求内容 */
+    public static final int COMPRESSION_LZ4 = 1;
+
+    /** Connection 属性：对端能力 */
+    public static final String PEER_CAPABILITIES = "peerCapabilities";
+
+    private Capabilities() {
+    }
+
+    public static void setPeer(Connection connection, int capabilities) {
+        connection.setAttribute(PEER_CAPABILITIES, capabilities);
+    }
+
+    /**
+     * 对端是否声明了该能力，连接为 null 或尚未协商时为 false
+     */
+    public static boolean peerSupports(Connection connection, int capability) {
+        Object capabilities = connection == null ? null : connection.getAttribute(PEER_CAPABILITIES);
+        return capabilities instanceof Integer && ((Integer) capabilities & capability) != 0;
+    }
+}
@@ -0,0 +1,22 @@
+package com.rlax.bolt.serialization;
+
+import lombok.Data;
+
+/**
+ * 请求内容压缩配置
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Data
+public class CompressionOptions {
+
+    /** 是否开启，关闭后不再向对端声明支持压缩，但仍能解压对端发来的压缩内容 */
+    private boolean enabled = true;
+
+    /** 编码后超过该字节数才压缩，小报文走不压缩的原路径 */
+    private int thresholdBytes = 4096;
+
+    /** 解压后的最大字节数，超过时拒绝，不按线上声明的原始长度分配内存 */
+    private int maxDecompressedBytes = 64 * 1024 * 1024;
+}
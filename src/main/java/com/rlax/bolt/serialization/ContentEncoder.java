@@ -0,0 +1,22 @@
+package com.rlax.bolt.serialization;
+
+import com.alipay.remoting.exception.CodecException;
+
+/**
+ * 能够脱离 Bolt 命令单独编码请求内容的自定义序列化器，
+ * 用于 {@link com.rlax.bolt.message.PreSerializedRequest} 预序列化时与对端解码方式保持一致
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public interface ContentEncoder {
+
+    byte[] encode(Object request) throws CodecException;
+
+    /**
+     * 压缩编码后的内容，对端声明支持压缩时使用，默认不压缩
+     */
+    default byte[] compress(byte[] content) {
+        return content;
+    }
+}
@@ -0,0 +1,40 @@
+package com.rlax.bolt.serialization;
+
+import com.alipay.remoting.CommandCode;
+import com.alipay.remoting.CustomSerializer;
+import com.alipay.remoting.CustomSerializerManager;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 自定义序列化器注册
+ * <p>
+ * CustomSerializerManager 为全局静态注册表，重复注册会抛出异常，这里按类型 / 命令码幂等注册。
+ * 需在 BoltServer、RpcClient 启动前完成。
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Slf4j
+public class CustomSerializerRegistrar {
+
+    public synchronized void register(String className, CustomSerializer serializer) {
+        if (CustomSerializerManager.getCustomSerializer(className) != null) {
+            log.warn("类型 {} 已注册自定义序列化器，忽略: {}", className, serializer);
+            return;
+        }
+        CustomSerializerManager.registerCustomSerializer(className, serializer);
+        log.info("类型 {} 注册自定义序列化器: {}", className, serializer.getClass().getSimpleName());
+    }
+
+    /**
+     * 按命令码注册，作用于没有类型级序列化器的请求或响应
+     */
+    public synchronized void register(CommandCode code, CustomSerializer serializer) {
+        if (CustomSerializerManager.getCustomSerializer(code) != null) {
+            log.warn("命令码 {} 已注册自定义序列化器，忽略: {}", code, serializer);
+            return;
+        }
+        CustomSerializerManager.registerCustomSerializer(code, serializer);
+        log.info("命令码 {} 注册自定义序列化器: {}", code, serializer.getClass().getSimpleName());
+    }
+}
@@ -0,0 +1,163 @@
+package com.rlax.bolt.serialization;
+
+import com.alipay.remoting.InvokeContext;
+import com.rlax.bolt.metrics.BoltMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 请求内容压缩
+ * <p>
+ * 压缩后布局：flag(1B，0x80) | 原始长度(4B) | LZ4 block。
+ * {@link RequestBodyCodec} 的版本字节最高位为 0，据首字节区分是否压缩，未压缩的内容保持原样，不增加任何字节。
+ * 低于阈值或压缩后没有变小的内容原样发送。压缩与否由发送方根据对端能力决定（见 {@link Capabilities}），
+ * 解压总是可用。
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public class PayloadCompressor {
+
+    public static final byte FLAG_LZ4 = (byte) 0x80;
+
+    /** InvokeContext：对端支持压缩，由调用方根据连接能力写入 */
+    public static final String PEER_ACCEPTS = "rlax.compression.accepts";
+
+    private static final int HEADER_LENGTH = 5;
+
+    /** LZ4 block 的最大压缩比，每个压缩字节最多还原约 255 字节 */
+    private static final int LZ4_MAX_RATIO = 255;
+
+    private static final LZ4Factory LZ4 = LZ4Factory.fastestInstance();
+
+    private final boolean enabled;
+    private final int thresholdBytes;
+    private final int maxDecompressedBytes;
+    private final LZ4Compressor compressor = LZ4.fastCompressor();
+    private final LZ4SafeDecompressor decompressor = LZ4.safeDecompressor();
+
+    private final Timer compressTime;
+    private final Timer decompressTime;
+    private final DistributionSummary ratio;
+    private final Counter rawBytes;
+    private final Counter compressedBytes;
+    private final Counter skipped;
+
+    public PayloadCompressor(CompressionOptions options, BoltMetrics metrics) {
+        this.enabled = options.isEnabled();
+        this.thresholdBytes = options.getThresholdBytes();
+        this.maxDecompressedBytes = options.getMaxDecompressedBytes();
+        this.compressTime = metrics.compressionTime("compress");
+        this.decompressTime = metrics.compressionTime("decompress");
+        this.ratio = metrics.compressionRatio();
+        this.rawBytes = metrics.compressionBytes("raw");
+        this.compressedBytes = metrics.compressionBytes("compressed");
+        this.skipped = metrics.compressionSkipped();
+    }
+
+    /**
+     * 不压缩、只解压的实例
+     */
+    public static PayloadCompressor disabled() {
+        CompressionOptions options = new CompressionOptions();
+        options.setEnabled(false);
+        return new PayloadCompressor(options, BoltMetrics.NOOP);
+    }
+
+    /**
+     * 本端声明的能力
+     */
+    public int capabilities() {
+        return enabled ? Capabilities.COMPRESSION_LZ4 : 0;
+    }
+
+    /**
+     * @return 压缩后的内容；未开启、低于阈值或压缩后没有变小时返回原数组
+     */
+    public byte[] compress(byte[] content) {
+        if (!enabled || content == null || content.length < thresholdBytes) {
+            return content;
+        }
+        long start = System.nanoTime();
+        byte[] out = new byte[HEADER_LENGTH + compressor.maxCompressedLength(content.length)];
+        int length = compressor.compress(content, 0, content.length, out, HEADER_LENGTH);
+        compressTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (HEADER_LENGTH + length >= content.length) {
+            skipped.increment();
+            return content;
+        }
+        out[0] = FLAG_LZ4;
+        writeInt(out, 1, content.length);
+        byte[] compressed = new byte[HEADER_LENGTH + length];
+        System.arraycopy(out, 0, compressed, 0, compressed.length);
+        rawBytes.increment(content.length);
+        compressedBytes.increment(compressed.length);
+        ratio.record(content.length / (double) compressed.length);
+        return compressed;
+    }
+
+    /**
+     * 调用方是否标记了对端支持压缩
+     */
+    public static boolean peerAccepts(InvokeContext invokeContext) {
+        return invokeContext != null && Boolean.TRUE.equals(invokeContext.get(PEER_ACCEPTS));
+    }
+
+    public static boolean isCompressed(byte[] content) {
+        return content != null && content.length >= HEADER_LENGTH && content[0] == FLAG_LZ4;
+    }
+
+    /**
+     * @return 解压后的内容，未压缩时返回原数组
+     * @throws IllegalArgumentException 内容损坏，或原始长度超过上限
+     */
+    public byte[] decompress(byte[] content) {
+        if (!isCompressed(content)) {
+            return content;
+        }
+        long start = System.nanoTime();
+        int rawLength = readInt(content, 1);
+        if (rawLength < 0) {
+            throw new IllegalArgumentException("压缩内容原始长度非法: " + rawLength);
+        }
+        // 原始长度来自线上，分配前按配置上限与压缩后长度可能还原的上限校验
+        long bound = Math.min(maxDecompressedBytes, (long) (content.length - HEADER_LENGTH) * LZ4_MAX_RATIO);
+        if (rawLength > bound) {
+            throw new IllegalArgumentException("压缩内容原始长度 " + rawLength + " 超过上限 " + bound);
+        }
+        byte[] raw = new byte[rawLength];
+        try {
+            int length = decompressor.decompress(content, HEADER_LENGTH, content.length - HEADER_LENGTH, raw, 0, rawLength);
+            if (length != rawLength) {
+                throw new IllegalArgumentException("压缩内容长度不匹配, 期望 " + rawLength + ", 实际 " + length);
+            }
+        } catch (LZ4Exception e) {
+            throw new IllegalArgumentException("压缩内容损坏", e);
+        }
+        decompressTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return raw;
+    }
+
+    private static void writeInt(byte[] out, int offset, int value) {
+        out[offset] = (byte) (value >>> 24);
+        out[offset + 1] = (byte) (value >>> 16);
+        out[offset + 2] = (byte) (value >>> 8);
+        out[offset + 3] = (byte) value;
+    }
+
+    private static int readInt(byte[] in, int offset) {
+        return (in[offset] & 0xFF) << 24 | (in[offset + 1] & 0xFF) << 16 | (in[offset + 2] & 0xFF) << 8 | in[offset + 3] & 0xFF;
+    }
+
+    @Override
+    public String toString() {
+        return "PayloadCompressor(enabled=" + enabled + ", thresholdBytes=" + thresholdBytes + ")";
+    }
+}
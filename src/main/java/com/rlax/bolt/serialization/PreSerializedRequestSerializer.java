@@ -0,0 +1,28 @@
+package com.rlax.bolt.serialization;
+
+import com.alipay.remoting.InvokeContext;
+import com.alipay.remoting.exception.SerializationException;
+import com.alipay.remoting.rpc.RequestCommand;
+import com.alipay.remoting.rpc.protocol.RpcRequestCommand;
+import com.rlax.bolt.message.PreSerializedRequest;
+
+/**
+ * 预序列化请求的序列化器，直接写入已序列化的字节，并将 clazz 还原为原始请求类型；对端支持时写入压缩后的字节
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public class PreSerializedRequestSerializer extends TraceHeaderSerializer {
+
+    @Override
+    public <T extends RequestCommand> boolean serializeContent(T request, InvokeContext invokeContext)
+            throws SerializationException {
+        RpcRequestCommand command = (RpcRequestCommand) request;
+        PreSerializedRequest preSerialized = (PreSerializedRequest) command.getRequestObject();
+        command.setRequestClass(preSerialized.getTargetClass());
+        command.setClazz(preSerialized.getTargetClassBytes());
+        command.setSerializer(preSerialized.getSerializer());
+        command.setContent(preSerialized.contentFor(PayloadCompressor.peerAccepts(invokeContext)));
+        return true;
+    }
+}
@@ -0,0 +1,210 @@
+package com.rlax.bolt.serialization;
+
+import com.rlax.bolt.message.RequestBody;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link RequestBody} 二进制编解码
+ * <p>
+ * 固定布局：version(1B) | id(zigzag varint) | msg | traceId | body，
+ * 字符串为 UTF-8，长度前缀为 varint(length + 1)，0 表示 null；body 为原始字节。
+ * 编码前先算出精确长度，只分配一次目标数组，直接按 ByteBuf 写入，不经过中间缓冲。
+ * body 可以是 byte[] 或零拷贝的 {@link RequestBody#getBodyBuffer()}，两者布局相同；
+ * 解码时可以让 body 为输入的零拷贝视图（retainedSlice），不再为每个请求复制出 byte[]。
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public final class RequestBodyCodec {
+
+    /** 布局版本 */
+    public static final byte VERSION = 1;
+
+    private RequestBodyCodec() {
+    }
+
+    /**
+     * 编码后的精确字节数
+     */
+    public static int encodedSize(RequestBody body) {
+        return 1 + varIntSize(zigZag(body.getId()))
+                + stringSize(body.getMsg())
+                + stringSize(body.getTraceId())
+                + (body.getBodyBuffer() != null ? bufferSize(body.getBodyBuffer()) : bytesSize(body.getBody()));
+    }
+
+    public static byte[] encode(RequestBody body) {
+        byte[] content = new byte[encodedSize(body)];
+        ByteBuf out = Unpooled.wrappedBuffer(content);
+        out.writerIndex(0);
+        encode(body, out);
+        return content;
+    }
+
+    public static void encode(RequestBody body, ByteBuf out) {
+        out.writeByte(VERSION);
+        writeVarInt(out, zigZag(body.getId()));
+        writeString(out, body.getMsg());
+        writeString(out, body.getTraceId());
+        if (body.getBodyBuffer() != null) {
+            writeBuffer(out, body.getBodyBuffer());
+        } else {
+            writeBytes(out, body.getBody());
+        }
+    }
+
+    public static RequestBody decode(byte[] content) {
+        return decode(Unpooled.wrappedBuffer(content));
+    }
+
+    public static RequestBody decode(ByteBuf in) {
+        return decode(in, false);
+    }
+
+    /**
+     * @param bufferBody 为 true 时 body 为 in 的零拷贝视图，持有 in 的一个引用，由调用方在处理完成后 {@link RequestBody#release()}
+     */
+    public static RequestBody decode(ByteBuf in, boolean bufferBody) {
+        byte version = in.readByte();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("不支持的 RequestBody 编码版本: " + version);
+        }
+        RequestBody body = new RequestBody();
+        body.setId(unZigZag(readVarInt(in)));
+        body.setMsg(readString(in));
+        body.setTraceId(readString(in));
+        if (bufferBody) {
+            body.setBodyBuffer(readBuffer(in));
+        } else {
+            body.setBody(readBytes(in));
+        }
+        return body;
+    }
+
+    // ~~~ varint
+
+    static int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    static int unZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    static int varIntSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    static void writeVarInt(ByteBuf out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    static int readVarInt(ByteBuf in) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("varint 超出 int 范围");
+    }
+
+    // ~~~ length-prefixed fields, 前缀为 length + 1，0 表示 null
+
+    private static int stringSize(String value) {
+        if (value == null) {
+            return 1;
+        }
+        int length = ByteBufUtil.utf8Bytes(value);
+        return varIntSize(length + 1) + length;
+    }
+
+    private static void writeString(ByteBuf out, String value) {
+        if (value == null) {
+            out.writeByte(0);
+            return;
+        }
+        writeVarInt(out, ByteBufUtil.utf8Bytes(value) + 1);
+        ByteBufUtil.writeUtf8(out, value);
+    }
+
+    private static String readString(ByteBuf in) {
+        int length = readVarInt(in) - 1;
+        if (length < 0) {
+            return null;
+        }
+        checkLength(in, length, "字符串");
+        return in.readCharSequence(length, StandardCharsets.UTF_8).toString();
+    }
+
+    private static int bytesSize(byte[] value) {
+        return value == null ? 1 : varIntSize(value.length + 1) + value.length;
+    }
+
+    private static void writeBytes(ByteBuf out, byte[] value) {
+        if (value == null) {
+            out.writeByte(0);
+            return;
+        }
+        writeVarInt(out, value.length + 1);
+        out.writeBytes(value);
+    }
+
+    private static int bufferSize(ByteBuf value) {
+        return varIntSize(value.readableBytes() + 1) + value.readableBytes();
+    }
+
+    /**
+     * 不改变 value 的 readerIndex，同一 buffer 可重复编码
+     */
+    private static void writeBuffer(ByteBuf out, ByteBuf value) {
+        writeVarInt(out, value.readableBytes() + 1);
+        out.writeBytes(value, value.readerIndex(), value.readableBytes());
+    }
+
+    private static ByteBuf readBuffer(ByteBuf in) {
+        int length = readVarInt(in) - 1;
+        if (length < 0) {
+            return null;
+        }
+        checkLength(in, length, "body");
+        ByteBuf value = in.retainedSlice(in.readerIndex(), length);
+        in.skipBytes(length);
+        return value;
+    }
+
+    private static byte[] readBytes(ByteBuf in) {
+        int length = readVarInt(in) - 1;
+        if (length < 0) {
+            return null;
+        }
+        checkLength(in, length, "body");
+        byte[] value = new byte[length];
+        in.readBytes(value);
+        return value;
+    }
+
+    /**
+     * 长度来自线上字节，先校验再分配，避免畸形报文触发超大数组
+     */
+    private static void checkLength(ByteBuf in, int length, String field) {
+        if (length > in.readableBytes()) {
+            throw new IndexOutOfBoundsException(field + " 长度 " + length + " 超过剩余字节数 " + in.readableBytes());
+        }
+    }
+}
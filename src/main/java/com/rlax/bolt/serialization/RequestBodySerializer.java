@@ -0,0 +1,74 @@
+package com.rlax.bolt.serialization;
+
+import com.alipay.remoting.InvokeContext;
+import com.alipay.remoting.exception.CodecException;
+import com.alipay.remoting.exception.DeserializationException;
+import com.alipay.remoting.exception.SerializationException;
+import com.alipay.remoting.rpc.RequestCommand;
+import com.alipay.remoting.rpc.protocol.RpcRequestCommand;
+import com.rlax.bolt.message.RequestBody;
+import io.netty.buffer.Unpooled;
+
+/**
+ * {@link RequestBody} 自定义序列化器，替代默认的 Hessian 序列化，编码见 {@link RequestBodyCodec}；请求头携带链路信息。
+ * 对端支持时超过阈值的内容按 {@link PayloadCompressor} 压缩，解码时总是识别压缩内容；
+ * 开启 bufferBody 时 body 为请求内容的零拷贝视图，见 {@link RequestBody#getBodyBuffer()}
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public class RequestBodySerializer extends TraceHeaderSerializer implements ContentEncoder {
+
+    private final PayloadCompressor compressor;
+
+    /** body 是否解码为 ByteBuf 视图，为 false 时解码为 byte[] */
+    private final boolean bufferBody;
+
+    public RequestBodySerializer() {
+        this(PayloadCompressor.disabled(), false);
+    }
+
+    public RequestBodySerializer(PayloadCompressor compressor, boolean bufferBody) {
+        this.compressor = compressor;
+        this.bufferBody = bufferBody;
+    }
+
+    @Override
+    public <T extends RequestCommand> boolean serializeContent(T request, InvokeContext invokeContext)
+            throws SerializationException {
+        RpcRequestCommand command = (RpcRequestCommand) request;
+        try {
+            byte[] content = RequestBodyCodec.encode((RequestBody) command.getRequestObject());
+            command.setContent(PayloadCompressor.peerAccepts(invokeContext) ? compressor.compress(content) : content);
+        } catch (RuntimeException e) {
+            throw new SerializationException("RequestBody 编码失败, id=" + command.getId(), e);
+        }
+        return true;
+    }
+
+    @Override
+    public <T extends RequestCommand> boolean deserializeContent(T request) throws DeserializationException {
+        RpcRequestCommand command = (RpcRequestCommand) request;
+        try {
+            command.setRequestObject(RequestBodyCodec.decode(Unpooled.wrappedBuffer(compressor.decompress(command.getContent())),
+                    bufferBody));
+        } catch (RuntimeException e) {
+            throw new DeserializationException("RequestBody 解码失败, id=" + command.getId(), e);
+        }
+        return true;
+    }
+
+    @Override
+    public byte[] encode(Object request) throws CodecException {
+        try {
+            return RequestBodyCodec.encode((RequestBody) request);
+        } catch (RuntimeException e) {
+            throw new CodecException("RequestBody 编码失败", e);
+        }
+    }
+
+    @Override
+    public byte[] compress(byte[] content) {
+        return compressor.compress(content);
+    }
+}
@@ -0,0 +1,65 @@
+package com.rlax.bolt.serialization;
+
+import com.alipay.remoting.DefaultCustomSerializer;
+import com.alipay.remoting.InvokeContext;
+import com.alipay.remoting.exception.DeserializationException;
+import com.alipay.remoting.exception.SerializationException;
+import com.alipay.remoting.rpc.RequestCommand;
+import com.alipay.remoting.rpc.ResponseCommand;
+import com.alipay.remoting.rpc.protocol.RpcRequestCommand;
+import com.alipay.remoting.rpc.protocol.RpcResponseCommand;
+import com.rlax.bolt.trace.TraceHeaders;
+
+/**
+ * 链路头序列化器
+ * <p>
+ * 只处理请求 / 响应头，内容仍走默认序列化。按命令码注册时作用于所有没有类型级序列化器的请求与响应，
+ * 类型级序列化器继承该类以同样携带链路头。
+ * 请求总是写入请求头（traceId 可以为空），站级据此在每个请求上重置 ThreadLocal。
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public class TraceHeaderSerializer extends DefaultCustomSerializer {
+
+    @Override
+    public <T extends RequestCommand> boolean serializeHeader(T request, InvokeContext invokeContext)
+            throws SerializationException {
+        Object traceId = invokeContext == null ? null : invokeContext.get(TraceHeaders.TRACE_ID);
+        ((RpcRequestCommand) request).setHeader(TraceHeaders.encodeRequest(traceId == null ? null : traceId.toString()));
+        return true;
+    }
+
+    @Override
+    public <T extends RequestCommand> boolean deserializeHeader(T request) throws DeserializationException {
+        String traceId = TraceHeaders.decodeRequest(((RpcRequestCommand) request).getHeader());
+        TraceHeaders.received(traceId);
+        ((RpcRequestCommand) request).setRequestHeader(traceId);
+        return true;
+    }
+
+    @Override
+    public <T extends ResponseCommand> boolean serializeHeader(T response) throws SerializationException {
+        long[] timing = TraceHeaders.takeResponding();
+        if (timing == null) {
+            return false;
+        }
+        ((RpcResponseCommand) response).setHeader(TraceHeaders.encodeResponse(timing[0], timing[1]));
+        return true;
+    }
+
+    @Override
+    public <T extends ResponseCommand> boolean deserializeHeader(T response, InvokeContext invokeContext)
+            throws DeserializationException {
+        if (invokeContext == null) {
+            return false;
+        }
+        invokeContext.put(TraceHeaders.RESPONSE_DECODED_NANOS, System.nanoTime());
+        long[] timing = TraceHeaders.decodeResponse(((RpcResponseCommand) response).getHeader());
+        if (timing != null) {
+            invokeContext.put(TraceHeaders.STATION_WAIT_MILLIS, timing[0]);
+            invokeContext.put(TraceHeaders.STATION_PROCESS_NANOS, timing[1]);
+        }
+        return true;
+    }
+}
@@ -16,8 +16,11 @@
  */
 package com.rlax.bolt.server;
 
+import com.alipay.remoting.CommandCode;
 import com.alipay.remoting.ConnectionEventProcessor;
 import com.alipay.remoting.ConnectionEventType;
+import com.alipay.remoting.RemotingProcessor;
+import com.alipay.remoting.rpc.RpcRemoting;
 import com.alipay.remoting.rpc.RpcServer;
 import com.alipay.remoting.rpc.protocol.UserProcessor;
 
@@ -70,4 +73,17 @@ public class BoltServer {
                                             ConnectionEventProcessor processor) {
         this.server.addConnectionEventProcessor(type, processor);
     }
+
+    /**
+     * 注册命令处理器，可在启动前调用。
+     * Bolt 协议在 RpcRemoting 类初始化时注册，启动前协议可能尚不存在，此处先触发其初始化
+     */
+    public void registerProcessor(byte protocolCode, CommandCode cmd, RemotingProcessor<?> processor) {
+        try {
+            Class.forName(RpcRemoting.class.getName(), true, RpcRemoting.class.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+        this.server.registerProcessor(protocolCode, cmd, processor);
+    }
 }
@@ -0,0 +1,30 @@
+package com.rlax.bolt.server.breaker;
+
+import lombok.Data;
+
+/**
+ * 站级熔断参数
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Data
+public class CircuitBreakerOptions {
+
+    private boolean enabled = true;
+
+    /** 统计最近多少次调用的结果 */
+    private int windowSize = 20;
+
+    /** 窗口内至少有该数量的调用才计算失败率 */
+    private int minimumCalls = 10;
+
+    /** 超时与异常占比达到该百分比时熔断 */
+    private int failureRateThreshold = 50;
+
+    /** 熔断时长，到期后进入半开 */
+    private long openMillis = 10000;
+
+    /** 半开时放行的探测调用数，全部成功后恢复，任一失败重新熔断 */
+    private int halfOpenPermits = 3;
+}
@@ -0,0 +1,18 @@
+package com.rlax.bolt.server.breaker;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 站级已熔断，调用未发出即失败
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public class CircuitOpenException extends RejectedExecutionException {
+
+    private static final long serialVersionUID = -4410738176358236172L;
+
+    public CircuitOpenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,19 @@
+package com.rlax.bolt.server.breaker;
+
+/**
+ * 熔断状态
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public enum CircuitState {
+
+    /** 正常放行，统计失败率 */
+    CLOSED,
+
+    /** 熔断中，调用直接失败 */
+    OPEN,
+
+    /** 放行有限的探测调用 */
+    HALF_OPEN
+}
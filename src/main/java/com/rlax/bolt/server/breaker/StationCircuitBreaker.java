@@ -0,0 +1,178 @@
+package com.rlax.bolt.server.breaker;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 单个站级的熔断器
+ * <p>
+ * CLOSED 时按最近 windowSize 次调用统计失败率，调用数不少于 minimumCalls 且失败率达到阈值时熔断；
+ * OPEN 持续 openMillis，期间调用直接失败；到期后的第一次调用进入 HALF_OPEN，最多放行 halfOpenPermits 个探测调用，
+ * 全部成功后恢复 CLOSED，任一失败重新熔断。
+ * 每次状态变化后，之前发起的调用结束时不再计入统计，熔断前挂住的调用不会影响半开探测。
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+final class StationCircuitBreaker {
+
+    /**
+     * 状态变化通知，在熔断器锁内调用，不能阻塞
+     */
+    interface TransitionListener {
+
+        void onTransition(String stationId, CircuitState from, CircuitState to);
+    }
+
+    private final String stationId;
+    private final CircuitBreakerOptions options;
+    private final TransitionListener listener;
+
+    /** 以下字段由 this 保护 */
+    private final boolean[] window;
+    private int index;
+    private int calls;
+    private int failures;
+    private CircuitState state = CircuitState.CLOSED;
+    /** 每次状态变化加一，用于识别变化前发起的调用 */
+    private long generation;
+    private long openUntilNanos;
+    private int probesInFlight;
+    private int probeSuccesses;
+
+    StationCircuitBreaker(String stationId, CircuitBreakerOptions options, TransitionListener listener) {
+        this.stationId = stationId;
+        this.options = options;
+        this.listener = listener;
+        this.window = new boolean[Math.max(1, options.getWindowSize())];
+    }
+
+    String getStationId() {
+        return stationId;
+    }
+
+    synchronized CircuitState getState() {
+        return state;
+    }
+
+    /**
+     * 放行时返回本次调用，熔断中或半开探测已满时返回 null
+     */
+    synchronized Call tryAcquire(long now) {
+        if (state == CircuitState.OPEN) {
+            if (now - openUntilNanos < 0) {
+                return null;
+            }
+            transition(CircuitState.HALF_OPEN);
+        }
+        if (state == CircuitState.HALF_OPEN) {
+            if (probesInFlight + probeSuccesses >= Math.max(1, options.getHalfOpenPermits())) {
+                return null;
+            }
+            probesInFlight++;
+        }
+        return new Call(generation);
+    }
+
+    private synchronized void onSuccess(Call call) {
+        if (call.generation != generation) {
+            return;
+        }
+        if (state == CircuitState.HALF_OPEN) {
+            probesInFlight--;
+            if (++probeSuccesses >= Math.max(1, options.getHalfOpenPermits())) {
+                transition(CircuitState.CLOSED);
+            }
+            return;
+        }
+        record(false);
+    }
+
+    private synchronized void onFailure(Call call, long now) {
+        if (call.generation != generation) {
+            return;
+        }
+        if (state == CircuitState.HALF_OPEN) {
+            open(now);
+            return;
+        }
+        record(true);
+        if (calls >= Math.max(1, options.getMinimumCalls()) && failures * 100 >= options.getFailureRateThreshold() * calls) {
+            open(now);
+        }
+    }
+
+    private synchronized void onIgnore(Call call) {
+        if (call.generation == generation && state == CircuitState.HALF_OPEN) {
+            probesInFlight--;
+        }
+    }
+
+    private void record(boolean failed) {
+        if (calls == window.length) {
+            if (window[index]) {
+                failures--;
+            }
+        } else {
+            calls++;
+        }
+        window[index] = failed;
+        if (failed) {
+            failures++;
+        }
+        index = (index + 1) % window.length;
+    }
+
+    private void open(long now) {
+        openUntilNanos = now + TimeUnit.MILLISECONDS.toNanos(options.getOpenMillis());
+        transition(CircuitState.OPEN);
+    }
+
+    private void transition(CircuitState to) {
+        CircuitState from = state;
+        state = to;
+        generation++;
+        probesInFlight = 0;
+        probeSuccesses = 0;
+        if (to == CircuitState.CLOSED) {
+            index = 0;
+            calls = 0;
+            failures = 0;
+        }
+        listener.onTransition(stationId, from, to);
+    }
+
+    /**
+     * 一次放行的调用，只结束一次
+     */
+    final class Call {
+
+        private final long generation;
+        private final AtomicBoolean ended = new AtomicBoolean();
+
+        Call(long generation) {
+            this.generation = generation;
+        }
+
+        void success() {
+            if (ended.compareAndSet(false, true)) {
+                onSuccess(this);
+            }
+        }
+
+        void failure(long now) {
+            if (ended.compareAndSet(false, true)) {
+                onFailure(this, now);
+            }
+        }
+
+        /**
+         * 取消或没有发出的调用，不计入统计
+         */
+        void ignore() {
+            if (ended.compareAndSet(false, true)) {
+                onIgnore(this);
+            }
+        }
+    }
+}
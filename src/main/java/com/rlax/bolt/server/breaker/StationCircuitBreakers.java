@@ -0,0 +1,142 @@
+package com.rlax.bolt.server.breaker;
+
+import com.alipay.remoting.rpc.exception.InvokeServerException;
+import com.rlax.bolt.deadline.DeadlineExceededException;
+import com.rlax.bolt.metrics.BoltMetrics;
+import com.rlax.bolt.server.limit.ConcurrencyLimitExceededException;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+/**
+ * 中台调用站级客户端的熔断
+ * <p>
+ * 按站级 id 各一个 {@link StationCircuitBreaker}，站级重连后仍沿用原来的状态。
+ * 超时与连接异常计为失败；站级回传的业务异常说明站级仍在处理请求，计为成功；
+ * 并发上限拒绝、发起前已过截止时间与取消的调用没有到达站级，不计入。
+ * 熔断中的调用以 {@link CircuitOpenException} 立即失败，不再等满调用超时占用 HTTP 连接与回调。
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Slf4j
+public class StationCircuitBreakers {
+
+    private final CircuitBreakerOptions options;
+    private final BoltMetrics metrics;
+    private final LongSupplier clock;
+
+    private final ConcurrentMap<String, StationCircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    public StationCircuitBreakers(CircuitBreakerOptions options, BoltMetrics metrics) {
+        this(options, metrics, System::nanoTime);
+    }
+
+    StationCircuitBreakers(CircuitBreakerOptions options, BoltMetrics metrics, LongSupplier clock) {
+        this.options = options;
+        this.metrics = metrics;
+        this.clock = clock;
+        if (options.isEnabled()) {
+            metrics.monitorCircuitBreakers(this);
+            log.info("站级熔断已开启：{}", options);
+        }
+    }
+
+    /**
+     * 站级未熔断时订阅 invoke 并记录结果，熔断中直接失败
+     * @param stationId 站级 id，为 null 时不熔断
+     */
+    public <T> Mono<T> protect(String stationId, Mono<T> invoke) {
+        if (!options.isEnabled() || stationId == null) {
+            return invoke;
+        }
+        return Mono.defer(() -> {
+            StationCircuitBreaker.Call call = breaker(stationId).tryAcquire(clock.getAsLong());
+            if (call == null) {
+                metrics.circuitBreakerRejected(stationId).increment();
+                return Mono.error(new CircuitOpenException("站级客户端 " + stationId + " 已熔断"));
+            }
+            return invoke.doOnSuccess(result -> call.success())
+                    .doOnError(e -> {
+                        if (isNotSent(e)) {
+                            call.ignore();
+                        } else if (isBusinessError(e)) {
+                            call.success();
+                        } else {
+                            call.failure(clock.getAsLong());
+                        }
+                    })
+                    .doOnCancel(call::ignore);
+        });
+    }
+
+    /**
+     * 站级熔断状态，没有调用记录时为 CLOSED
+     */
+    public CircuitState state(String stationId) {
+        StationCircuitBreaker breaker = stationId == null ? null : breakers.get(stationId);
+        return breaker == null ? CircuitState.CLOSED : breaker.getState();
+    }
+
+    /**
+     * 各站级熔断状态，按站级 id 排序
+     */
+    public Map<String, CircuitState> snapshot() {
+        Map<String, CircuitState> states = new TreeMap<>();
+        breakers.forEach((stationId, breaker) -> states.put(stationId, breaker.getState()));
+        return states;
+    }
+
+    /**
+     * 处于该状态的站级数
+     */
+    public int count(CircuitState state) {
+        int count = 0;
+        for (StationCircuitBreaker breaker : breakers.values()) {
+            if (breaker.getState() == state) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private StationCircuitBreaker breaker(String stationId) {
+        StationCircuitBreaker breaker = breakers.get(stationId);
+        if (breaker == null) {
+            breaker = breakers.computeIfAbsent(stationId, id -> new StationCircuitBreaker(id, options, this::onTransition));
+        }
+        return breaker;
+    }
+
+    private void onTransition(String stationId, CircuitState from, CircuitState to) {
+        metrics.circuitBreakerTransition(stationId, to).increment();
+        if (to == CircuitState.OPEN) {
+            log.warn("站级客户端 {} 熔断 {}ms（{} -> {}）", stationId, options.getOpenMillis(), from, to);
+        } else {
+            log.info("站级客户端 {} 熔断状态 {} -> {}", stationId, from, to);
+        }
+    }
+
+    private static boolean isNotSent(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof ConcurrencyLimitExceededException || t instanceof DeadlineExceededException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isBusinessError(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof InvokeServerException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,27 @@
+package com.rlax.bolt.server.broadcast;
+
+import lombok.Data;
+
+/**
+ * 广播参数
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Data
+public class BroadcastOptions {
+
+    /** 同时在途的站级调用上限 */
+    private int maxInFlight = 64;
+
+    /** 单站超时时间 */
+    private int timeoutMillis = 3000;
+
+    public BroadcastOptions() {
+    }
+
+    public BroadcastOptions(int maxInFlight, int timeoutMillis) {
+        this.maxInFlight = maxInFlight;
+        this.timeoutMillis = timeoutMillis;
+    }
+}
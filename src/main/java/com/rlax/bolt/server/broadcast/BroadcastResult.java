@@ -0,0 +1,46 @@
+package com.rlax.bolt.server.broadcast;
+
+import lombok.Data;
+
+/**
+ * 单个站级客户端的广播结果，失败不影响其它站
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Data
+public class BroadcastResult {
+
+    /** 站级业务 id */
+    private String stationId;
+
+    /** 是否成功 */
+    private boolean success;
+
+    /** 站级客户端响应 */
+    private Object response;
+
+    /** 失败原因 */
+    private String error;
+
+    /** 耗时 */
+    private long costMillis;
+
+    public static BroadcastResult success(String stationId, Object response, long costMillis) {
+        BroadcastResult result = new BroadcastResult();
+        result.setStationId(stationId);
+        result.setSuccess(true);
+        result.setResponse(response);
+        result.setCostMillis(costMillis);
+        return result;
+    }
+
+    public static BroadcastResult failure(String stationId, Throwable e, long costMillis) {
+        BroadcastResult result = new BroadcastResult();
+        result.setStationId(stationId);
+        result.setSuccess(false);
+        result.setError(e.getClass().getSimpleName() + ": " + e.getMessage());
+        result.setCostMillis(costMillis);
+        return result;
+    }
+}
@@ -0,0 +1,78 @@
+package com.rlax.bolt.server.broadcast;
+
+import com.alipay.remoting.Connection;
+import com.alipay.remoting.exception.CodecException;
+import com.rlax.bolt.invoke.ReactiveBoltInvoker;
+import com.rlax.bolt.message.PreSerializedRequest;
+import com.rlax.bolt.server.registry.StationRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * 站级广播 / 组播
+ * <p>
+ * 请求只序列化一次，所有连接复用同一份字节；按 maxInFlight 限制并发，
+ * 每个站的结果（含失败）以 {@link Flux} 逐个推送。
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Slf4j
+public class StationBroadcaster {
+
+    private final StationRegistry stationRegistry;
+    private final ReactiveBoltInvoker reactiveBoltInvoker;
+
+    public StationBroadcaster(StationRegistry stationRegistry, ReactiveBoltInvoker reactiveBoltInvoker) {
+        this.stationRegistry = stationRegistry;
+        this.reactiveBoltInvoker = reactiveBoltInvoker;
+    }
+
+    /**
+     * 广播到全部已注册的站级客户端
+     */
+    public Flux<BroadcastResult> broadcast(Object request, BroadcastOptions options) {
+        return multicast(request, stationId -> true, options);
+    }
+
+    /**
+     * 组播到满足条件的站级客户端
+     * @param request 请求体
+     * @param stationFilter 站级 id 过滤条件
+     * @param options 并发与超时参数
+     * @return 各站结果
+     */
+    public Flux<BroadcastResult> multicast(Object request, Predicate<String> stationFilter, BroadcastOptions options) {
+        return Flux.defer(() -> {
+            PreSerializedRequest payload;
+            try {
+                payload = PreSerializedRequest.of(request);
+            } catch (CodecException e) {
+                return Flux.error(e);
+            }
+            log.info("广播请求：{}, 在途上限: {}, 单站超时: {}ms", payload, options.getMaxInFlight(), options.getTimeoutMillis());
+            return Flux.fromIterable(stationRegistry.stationIds())
+                    .filter(stationFilter)
+                    .flatMap(stationId -> invokeStation(stationId, payload, options.getTimeoutMillis()), options.getMaxInFlight());
+        });
+    }
+
+    private Mono<BroadcastResult> invokeStation(String stationId, PreSerializedRequest payload, int timeoutMillis) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            Connection connection = stationRegistry.get(stationId);
+            return reactiveBoltInvoker.invoke(connection, payload, timeoutMillis)
+                    .map(response -> BroadcastResult.success(stationId, response, costMillis(start)))
+                    .switchIfEmpty(Mono.fromSupplier(() -> BroadcastResult.success(stationId, null, costMillis(start))))
+                    .onErrorResume(e -> Mono.just(BroadcastResult.failure(stationId, e, costMillis(start))));
+        });
+    }
+
+    private static long costMillis(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
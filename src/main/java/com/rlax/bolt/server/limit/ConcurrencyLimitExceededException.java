@@ -0,0 +1,18 @@
+package com.rlax.bolt.server.limit;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 站级连接在途调用达到并发上限，调用未发出即被拒绝
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public class ConcurrencyLimitExceededException extends RejectedExecutionException {
+
+    private static final long serialVersionUID = 6075339386651254720L;
+
+    public ConcurrencyLimitExceededException(String message) {
+        super(message);
+    }
+}
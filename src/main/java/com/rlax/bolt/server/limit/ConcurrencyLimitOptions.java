@@ -0,0 +1,40 @@
+package com.rlax.bolt.server.limit;
+
+import lombok.Data;
+
+/**
+ * 站级连接自适应并发上限参数
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Data
+public class ConcurrencyLimitOptions {
+
+    private boolean enabled = true;
+
+    /** 新连接的初始上限 */
+    private int initialLimit = 20;
+
+    private int minLimit = 2;
+
+    private int maxLimit = 500;
+
+    /** 短期 RTT 不超过长期 RTT 的该倍数时视为没有排队，上限继续增长 */
+    private double rttTolerance = 1.5;
+
+    /** 长期 RTT 的平滑窗口（样本数） */
+    private int longWindow = 600;
+
+    /** 每个样本对上限的调整权重 */
+    private double smoothing = 0.2;
+
+    /** 调用超时时上限乘以该系数 */
+    private double backoffRatio = 0.9;
+
+    /** 超过上限时每个连接最多排队的请求数，为 0 时直接拒绝 */
+    private int maxQueueSize = 50;
+
+    /** 排队等待上限，超过后拒绝 */
+    private long maxQueueWaitMillis = 50;
+}
@@ -0,0 +1,235 @@
+package com.rlax.bolt.server.limit;
+
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * 单个站级连接的并发上限，按梯度算法随 RTT 调整
+ * <p>
+ * 长期 RTT 为样本的指数平滑，代表没有排队时的延迟；梯度 = 容忍倍数 × 长期 RTT / 本次 RTT，限定在 [0.5, 1]。
+ * 新上限 = 上限 × 梯度 + √上限，再按权重平滑：延迟稳定时缓慢增长，站级开始排队、延迟上升时随之收缩。
+ * 在途不足上限一半时调用方本身流量不大，样本不调整上限；调用超时时上限按系数收缩。
+ * 长期 RTT 远高于本次 RTT 时逐步回落，站级恢复后上限可以重新增长。
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+final class ConnectionLimiter {
+
+    private static final int WAITING = 0;
+    private static final int GRANTED = 1;
+    private static final int CANCELLED = 2;
+
+    private final ConcurrencyLimitOptions options;
+    private final LongSupplier clock;
+    private final double longAlpha;
+
+    /** 以下字段由 this 保护 */
+    private double limit;
+    private int inFlight;
+    private double longRttNanos = -1;
+    private final ArrayDeque<Waiter> queue = new ArrayDeque<>();
+    private boolean closed;
+
+    ConnectionLimiter(ConcurrencyLimitOptions options, LongSupplier clock) {
+        this.options = options;
+        this.clock = clock;
+        this.longAlpha = 2.0 / (Math.max(1, options.getLongWindow()) + 1);
+        this.limit = clamp(options.getInitialLimit());
+    }
+
+    synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    synchronized int getQueued() {
+        return queue.size();
+    }
+
+    /**
+     * 未达上限且没有排队时取得许可，否则返回 null
+     */
+    synchronized Permit tryAcquire() {
+        if (closed || inFlight >= (int) limit || !queue.isEmpty()) {
+            return null;
+        }
+        return newPermit();
+    }
+
+    /**
+     * 取得许可；达到上限时排队，队列已满时返回 false
+     */
+    boolean acquire(MonoSink<Permit> sink) {
+        Permit permit = null;
+        Waiter waiter = null;
+        synchronized (this) {
+            if (!closed && inFlight < (int) limit && queue.isEmpty()) {
+                permit = newPermit();
+            } else if (closed || queue.size() >= options.getMaxQueueSize()) {
+                return false;
+            } else {
+                waiter = new Waiter(sink);
+                queue.addLast(waiter);
+            }
+        }
+        // 在锁外交出许可，订阅方会随即发起调用
+        if (permit != null) {
+            sink.success(permit);
+            return true;
+        }
+        Waiter queued = waiter;
+        sink.onCancel(() -> cancel(queued));
+        return true;
+    }
+
+    /**
+     * 连接关闭，排队中的请求以 error 结束
+     */
+    void close(Throwable error) {
+        List<Waiter> waiters;
+        synchronized (this) {
+            closed = true;
+            waiters = new ArrayList<>(queue);
+            queue.clear();
+        }
+        for (Waiter waiter : waiters) {
+            if (waiter.state.compareAndSet(WAITING, CANCELLED)) {
+                waiter.sink.error(error);
+            }
+        }
+    }
+
+    private Permit newPermit() {
+        inFlight++;
+        return new Permit(inFlight, clock.getAsLong());
+    }
+
+    private void cancel(Waiter waiter) {
+        if (waiter.state.compareAndSet(WAITING, CANCELLED)) {
+            synchronized (this) {
+                queue.remove(waiter);
+            }
+            return;
+        }
+        // 许可已交出但订阅方已取消，归还
+        Permit permit = waiter.permit;
+        if (permit != null) {
+            permit.ignore();
+        }
+    }
+
+    private void release(Permit permit, long rttNanos, boolean dropped) {
+        List<Waiter> granted = null;
+        synchronized (this) {
+            inFlight--;
+            if (dropped) {
+                limit = clamp(limit * options.getBackoffRatio());
+            } else if (rttNanos > 0) {
+                sample(rttNanos, permit.inFlight);
+            }
+            while (!closed && inFlight < (int) limit && !queue.isEmpty()) {
+                Waiter waiter = queue.pollFirst();
+                waiter.permit = newPermit();
+                if (waiter.state.compareAndSet(WAITING, GRANTED)) {
+                    if (granted == null) {
+                        granted = new ArrayList<>();
+                    }
+                    granted.add(waiter);
+                } else {
+                    inFlight--;
+                }
+            }
+        }
+        if (granted != null) {
+            for (Waiter waiter : granted) {
+                waiter.sink.success(waiter.permit);
+            }
+        }
+    }
+
+    private void sample(long rttNanos, int inFlightAtStart) {
+        double rtt = rttNanos;
+        if (longRttNanos < 0) {
+            longRttNanos = rtt;
+        } else {
+            longRttNanos += (rtt - longRttNanos) * longAlpha;
+        }
+        if (longRttNanos > rtt * 2) {
+            longRttNanos *= 0.95;
+        }
+        if (inFlightAtStart < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, options.getRttTolerance() * longRttNanos / rtt));
+        double target = limit * gradient + Math.sqrt(limit);
+        limit = clamp(limit * (1 - options.getSmoothing()) + target * options.getSmoothing());
+    }
+
+    private double clamp(double value) {
+        return Math.max(options.getMinLimit(), Math.min(options.getMaxLimit(), value));
+    }
+
+    /**
+     * 一次调用占用的许可，只归还一次
+     */
+    final class Permit {
+
+        /** 取得许可时的在途数，含本次 */
+        private final int inFlight;
+        private final long startNanos;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Permit(int inFlight, long startNanos) {
+            this.inFlight = inFlight;
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * 调用成功，RTT 参与上限调整
+         */
+        void success() {
+            if (released.compareAndSet(false, true)) {
+                release(this, clock.getAsLong() - startNanos, false);
+            }
+        }
+
+        /**
+         * 调用超时，上限收缩
+         */
+        void dropped() {
+            if (released.compareAndSet(false, true)) {
+                release(this, 0, true);
+            }
+        }
+
+        /**
+         * 取消或与站级负载无关的失败，只归还许可
+         */
+        void ignore() {
+            if (released.compareAndSet(false, true)) {
+                release(this, 0, false);
+            }
+        }
+    }
+
+    private static final class Waiter {
+
+        final MonoSink<Permit> sink;
+        final AtomicInteger state = new AtomicInteger(WAITING);
+        volatile Permit permit;
+
+        Waiter(MonoSink<Permit> sink) {
+            this.sink = sink;
+        }
+    }
+}
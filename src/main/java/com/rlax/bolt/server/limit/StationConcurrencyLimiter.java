@@ -0,0 +1,202 @@
+package com.rlax.bolt.server.limit;
+
+import com.alipay.remoting.Connection;
+import com.alipay.remoting.exception.RemotingException;
+import com.rlax.bolt.deadline.DeadlineExceededException;
+import com.rlax.bolt.metrics.BoltMetrics;
+import com.rlax.bolt.server.registry.StationRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * 中台调用站级客户端的自适应并发上限
+ * <p>
+ * 每个站级连接一个 {@link ConnectionLimiter}，挂在 {@link Connection} 属性上，上限随该连接的调用 RTT 调整。
+ * 达到上限的调用短暂排队，队列已满或等待超时时以 {@link ConcurrencyLimitExceededException} 快速失败，不发出请求；
+ * 慢的站级只会占满自己的上限，不再拖慢其他站级的调用。
+ * 调用超时时上限收缩；业务异常、连接不可用、发起前已过截止时间与取消只归还许可。
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Slf4j
+public class StationConcurrencyLimiter {
+
+    /** Connection 属性：并发上限 */
+    public static final String LIMITER = "concurrencyLimiter";
+
+    private static final String REASON_QUEUE_FULL = "queue_full";
+    private static final String REASON_QUEUE_TIMEOUT = "queue_timeout";
+
+    private final ConcurrencyLimitOptions options;
+    private final BoltMetrics metrics;
+    private final LongSupplier clock;
+
+    private final ConcurrentMap<Connection, ConnectionLimiter> limiters = new ConcurrentHashMap<>();
+    /** 已注册指标的站级 id */
+    private final Set<String> monitored = ConcurrentHashMap.newKeySet();
+
+    public StationConcurrencyLimiter(ConcurrencyLimitOptions options, BoltMetrics metrics) {
+        this(options, metrics, System::nanoTime);
+    }
+
+    StationConcurrencyLimiter(ConcurrencyLimitOptions options, BoltMetrics metrics, LongSupplier clock) {
+        this.options = options;
+        this.metrics = metrics;
+        this.clock = clock;
+        if (options.isEnabled()) {
+            log.info("站级连接自适应并发上限已开启：{}", options);
+        }
+    }
+
+    /**
+     * 取得连接的许可后再订阅 invoke，invoke 结束时归还
+     */
+    public <T> Mono<T> limit(Connection connection, Mono<T> invoke) {
+        if (!options.isEnabled() || connection == null) {
+            return invoke;
+        }
+        return Mono.defer(() -> {
+            ConnectionLimiter limiter = limiter(connection);
+            return acquire(limiter, connection).flatMap(permit -> invoke
+                    .doOnSuccess(result -> permit.success())
+                    .doOnError(e -> release(permit, e))
+                    .doOnCancel(permit::ignore));
+        });
+    }
+
+    private Mono<ConnectionLimiter.Permit> acquire(ConnectionLimiter limiter, Connection connection) {
+        ConnectionLimiter.Permit permit = limiter.tryAcquire();
+        if (permit != null) {
+            return Mono.just(permit);
+        }
+        Mono<ConnectionLimiter.Permit> queued = Mono.create(sink -> {
+            if (!limiter.acquire(sink)) {
+                sink.error(rejected(connection, limiter, REASON_QUEUE_FULL));
+            }
+        });
+        return queued.timeout(Duration.ofMillis(options.getMaxQueueWaitMillis()),
+                Mono.defer(() -> Mono.error(rejected(connection, limiter, REASON_QUEUE_TIMEOUT))));
+    }
+
+    private ConcurrencyLimitExceededException rejected(Connection connection, ConnectionLimiter limiter, String reason) {
+        String stationId = StationRegistry.stationIdOf(connection);
+        metrics.concurrencyLimitRejected(stationId, reason).increment();
+        return new ConcurrencyLimitExceededException("站级客户端 " + stationId + " 达到并发上限 " + limiter.getLimit()
+                + "（" + reason + "）: " + connection);
+    }
+
+    /**
+     * 只有调用超时说明站级过载；业务异常说明站级正常处理了请求，连接异常与站级负载无关
+     */
+    private static void release(ConnectionLimiter.Permit permit, Throwable e) {
+        if (BoltMetrics.isTimeout(e) && !isDeadlineExceeded(e)) {
+            permit.dropped();
+        } else {
+            permit.ignore();
+        }
+    }
+
+    /**
+     * 发起前已过截止时间，请求没有发出
+     */
+    private static boolean isDeadlineExceeded(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof DeadlineExceededException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 连接关闭后移除，排队中的调用以连接不可用结束
+     */
+    public void remove(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        ConnectionLimiter limiter = limiters.remove(connection);
+        if (limiter != null) {
+            limiter.close(new RemotingException("站级客户端连接已关闭: " + connection));
+        }
+        // 站级的连接全部关闭后，重连时重新注册指标
+        String stationId = StationRegistry.stationIdOf(connection);
+        if (stationId != null && !hasConnection(stationId)) {
+            monitored.remove(stationId);
+        }
+    }
+
+    private boolean hasConnection(String stationId) {
+        for (Connection connection : limiters.keySet()) {
+            if (stationId.equals(StationRegistry.stationIdOf(connection))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 站级 id 的连接上限合计，stationId 为 null 时为全部连接合计
+     */
+    public int totalLimit(String stationId) {
+        return sum(stationId, ConnectionLimiter::getLimit);
+    }
+
+    public int totalInFlight(String stationId) {
+        return sum(stationId, ConnectionLimiter::getInFlight);
+    }
+
+    public int totalQueued(String stationId) {
+        return sum(stationId, ConnectionLimiter::getQueued);
+    }
+
+    /**
+     * 单个连接的当前上限，没有记录时为初始上限
+     */
+    public int currentLimit(Connection connection) {
+        ConnectionLimiter limiter = find(connection);
+        return limiter == null ? options.getInitialLimit() : limiter.getLimit();
+    }
+
+    public int size() {
+        return limiters.size();
+    }
+
+    private int sum(String stationId, ToIntFunction<ConnectionLimiter> value) {
+        int sum = 0;
+        for (Map.Entry<Connection, ConnectionLimiter> e : limiters.entrySet()) {
+            if (stationId == null || stationId.equals(StationRegistry.stationIdOf(e.getKey()))) {
+                sum += value.applyAsInt(e.getValue());
+            }
+        }
+        return sum;
+    }
+
+    private ConnectionLimiter find(Connection connection) {
+        return connection == null ? null : (ConnectionLimiter) connection.getAttribute(LIMITER);
+    }
+
+    private ConnectionLimiter limiter(Connection connection) {
+        ConnectionLimiter limiter = find(connection);
+        if (limiter == null) {
+            ConnectionLimiter created = new ConnectionLimiter(options, clock);
+            Object existing = connection.setAttributeIfAbsent(LIMITER, created);
+            limiter = existing == null ? created : (ConnectionLimiter) existing;
+            limiters.putIfAbsent(connection, limiter);
+            String stationId = StationRegistry.stationIdOf(connection);
+            if (stationId != null && monitored.add(stationId)) {
+                metrics.monitorConcurrencyLimit(this, stationId);
+            }
+        }
+        return limiter;
+    }
+}
@@ -0,0 +1,244 @@
+package com.rlax.bolt.server.liveness;
+
+import com.alipay.remoting.Connection;
+import com.rlax.bolt.server.registry.StationRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 连接存活表
+ * <p>
+ * 每个连接一条记录，挂在 {@link Connection} 属性上，心跳处理只做一次属性读取与几次原子写入，不分配对象、不打日志。
+ * 记录最后往来时间、心跳次数与调用往返时间的平滑估计（同 TCP SRTT，权重 1/8），
+ * 丢失心跳次数按距最后往来的时间折算。Bolt 客户端只在连接空闲时发送心跳，
+ * 因此业务请求与调用响应同样刷新最后往来时间。
+ * 逐条心跳不再输出日志，改为按固定间隔输出一条汇总。
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Slf4j
+public class ConnectionLiveness {
+
+    /** Connection 属性：存活记录 */
+    public static final String LIVENESS = "liveness";
+
+    private final LivenessOptions options;
+
+    private final ConcurrentMap<Connection, Slot> slots = new ConcurrentHashMap<>();
+
+    /** 上次汇总以来收到的心跳数 */
+    private final LongAdder heartbeats = new LongAdder();
+
+    private ScheduledExecutorService scheduler;
+
+    public ConnectionLiveness() {
+        this(new LivenessOptions());
+    }
+
+    public ConnectionLiveness(LivenessOptions options) {
+        this.options = options;
+    }
+
+    /**
+     * 开始定期输出汇总日志
+     */
+    public synchronized void start() {
+        if (scheduler != null || options.getSummaryIntervalSeconds() <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "liveness-summary");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = options.getSummaryIntervalSeconds();
+        scheduler.scheduleAtFixedRate(this::logSummary, interval, interval, TimeUnit.SECONDS);
+    }
+
+    public synchronized void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * 收到心跳
+     */
+    public void heartbeat(Connection connection) {
+        Slot slot = slot(connection);
+        slot.lastSeenMillis = System.currentTimeMillis();
+        slot.heartbeats.incrementAndGet();
+        heartbeats.increment();
+    }
+
+    /**
+     * 收到业务请求或注册等往来
+     */
+    public void touch(Connection connection) {
+        slot(connection).lastSeenMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * 记录一次调用往返时间
+     */
+    public void recordRtt(Connection connection, long rttNanos) {
+        Slot slot = slot(connection);
+        slot.lastSeenMillis = System.currentTimeMillis();
+        long sample = TimeUnit.NANOSECONDS.toMicros(rttNanos);
+        long srtt = slot.rttMicros;
+        // 并发写入可能丢失个别样本，对平滑估计没有影响
+        slot.rttMicros = srtt < 0 ? sample : srtt + ((sample - srtt) >> 3);
+    }
+
+    /**
+     * 连接关闭后移除记录
+     */
+    public void remove(Connection connection) {
+        if (connection != null) {
+            slots.remove(connection);
+        }
+    }
+
+    public LivenessState state(Connection connection) {
+        Slot slot = find(connection);
+        if (slot == null) {
+            // 尚未有任何往来，不影响路由
+            return LivenessState.LIVE;
+        }
+        return state(missed(slot, System.currentTimeMillis()));
+    }
+
+    /**
+     * 丢失心跳次数，没有记录时为 0
+     */
+    public long missed(Connection connection) {
+        Slot slot = find(connection);
+        return slot == null ? 0 : missed(slot, System.currentTimeMillis());
+    }
+
+    /**
+     * 调用往返时间平滑估计（微秒），没有样本时为 -1
+     */
+    public long rttMicros(Connection connection) {
+        Slot slot = find(connection);
+        return slot == null ? -1 : slot.rttMicros;
+    }
+
+    /**
+     * 最后往来时间戳，没有记录时为 0
+     */
+    public long lastSeenMillis(Connection connection) {
+        Slot slot = find(connection);
+        return slot == null ? 0 : slot.lastSeenMillis;
+    }
+
+    /**
+     * 全部连接的存活信息
+     */
+    public List<LivenessView> snapshot() {
+        long now = System.currentTimeMillis();
+        List<LivenessView> views = new ArrayList<>(slots.size());
+        slots.forEach((connection, slot) -> {
+            long missed = missed(slot, now);
+            views.add(new LivenessView(StationRegistry.stationIdOf(connection), String.valueOf(connection.getChannel().remoteAddress()),
+                    state(missed), slot.lastSeenMillis, missed, slot.rttMicros, slot.heartbeats.get()));
+        });
+        return views;
+    }
+
+    public int size() {
+        return slots.size();
+    }
+
+    void logSummary() {
+        long now = System.currentTimeMillis();
+        int live = 0;
+        int suspect = 0;
+        int dead = 0;
+        long rttSum = 0;
+        int rttCount = 0;
+        long rttMax = 0;
+        List<String> deadStations = new ArrayList<>();
+        for (Map.Entry<Connection, Slot> e : slots.entrySet()) {
+            Slot slot = e.getValue();
+            switch (state(missed(slot, now))) {
+                case LIVE:
+                    live++;
+                    break;
+                case SUSPECT:
+                    suspect++;
+                    break;
+                default:
+                    dead++;
+                    if (deadStations.size() < 10) {
+                        deadStations.add(StationRegistry.stationIdOf(e.getKey()));
+                    }
+            }
+            long rtt = slot.rttMicros;
+            if (rtt >= 0) {
+                rttSum += rtt;
+                rttCount++;
+                rttMax = Math.max(rttMax, rtt);
+            }
+        }
+        log.info("连接存活汇总：连接 {}，LIVE {}，SUSPECT {}，DEAD {}，心跳 {} 次，RTT 平均 {}us / 最大 {}us",
+                slots.size(), live, suspect, dead, heartbeats.sumThenReset(),
+                rttCount == 0 ? -1 : rttSum / rttCount, rttCount == 0 ? -1 : rttMax);
+        if (dead > 0) {
+            log.warn("长时间无往来的站级连接（最多列出 10 个）：{}", deadStations);
+        }
+    }
+
+    private long missed(Slot slot, long now) {
+        long elapsed = now - slot.lastSeenMillis;
+        return elapsed <= 0 ? 0 : elapsed / options.getHeartbeatIntervalMillis();
+    }
+
+    private LivenessState state(long missed) {
+        if (missed >= options.getDeadAfterMissed()) {
+            return LivenessState.DEAD;
+        }
+        if (missed >= options.getSuspectAfterMissed()) {
+            return LivenessState.SUSPECT;
+        }
+        return LivenessState.LIVE;
+    }
+
+    private Slot find(Connection connection) {
+        return connection == null ? null : (Slot) connection.getAttribute(LIVENESS);
+    }
+
+    private Slot slot(Connection connection) {
+        Slot slot = (Slot) connection.getAttribute(LIVENESS);
+        if (slot == null) {
+            Slot created = new Slot(System.currentTimeMillis());
+            Object existing = connection.setAttributeIfAbsent(LIVENESS, created);
+            slot = existing == null ? created : (Slot) existing;
+            slots.putIfAbsent(connection, slot);
+        }
+        return slot;
+    }
+
+    private static final class Slot {
+
+        volatile long lastSeenMillis;
+        volatile long rttMicros = -1;
+        final AtomicLong heartbeats = new AtomicLong();
+
+        Slot(long lastSeenMillis) {
+            this.lastSeenMillis = lastSeenMillis;
+        }
+    }
+}
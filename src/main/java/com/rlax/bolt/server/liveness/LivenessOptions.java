@@ -0,0 +1,25 @@
+package com.rlax.bolt.server.liveness;
+
+import lombok.Data;
+
+/**
+ * 连接存活判定参数
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Data
+public class LivenessOptions {
+
+    /** 站级客户端心跳间隔，启动时同时写入 Configs.TCP_IDLE */
+    private long heartbeatIntervalMillis = 10000;
+
+    /** 丢失心跳次数达到该值视为 SUSPECT */
+    private int suspectAfterMissed = 2;
+
+    /** 丢失心跳次数达到该值视为 DEAD */
+    private int deadAfterMissed = 4;
+
+    /** 汇总日志间隔，小于等于 0 时不输出 */
+    private long summaryIntervalSeconds = 60;
+}
@@ -0,0 +1,19 @@
+package com.rlax.bolt.server.liveness;
+
+/**
+ * 连接存活状态
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public enum LivenessState {
+
+    /** 心跳或业务往来正常 */
+    LIVE,
+
+    /** 连续丢失若干次心跳，连接可能半死，路由时尽量避开 */
+    SUSPECT,
+
+    /** 长时间没有任何往来，路由时跳过 */
+    DEAD
+}
@@ -0,0 +1,33 @@
+package com.rlax.bolt.server.liveness;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 单个连接的存活信息快照
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LivenessView {
+
+    private String stationId;
+
+    private String remoteAddress;
+
+    private LivenessState state;
+
+    /** 最后一次收到心跳或业务往来的时间戳 */
+    private long lastSeenMillis;
+
+    private long missed;
+
+    /** 调用往返时间平滑估计，没有样本时为 -1 */
+    private long rttMicros;
+
+    private long heartbeats;
+}
@@ -0,0 +1,30 @@
+package com.rlax.bolt.server.processor;
+
+import com.alipay.remoting.AsyncContext;
+import com.alipay.remoting.BizContext;
+import com.alipay.remoting.rpc.protocol.AsyncUserProcessor;
+import com.rlax.bolt.invoke.chunk.ChunkStreamRegistry;
+import com.rlax.bolt.message.ChunkFrame;
+import lombok.AllArgsConstructor;
+
+/**
+ * 接收站级回传的分块流，应答由 {@link ChunkStreamRegistry} 在分块写出后发送
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@AllArgsConstructor
+public class ChunkStreamProcessor extends AsyncUserProcessor<ChunkFrame> {
+
+    private final ChunkStreamRegistry registry;
+
+    @Override
+    public void handleRequest(BizContext bizCtx, AsyncContext asyncCtx, ChunkFrame request) {
+        registry.onFrame(request, asyncCtx);
+    }
+
+    @Override
+    public String interest() {
+        return ChunkFrame.class.getName();
+    }
+}
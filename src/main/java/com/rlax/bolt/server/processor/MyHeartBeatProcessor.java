@@ -1,20 +1,31 @@
 package com.rlax.bolt.server.processor;
 
-import cn.hutool.core.date.DateUtil;
-import cn.hutool.core.lang.Console;
-import com.alipay.remoting.AbstractRemotingProcessor;
+import com.alipay.remoting.Connection;
 import com.alipay.remoting.RemotingCommand;
 import com.alipay.remoting.RemotingContext;
-import lombok.extern.slf4j.Slf4j;
+import com.alipay.remoting.rpc.protocol.RpcHeartBeatProcessor;
+import com.rlax.bolt.server.liveness.ConnectionLiveness;
+import lombok.AllArgsConstructor;
 
 /**
+ * 心跳处理器
+ * <p>
+ * 由 Bolt 默认实现回复心跳，同时记入连接存活表；不再逐条输出日志，汇总见 {@link ConnectionLiveness}。
+ *
  * @author Rlax
  * @date 2022/08/30
  */
-@Slf4j
-public class MyHeartBeatProcessor extends AbstractRemotingProcessor<RemotingCommand> {
+@AllArgsConstructor
+public class MyHeartBeatProcessor extends RpcHeartBeatProcessor {
+
+    private final ConnectionLiveness liveness;
+
     @Override
-    public void doProcess(RemotingContext ctx, RemotingCommand msg) throws Exception {
-        log.info("心跳消息: {}, {}, {}", DateUtil.now(), ctx, msg);
+    public void doProcess(RemotingContext ctx, RemotingCommand msg) {
+        super.doProcess(ctx, msg);
+        Connection connection = ctx.getChannelContext().channel().attr(Connection.CONNECTION).get();
+        if (connection != null) {
+            liveness.heartbeat(connection);
+        }
     }
 }
@@ -8,6 +8,8 @@ import lombok.extern.slf4j.Slf4j;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
+ * 连接建立后由站级客户端上报站级 id，绑定见 {@link StationRegisterProcessor}
+ *
  * @author Rlax
  * @date 2022/08/30
  */
@@ -17,13 +19,8 @@ public class MyServerConnectEventProcessor implements ConnectionEventProcessor {
 
     private AtomicInteger count = new AtomicInteger(0);
 
-    private Connection     connection;
-    private String         remoteAddr;
-
     @Override
     public void onEvent(String remoteAddress, Connection connection) {
-        this.remoteAddr = remoteAddress;
-        this.connection = connection;
         int countValue = count.incrementAndGet();
         log.info("服务器已接受来自客户端 {} 的连接，连接计数: {}, poolkey: {}", remoteAddress, countValue, connection.getPoolKeys());
     }
@@ -1,8 +1,12 @@
 package com.rlax.bolt.server.processor;
 
-import cn.hutool.core.lang.Console;
 import com.alipay.remoting.Connection;
 import com.alipay.remoting.ConnectionEventProcessor;
+import com.rlax.bolt.metrics.BoltMetrics;
+import com.rlax.bolt.server.limit.StationConcurrencyLimiter;
+import com.rlax.bolt.server.liveness.ConnectionLiveness;
+import com.rlax.bolt.server.registry.StationRegistry;
+import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -10,9 +14,27 @@ import lombok.extern.slf4j.Slf4j;
  * @date 2022/08/30
  */
 @Slf4j
+@AllArgsConstructor
 public class MyServerDisConnectEventProcessor implements ConnectionEventProcessor {
+
+    private final StationRegistry stationRegistry;
+
+    private final ConnectionLiveness liveness;
+
+    private final StationConcurrencyLimiter concurrencyLimiter;
+
+    private final BoltMetrics metrics;
+
     @Override
     public void onEvent(String remoteAddress, Connection connection) {
-        log.info("服务端与客户端 {} 断开连接: {}", remoteAddress, connection);
+        String stationId = StationRegistry.stationIdOf(connection);
+        log.info("服务端与客户端 {} 断开连接: {}, 站级 id: {}", remoteAddress, connection, stationId);
+        stationRegistry.unbind(connection);
+        liveness.remove(connection);
+        concurrencyLimiter.remove(connection);
+        // 站级没有其他连接时移除按站级打标签的指标
+        if (stationId != null && stationRegistry.getAll(stationId).isEmpty()) {
+            metrics.removeTarget(stationId);
+        }
     }
 }
@@ -1,9 +1,14 @@
 package com.rlax.bolt.server.processor;
 
-import cn.hutool.core.util.StrUtil;
 import com.alipay.remoting.BizContext;
 import com.alipay.remoting.rpc.protocol.SyncUserProcessor;
+import com.rlax.bolt.deadline.Deadline;
+import com.rlax.bolt.deadline.DeadlineExceededException;
 import com.rlax.bolt.message.RequestBody;
+import com.rlax.bolt.server.liveness.ConnectionLiveness;
+import com.rlax.bolt.trace.TraceHeaders;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.concurrent.Executor;
@@ -13,12 +18,36 @@ import java.util.concurrent.Executor;
  * @date 2022/08/30
  */
 @Slf4j
+@NoArgsConstructor
+@AllArgsConstructor
 public class MyServerUserProcessor extends SyncUserProcessor<RequestBody> {
 
+    /** 为 null 时使用 Bolt 默认业务线程池 */
+    private Executor executor;
+
+    /** 站级客户端只在空闲时发送心跳，业务请求同样刷新存活表，可以为 null */
+    private ConnectionLiveness liveness;
+
     @Override
     public Object handleRequest(BizContext bizCtx, RequestBody request) throws Exception {
-        log.info("服务端收到来自 {} 的请求：{}", bizCtx.getRemoteAddress(), request);
-        return StrUtil.format("服务端收到来自 {} 的请求：{} 并响应：{}", bizCtx.getRemoteAddress(), request, "hello client, i am server");
+        TraceHeaders.Received received = TraceHeaders.takeReceived();
+        try {
+            log.debug("服务端收到来自 {} 的请求：id={}, traceId={}", bizCtx.getRemoteAddress(), request.getId(), request.getTraceId());
+            if (liveness != null && bizCtx.getConnection() != null) {
+                liveness.touch(bizCtx.getConnection());
+            }
+            Deadline deadline = Deadline.of(bizCtx);
+            if (deadline != null && deadline.isExpired()) {
+                // 调用方已超时，不再处理
+                throw new DeadlineExceededException("请求 " + request.getId() + " 已过截止时间");
+            }
+            // 同步处理器返回后由 Bolt 在当前线程编码响应
+            TraceHeaders.responding(received, TraceHeaders.waitMillis(bizCtx.getInvokeContext()));
+            return "hello client, i am server, id: " + request.getId() + ", traceId: " + request.getTraceId();
+        } finally {
+            // 响应不引用请求 body，返回前释放 ByteBuf body
+            request.release();
+        }
     }
 
     @Override
@@ -28,6 +57,6 @@ public class MyServerUserProcessor extends SyncUserProcessor<RequestBody> {
 
     @Override
     public Executor getExecutor() {
-        return super.getExecutor();
+        return executor;
     }
 }
@@ -0,0 +1,50 @@
+package com.rlax.bolt.server.processor;
+
+import com.alipay.remoting.BizContext;
+import com.alipay.remoting.rpc.protocol.SyncUserProcessor;
+import com.rlax.bolt.message.StationRegister;
+import com.rlax.bolt.message.StationRegisterAck;
+import com.rlax.bolt.serialization.Capabilities;
+import com.rlax.bolt.server.registry.StationRegistry;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 站级客户端注册处理器，将站级 id 与当前连接绑定，记录客户端能力并回复服务端能力
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Slf4j
+@AllArgsConstructor
+public class StationRegisterProcessor extends SyncUserProcessor<StationRegister> {
+
+    private final StationRegistry stationRegistry;
+
+    /** 服务端能力 */
+    private final int capabilities;
+
+    public StationRegisterProcessor(StationRegistry stationRegistry) {
+        this(stationRegistry, 0);
+    }
+
+    @Override
+    public Object handleRequest(BizContext bizCtx, StationRegister request) throws Exception {
+        if (bizCtx.getConnection() == null) {
+            log.warn("忽略来自 {} 的无效注册请求：{}", bizCtx.getRemoteAddress(), request);
+            return null;
+        }
+        Capabilities.setPeer(bizCtx.getConnection(), request.getCapabilities());
+        if (request.getStationId() == null) {
+            log.info("客户端 {} 未上报站级 id，只记录能力: {}", bizCtx.getRemoteAddress(), request.getCapabilities());
+        } else {
+            stationRegistry.bind(request.getStationId(), bizCtx.getConnection());
+        }
+        return new StationRegisterAck(capabilities);
+    }
+
+    @Override
+    public String interest() {
+        return StationRegister.class.getName();
+    }
+}
@@ -0,0 +1,165 @@
+package com.rlax.bolt.server.registry;
+
+import com.alipay.remoting.Connection;
+import com.rlax.bolt.server.liveness.ConnectionLiveness;
+import com.rlax.bolt.server.liveness.LivenessState;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 站级连接注册表
+ * <p>
+ * 以站级业务 id 为 key 维护该站当前存活的连接，value 为不可变数组快照，
+ * 写入时整体替换，读取无锁 O(1)。站级 id 同时记录在 {@link Connection} 属性中，
+ * 断开连接时据此反查解绑，无需按地址遍历。
+ * 配置了 {@link ConnectionLiveness} 时，选择连接优先 LIVE，其次 SUSPECT，跳过 DEAD 的半死连接。
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Slf4j
+public class StationRegistry {
+
+    /** Connection 属性：站级业务 id */
+    public static final String STATION_ID = "stationId";
+
+    private static final Connection[] EMPTY = new Connection[0];
+
+    private final ConcurrentMap<String, Connection[]> stations = new ConcurrentHashMap<>();
+
+    /** 连接存活表，为 null 时只按 isFine 选择 */
+    private final ConnectionLiveness liveness;
+
+    public StationRegistry() {
+        this(null);
+    }
+
+    public StationRegistry(ConnectionLiveness liveness) {
+        this.liveness = liveness;
+    }
+
+    /**
+     * 绑定站级 id 与连接，同一连接重复注册为其它站时先解绑旧站
+     */
+    public void bind(String stationId, Connection connection) {
+        Object previous = connection.getAttribute(STATION_ID);
+        if (previous != null && !previous.equals(stationId)) {
+            unbind(connection);
+        }
+        connection.setAttribute(STATION_ID, stationId);
+        if (liveness != null) {
+            liveness.touch(connection);
+        }
+        stations.compute(stationId, (id, connections) -> append(connections, connection));
+        // 注册与断开并发时，避免残留已关闭的连接
+        if (!connection.isFine()) {
+            unbind(connection);
+        }
+        log.info("站级客户端 {} 已注册，连接: {}", stationId, connection.getChannel().remoteAddress());
+    }
+
+    /**
+     * 解绑连接，连接未注册过站级 id 时忽略
+     */
+    public void unbind(Connection connection) {
+        String stationId = stationIdOf(connection);
+        if (stationId == null) {
+            return;
+        }
+        stations.computeIfPresent(stationId, (id, connections) -> remove(connections, connection));
+    }
+
+    /**
+     * 获取站级客户端的一个可用连接，多个连接时随机起点选择，没有 LIVE 连接时退而选择 SUSPECT 连接
+     * @param stationId 站级业务 id
+     * @return 可用连接，不存在时返回 null
+     */
+    public Connection get(String stationId) {
+        if (stationId == null) {
+            return null;
+        }
+        Connection[] connections = stations.get(stationId);
+        if (connections == null) {
+            return null;
+        }
+        int size = connections.length;
+        int start = size == 1 ? 0 : ThreadLocalRandom.current().nextInt(size);
+        Connection suspect = null;
+        for (int i = 0; i < size; i++) {
+            Connection connection = connections[(start + i) % size];
+            if (!connection.isFine()) {
+                continue;
+            }
+            LivenessState state = liveness == null ? LivenessState.LIVE : liveness.state(connection);
+            if (state == LivenessState.LIVE) {
+                return connection;
+            }
+            if (state == LivenessState.SUSPECT && suspect == null) {
+                suspect = connection;
+            }
+        }
+        return suspect;
+    }
+
+    /**
+     * 获取站级客户端的全部连接快照
+     */
+    public List<Connection> getAll(String stationId) {
+        Connection[] connections = stations.get(stationId);
+        return connections == null ? Collections.emptyList() : Collections.unmodifiableList(Arrays.asList(connections));
+    }
+
+    /**
+     * 当前已注册的站级 id
+     */
+    public Set<String> stationIds() {
+        return Collections.unmodifiableSet(stations.keySet());
+    }
+
+    public int size() {
+        return stations.size();
+    }
+
+    /**
+     * 读取连接上绑定的站级 id
+     */
+    public static String stationIdOf(Connection connection) {
+        Object stationId = connection == null ? null : connection.getAttribute(STATION_ID);
+        return stationId == null ? null : stationId.toString();
+    }
+
+    private static Connection[] append(Connection[] connections, Connection connection) {
+        if (connections == null) {
+            return new Connection[]{connection};
+        }
+        for (Connection c : connections) {
+            if (c == connection) {
+                return connections;
+            }
+        }
+        Connection[] copy = Arrays.copyOf(connections, connections.length + 1);
+        copy[connections.length] = connection;
+        return copy;
+    }
+
+    /**
+     * 移除连接，移除后为空时返回 null 以删除该站
+     */
+    private static Connection[] remove(Connection[] connections, Connection connection) {
+        List<Connection> remaining = new ArrayList<>(connections.length);
+        for (Connection c : connections) {
+            if (c != connection) {
+                remaining.add(c);
+            }
+        }
+        return remaining.isEmpty() ? null : remaining.toArray(EMPTY);
+    }
+}
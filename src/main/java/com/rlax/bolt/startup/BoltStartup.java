@@ -0,0 +1,136 @@
+package com.rlax.bolt.startup;
+
+import com.alipay.remoting.rpc.RpcClient;
+import com.rlax.bolt.client.pool.ServerConnectionPools;
+import com.rlax.bolt.metrics.BoltMetrics;
+import com.rlax.bolt.server.BoltServer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bolt 启动编排
+ * <p>
+ * 服务端与客户端的 Bean 只负责创建与注册处理器，全部 Bean 创建完成后由此统一启动：
+ * 先写入 Bolt 读取的系统属性，再并行启动服务端与客户端，两者都完成后开始预热连接池。
+ * 早于 Web 服务器启动，HTTP 端口打开时 Bolt 已可用；各阶段耗时输出日志并记录为 bolt.startup 指标，
+ * 启动完成前 {@link #isStarted()} 为 false，作为就绪检查的一部分。任一端启动失败时应用启动失败。
+ * 服务端与客户端的关闭仍由各自 Bean 销毁时完成。
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Slf4j
+public class BoltStartup implements SmartLifecycle {
+
+    public static final String PHASE_SERVER = "server";
+    public static final String PHASE_CLIENT = "client";
+    public static final String PHASE_TOTAL = "total";
+
+    /** 小于 Web 服务器所在的阶段，先于其启动、后于其停止 */
+    private static final int LIFECYCLE_PHASE = 0;
+
+    private final BoltServer boltServer;
+    private final RpcClient rpcClient;
+    private final ServerConnectionPools connectionPools;
+    private final Map<String, String> systemProperties;
+    private final BoltMetrics metrics;
+
+    /** 阶段 -> 耗时毫秒 */
+    private final Map<String, Long> phaseMillis = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    private volatile boolean started;
+
+    /**
+     * @param systemProperties 启动前写入的 Bolt 系统属性，服务端与客户端共用
+     */
+    public BoltStartup(BoltServer boltServer, RpcClient rpcClient, ServerConnectionPools connectionPools,
+                       Map<String, String> systemProperties, BoltMetrics metrics) {
+        this.boltServer = boltServer;
+        this.rpcClient = rpcClient;
+        this.connectionPools = connectionPools;
+        this.systemProperties = systemProperties;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void start() {
+        long begin = System.nanoTime();
+        for (Map.Entry<String, String> property : systemProperties.entrySet()) {
+            System.setProperty(property.getKey(), property.getValue());
+        }
+        log.info("Bolt 系统属性: {}", systemProperties);
+
+        AtomicInteger index = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(2, r -> {
+            Thread thread = new Thread(r, "bolt-startup-" + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            CompletableFuture<Void> server = CompletableFuture.runAsync(() -> timed(PHASE_SERVER, boltServer::startup), executor);
+            CompletableFuture<Void> client = CompletableFuture.runAsync(() -> timed(PHASE_CLIENT, rpcClient::startup), executor);
+            CompletableFuture.allOf(server, client).join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Bolt 启动失败", e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+        record(PHASE_TOTAL, System.nanoTime() - begin);
+        started = true;
+        log.info("Bolt 启动完成，各阶段耗时(ms): {}", phaseMillis);
+        connectionPools.start();
+    }
+
+    @Override
+    public void stop() {
+        started = false;
+        connectionPools.shutdown();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return started;
+    }
+
+    @Override
+    public int getPhase() {
+        return LIFECYCLE_PHASE;
+    }
+
+    /**
+     * 服务端与客户端均已启动
+     */
+    public boolean isStarted() {
+        return started;
+    }
+
+    /**
+     * 各阶段耗时毫秒
+     */
+    public Map<String, Long> phaseMillis() {
+        synchronized (phaseMillis) {
+            return new LinkedHashMap<>(phaseMillis);
+        }
+    }
+
+    private void timed(String phase, Runnable startup) {
+        long begin = System.nanoTime();
+        startup.run();
+        record(phase, System.nanoTime() - begin);
+    }
+
+    private void record(String phase, long nanos) {
+        phaseMillis.put(phase, TimeUnit.NANOSECONDS.toMillis(nanos));
+        metrics.startupTime(phase).record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
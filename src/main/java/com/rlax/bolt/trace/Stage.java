@@ -0,0 +1,42 @@
+package com.rlax.bolt.trace;
+
+/**
+ * 一次中台到站级请求经过的阶段
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public enum Stage {
+
+    /** HTTP 请求进入到发起 RPC 调用：解析、路由与控制器逻辑 */
+    HTTP_RECEIVE("http_receive"),
+
+    /** 调用线程上的请求编码并写入连接发送队列 */
+    SERIALIZE("serialize"),
+
+    /** 往返时间扣除站级排队与处理后的剩余部分，即网络与双方 IO 线程耗时 */
+    NETWORK("network"),
+
+    /** 站级 Bolt 业务线程池排队等待，毫秒精度 */
+    EXECUTOR_WAIT("executor_wait"),
+
+    /** 站级从取出请求解码到编码响应 */
+    STATION_PROCESS("station_process"),
+
+    /** 中台收到响应后解码并回调完成 Mono */
+    CALLBACK_DISPATCH("callback_dispatch"),
+
+    /** 响应头提交到 HTTP 响应写完 */
+    HTTP_WRITE("http_write");
+
+    private final String metricName;
+
+    Stage(String metricName) {
+        this.metricName = metricName;
+    }
+
+    /** Server-Timing 与日志中使用的名称 */
+    public String metricName() {
+        return metricName;
+    }
+}
@@ -0,0 +1,123 @@
+package com.rlax.bolt.trace;
+
+import cn.hutool.core.util.IdUtil;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 链路上下文
+ * <p>
+ * 由 {@link TraceWebFilter} 在 HTTP 入口创建，经 Reactor Context 传递给 ReactiveBoltInvoker，
+ * 再通过 Bolt 请求头带到站级。各阶段耗时累加记录，一次 HTTP 请求发起多次调用（如广播）时为各次之和。
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public class TraceContext {
+
+    /** Reactor Context 与 ServerWebExchange 属性的 key */
+    public static final String CONTEXT_KEY = TraceContext.class.getName();
+
+    /** HTTP 请求头 / 响应头 */
+    public static final String TRACE_ID_HEADER = "traceId";
+
+    private static final Stage[] STAGES = Stage.values();
+
+    private final String traceId;
+    private final long startNanos;
+    private final AtomicLongArray stageNanos = new AtomicLongArray(STAGES.length);
+
+    public TraceContext(String traceId) {
+        this(traceId, System.nanoTime());
+    }
+
+    public TraceContext(String traceId, long startNanos) {
+        this.traceId = traceId == null || traceId.isEmpty() ? newTraceId() : traceId;
+        this.startNanos = startNanos;
+    }
+
+    public static String newTraceId() {
+        return IdUtil.fastSimpleUUID();
+    }
+
+    /**
+     * 读取 HTTP 请求上的链路上下文，未经过 {@link TraceWebFilter} 时为 null
+     */
+    public static TraceContext from(ServerWebExchange exchange) {
+        return exchange.getAttribute(CONTEXT_KEY);
+    }
+
+    /**
+     * HTTP 请求的 traceId，未经过 {@link TraceWebFilter} 时生成一个
+     */
+    public static String traceId(ServerWebExchange exchange) {
+        TraceContext trace = from(exchange);
+        return trace == null ? newTraceId() : trace.getTraceId();
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    public void record(Stage stage, long nanos) {
+        if (nanos > 0) {
+            stageNanos.addAndGet(stage.ordinal(), nanos);
+        }
+    }
+
+    /**
+     * 只记录第一次，用于 HTTP_RECEIVE 这类每个请求只有一次的阶段
+     */
+    public void recordOnce(Stage stage, long nanos) {
+        stageNanos.compareAndSet(stage.ordinal(), 0, Math.max(nanos, 1));
+    }
+
+    public long nanos(Stage stage) {
+        return stageNanos.get(stage.ordinal());
+    }
+
+    /**
+     * Server-Timing 响应头，单位毫秒，未记录的阶段不输出
+     */
+    public String serverTiming() {
+        return format(", ", ";dur=");
+    }
+
+    /**
+     * 日志输出的阶段耗时，单位毫秒
+     */
+    public String breakdown() {
+        return format(" ", "=");
+    }
+
+    private String format(String separator, String assign) {
+        StringBuilder sb = new StringBuilder(128);
+        for (Stage stage : STAGES) {
+            long nanos = stageNanos.get(stage.ordinal());
+            if (nanos == 0) {
+                continue;
+            }
+            if (sb.length() > 0) {
+                sb.append(separator);
+            }
+            sb.append(stage.metricName()).append(assign).append(millis(nanos));
+        }
+        return sb.toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    @Override
+    public String toString() {
+        return "TraceContext{traceId=" + traceId + ", " + breakdown() + "}";
+    }
+}
@@ -0,0 +1,161 @@
+package com.rlax.bolt.trace;
+
+import com.alipay.remoting.InvokeContext;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Bolt 请求 / 响应头中的链路信息
+ * <p>
+ * 请求头：version(1B) | traceId 长度(2B，-1 表示 null) | traceId(UTF-8)；
+ * 响应头：version(1B) | 站级排队毫秒(8B) | 站级处理纳秒(8B)。
+ * 中台侧通过 {@link InvokeContext} 在调用与序列化器之间传递；站级侧解码请求头与分发处理器在同一线程，
+ * 通过 ThreadLocal 交给处理器，处理器发送响应前写入站级耗时，由响应序列化器在同一线程取走。
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public final class TraceHeaders {
+
+    public static final byte VERSION = 1;
+
+    /** InvokeContext：链路 id */
+    public static final String TRACE_ID = "rlax.trace.id";
+    /** InvokeContext：响应头解码时刻 */
+    public static final String RESPONSE_DECODED_NANOS = "rlax.trace.response.decoded";
+    /** InvokeContext：站级排队毫秒 */
+    public static final String STATION_WAIT_MILLIS = "rlax.trace.station.wait";
+    /** InvokeContext：站级处理纳秒 */
+    public static final String STATION_PROCESS_NANOS = "rlax.trace.station.process";
+
+    /** 站级：当前线程刚解码的请求头 */
+    private static final ThreadLocal<Received> RECEIVED = new ThreadLocal<>();
+    /** 站级：当前线程即将发送的响应耗时 */
+    private static final ThreadLocal<long[]> RESPONDING = new ThreadLocal<>();
+
+    private TraceHeaders() {
+    }
+
+    public static byte[] encodeRequest(String traceId) {
+        byte[] id = traceId == null ? null : traceId.getBytes(StandardCharsets.UTF_8);
+        ByteBuf out = Unpooled.buffer(3 + (id == null ? 0 : id.length));
+        out.writeByte(VERSION);
+        out.writeShort(id == null ? -1 : id.length);
+        if (id != null) {
+            out.writeBytes(id);
+        }
+        return out.array();
+    }
+
+    /**
+     * @return traceId，头为空或版本不识别时为 null
+     */
+    public static String decodeRequest(byte[] header) {
+        if (header == null || header.length < 3 || header[0] != VERSION) {
+            return null;
+        }
+        ByteBuf in = Unpooled.wrappedBuffer(header);
+        in.skipBytes(1);
+        int length = in.readShort();
+        return length < 0 ? null : in.toString(in.readerIndex(), length, StandardCharsets.UTF_8);
+    }
+
+    public static byte[] encodeResponse(long waitMillis, long processNanos) {
+        ByteBuf out = Unpooled.buffer(17);
+        out.writeByte(VERSION);
+        out.writeLong(waitMillis);
+        out.writeLong(processNanos);
+        return out.array();
+    }
+
+    /**
+     * @return {站级排队毫秒, 站级处理纳秒}，头为空或版本不识别时为 null
+     */
+    public static long[] decodeResponse(byte[] header) {
+        if (header == null || header.length < 17 || header[0] != VERSION) {
+            return null;
+        }
+        ByteBuf in = Unpooled.wrappedBuffer(header);
+        in.skipBytes(1);
+        return new long[]{in.readLong(), in.readLong()};
+    }
+
+    /**
+     * 同步 / Future 调用携带链路 id 时使用
+     */
+    public static InvokeContext invokeContext(String traceId) {
+        InvokeContext invokeContext = new InvokeContext();
+        invokeContext.put(TRACE_ID, traceId);
+        return invokeContext;
+    }
+
+    // ~~~ 站级侧
+
+    /**
+     * 解码请求头后调用，没有链路头的请求也会覆盖，避免读到上一个请求的值
+     */
+    public static void received(String traceId) {
+        RECEIVED.set(new Received(traceId, System.nanoTime()));
+    }
+
+    /**
+     * 取出当前线程刚解码的请求头，只能取一次
+     */
+    public static Received takeReceived() {
+        Received received = RECEIVED.get();
+        RECEIVED.remove();
+        return received;
+    }
+
+    /**
+     * 发送响应前调用，记录站级耗时
+     * @param received 请求头，为 null 时不记录
+     * @param waitMillis Bolt 业务线程池排队毫秒
+     */
+    public static void responding(Received received, long waitMillis) {
+        if (received != null) {
+            RESPONDING.set(new long[]{waitMillis, System.nanoTime() - received.getReceivedNanos()});
+        }
+    }
+
+    /**
+     * 响应序列化时取出站级耗时
+     */
+    public static long[] takeResponding() {
+        long[] timing = RESPONDING.get();
+        RESPONDING.remove();
+        return timing;
+    }
+
+    /**
+     * Bolt 业务线程池排队毫秒
+     */
+    public static long waitMillis(InvokeContext invokeContext) {
+        Object wait = invokeContext == null ? null : invokeContext.get(InvokeContext.BOLT_PROCESS_WAIT_TIME);
+        return wait instanceof Number ? ((Number) wait).longValue() : 0;
+    }
+
+    /**
+     * 站级收到的请求头
+     */
+    public static final class Received {
+
+        private final String traceId;
+        private final long receivedNanos;
+
+        Received(String traceId, long receivedNanos) {
+            this.traceId = traceId;
+            this.receivedNanos = receivedNanos;
+        }
+
+        public String getTraceId() {
+            return traceId;
+        }
+
+        public long getReceivedNanos() {
+            return receivedNanos;
+        }
+    }
+}
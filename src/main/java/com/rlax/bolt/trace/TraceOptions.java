@@ -0,0 +1,19 @@
+package com.rlax.bolt.trace;
+
+import lombok.Data;
+
+/**
+ * 链路配置
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Data
+public class TraceOptions {
+
+    /** 是否输出 Server-Timing 响应头 */
+    private boolean serverTimingHeader = true;
+
+    /** 总耗时超过该值时输出一条分阶段耗时日志，小于等于 0 时不输出 */
+    private long slowThresholdMillis = 1000;
+}
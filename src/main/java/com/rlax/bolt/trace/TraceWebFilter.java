@@ -0,0 +1,68 @@
+package com.rlax.bolt.trace;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP 入口链路过滤器
+ * <p>
+ * 读取 traceId 请求头（没有时生成），创建 {@link TraceContext} 放入 exchange 属性与 Reactor Context，
+ * 响应头提交时写入 traceId 与 Server-Timing，响应写完后记录 HTTP_WRITE，总耗时超过阈值时输出一条分阶段耗时日志。
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Slf4j
+public class TraceWebFilter implements WebFilter {
+
+    private static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private final TraceOptions options;
+
+    public TraceWebFilter(TraceOptions options) {
+        this.options = options;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        TraceContext trace = new TraceContext(exchange.getRequest().getHeaders().getFirst(TraceContext.TRACE_ID_HEADER));
+        exchange.getAttributes().put(TraceContext.CONTEXT_KEY, trace);
+        ServerHttpResponse response = exchange.getResponse();
+        long[] committedNanos = new long[1];
+        response.beforeCommit(() -> {
+            committedNanos[0] = System.nanoTime();
+            response.getHeaders().set(TraceContext.TRACE_ID_HEADER, trace.getTraceId());
+            if (options.isServerTimingHeader()) {
+                String serverTiming = trace.serverTiming();
+                if (!serverTiming.isEmpty()) {
+                    response.getHeaders().add(SERVER_TIMING_HEADER, serverTiming);
+                }
+            }
+            return Mono.empty();
+        });
+        return chain.filter(exchange)
+                .contextWrite(context -> context.put(TraceContext.CONTEXT_KEY, trace))
+                .doFinally(signal -> {
+                    long now = System.nanoTime();
+                    if (committedNanos[0] > 0) {
+                        trace.record(Stage.HTTP_WRITE, now - committedNanos[0]);
+                    }
+                    logIfSlow(exchange, trace, now - trace.getStartNanos());
+                });
+    }
+
+    private void logIfSlow(ServerWebExchange exchange, TraceContext trace, long totalNanos) {
+        long threshold = options.getSlowThresholdMillis();
+        if (threshold > 0 && totalNanos >= TimeUnit.MILLISECONDS.toNanos(threshold)) {
+            log.warn("慢请求 {} {}，traceId: {}，总耗时 {}ms，分阶段: {}", exchange.getRequest().getMethodValue(),
+                    exchange.getRequest().getPath().value(), trace.getTraceId(),
+                    TimeUnit.NANOSECONDS.toMillis(totalNanos), trace.breakdown());
+        }
+    }
+}
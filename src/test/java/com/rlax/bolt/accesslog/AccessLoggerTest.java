@@ -0,0 +1,122 @@
+package com.rlax.bolt.accesslog;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public class AccessLoggerTest {
+
+    private AccessLogger accessLogger;
+
+    @AfterEach
+    void tearDown() {
+        if (accessLogger != null) {
+            accessLogger.shutdown();
+        }
+    }
+
+    private static AccessLogOptions options() {
+        AccessLogOptions options = new AccessLogOptions();
+        options.getSampleRates().put("/never", 0.0);
+        options.getSampleRates().put("/always", 1.0);
+        return options;
+    }
+
+    @Test
+    void perRouteSampling() {
+        accessLogger = new AccessLogger(options());
+        accessLogger.start();
+
+        assertFalse(accessLogger.sampled("/never", false));
+        assertTrue(accessLogger.sampled("/never", true));
+        assertTrue(accessLogger.sampled("/always", false));
+        assertTrue(accessLogger.sampled("/other", false));
+    }
+
+    @Test
+    void errorsFollowSamplingWhenDisabled() {
+        AccessLogOptions options = options();
+        options.setAlwaysLogErrors(false);
+        accessLogger = new AccessLogger(options);
+        accessLogger.start();
+
+        assertFalse(accessLogger.sampled("/never", true));
+    }
+
+    @Test
+    void notStartedOrDisabled() {
+        accessLogger = new AccessLogger(options());
+        assertFalse(accessLogger.sampled("/always", false));
+        assertFalse(AccessLogger.DISABLED.sampled("/always", true));
+    }
+
+    @Test
+    void dropsWhenBufferFull() {
+        AccessLogOptions options = options();
+        options.setBufferSize(4);
+        // 未启动后台线程时缓冲不会被消费，这里直接打开采样
+        accessLogger = new AccessLogger(options) {
+            @Override
+            public boolean sampled(String route, boolean failed) {
+                return true;
+            }
+        };
+
+        for (int i = 0; i < 10; i++) {
+            accessLogger.log("/always", "trace-" + i, null, "GET", 0, 0, TimeUnit.MILLISECONDS.toNanos(1), "OK", false);
+        }
+        assertEquals(6, accessLogger.dropped());
+    }
+
+    @Test
+    void drainsOnShutdown() {
+        Logger logger = (Logger) LoggerFactory.getLogger(AccessLogger.LOGGER_NAME);
+        Level level = logger.getLevel();
+        CountingAppender appender = new CountingAppender();
+        appender.start();
+        logger.setLevel(Level.INFO);
+        logger.addAppender(appender);
+        try {
+            accessLogger = new AccessLogger(options());
+            accessLogger.start();
+            for (int i = 0; i < 1000; i++) {
+                accessLogger.log("/always", "trace-" + i, "station-1", "CALLBACK", 16, 32, 1000, AccessLogger.OUTCOME_SUCCESS, false);
+            }
+            accessLogger.shutdown();
+
+            assertEquals(0, accessLogger.dropped());
+            assertEquals(1000, appender.count.get());
+        } finally {
+            logger.detachAppender(appender);
+            logger.setLevel(level);
+        }
+    }
+
+    /**
+     * 统计 ACCESS_LOG 输出的行数
+     */
+    private static class CountingAppender extends AppenderBase<ILoggingEvent> {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            count.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.rlax.bolt.benchmark;
+
+import com.alipay.remoting.BizContext;
+import com.alipay.remoting.Connection;
+import com.alipay.remoting.InvokeCallback;
+import com.alipay.remoting.rpc.RpcClient;
+import com.alipay.remoting.rpc.protocol.SyncUserProcessor;
+import com.rlax.bolt.client.PortScan;
+import com.rlax.bolt.invoke.chunk.ChannelWritability;
+import com.rlax.bolt.message.RequestBody;
+import com.rlax.bolt.serialization.CustomSerializerRegistrar;
+import com.rlax.bolt.serialization.RequestBodySerializer;
+import com.rlax.bolt.server.BoltServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bolt 调用方式 × 报文大小基准测试
+ * <p>
+ * 进程内启动 BoltServer 与 RpcClient，走本地回环，分别测量 SYNC、FUTURE、CALLBACK 的吞吐与延迟。
+ * ONEWAY 没有响应，只测吞吐，且按通道可写性发送，测的是不压垮发送缓冲时的可持续速率。
+ * 每组参数独立 fork，codec 参数决定 RequestBody 走二进制编码还是 Hessian。
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="BoltInvokeBenchmark.invoke -p invokeType=SYNC -t 8"
+ * </pre>
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class BoltInvokeBenchmark {
+
+    private static final int TIMEOUT_MILLIS = 3000;
+
+    @Param({"16", "1024", "16384", "262144"})
+    public int payloadSize;
+
+    @Param({"binary", "hessian"})
+    public String codec;
+
+    private BoltServer server;
+    private RpcClient client;
+    private String address;
+    private Connection connection;
+    private RequestBody request;
+
+    /**
+     * 有响应的调用方式，只用于 {@link #invoke(RequestResponse)}
+     */
+    @State(Scope.Benchmark)
+    public static class RequestResponse {
+
+        @Param({"SYNC", "FUTURE", "CALLBACK"})
+        public RequestBody.InvokeType invokeType;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        if ("binary".equals(codec)) {
+            new CustomSerializerRegistrar().register(RequestBody.class.getName(), new RequestBodySerializer());
+        }
+        int port = PortScan.select();
+        server = new BoltServer(port);
+        server.registerUserProcessor(new EchoUserProcessor());
+        server.startup();
+
+        client = new RpcClient();
+        client.startup();
+        address = "127.0.0.1:" + port;
+        request = new RequestBody(1, payloadSize);
+        // 建连不计入测量
+        client.invokeSync(address, request, TIMEOUT_MILLIS);
+        connection = client.getConnection(address, TIMEOUT_MILLIS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.shutdown();
+        server.shutdown();
+    }
+
+    @Benchmark
+    public Object invoke(RequestResponse mode) throws Exception {
+        switch (mode.invokeType) {
+            case SYNC:
+                return client.invokeSync(address, request, TIMEOUT_MILLIS);
+            case FUTURE:
+                return client.invokeWithFuture(address, request, TIMEOUT_MILLIS).get(TIMEOUT_MILLIS);
+            case CALLBACK:
+                CompletableFuture<Object> future = new CompletableFuture<>();
+                client.invokeWithCallback(address, request, new FutureCallback(future), TIMEOUT_MILLIS);
+                return future.get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            default:
+                throw new IllegalStateException("unknown invoke type: " + mode.invokeType);
+        }
+    }
+
+    /**
+     * 发送缓冲超过高水位时等待回到低水位再发，否则只是在测发送缓冲的堆积速度
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public void oneway() throws Exception {
+        ChannelWritability.awaitWritable(connection.getChannel()).block();
+        client.oneway(connection, request);
+    }
+
+    /**
+     * 只回固定短响应，避免业务处理与日志干扰测量
+     */
+    static class EchoUserProcessor extends SyncUserProcessor<RequestBody> {
+
+        @Override
+        public Object handleRequest(BizContext bizCtx, RequestBody request) {
+            return "ok";
+        }
+
+        @Override
+        public String interest() {
+            return RequestBody.class.getName();
+        }
+    }
+
+    static class FutureCallback implements InvokeCallback {
+
+        private final CompletableFuture<Object> future;
+
+        FutureCallback(CompletableFuture<Object> future) {
+            this.future = future;
+        }
+
+        @Override
+        public void onResponse(Object result) {
+            future.complete(result);
+        }
+
+        @Override
+        public void onException(Throwable e) {
+            future.completeExceptionally(e);
+        }
+
+        @Override
+        public Executor getExecutor() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.rlax.bolt.benchmark;
+
+import com.alipay.remoting.BizContext;
+import com.alipay.remoting.InvokeCallback;
+import com.alipay.remoting.rpc.RpcClient;
+import com.alipay.remoting.rpc.protocol.SyncUserProcessor;
+import com.rlax.bolt.client.PortScan;
+import com.rlax.bolt.executor.VirtualThreads;
+import com.rlax.bolt.message.RequestBody;
+import com.rlax.bolt.server.BoltServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 线程池 × 虚拟线程执行方式基准测试
+ * <p>
+ * 服务端处理器阻塞 blockMillis 模拟慢业务，每次操作同时发出 concurrency 个 callback 调用并等待全部完成，
+ * POOL 使用与 clientExecutor 相同的线程池参数（core 1 / max 50 / queue 10000），VIRTUAL 处理器与回调均使用虚拟线程。
+ * VIRTUAL 需要在 JDK 21 及以上运行。
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="ExecutionModeBenchmark -p concurrency=1000"
+ * </pre>
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class ExecutionModeBenchmark {
+
+    private static final int TIMEOUT_MILLIS = 120000;
+
+    @Param({"POOL", "VIRTUAL"})
+    public String mode;
+
+    @Param({"100", "1000", "5000"})
+    public int concurrency;
+
+    @Param({"10"})
+    public int blockMillis;
+
+    private ThreadPoolTaskExecutor pool;
+    private ExecutorService virtual;
+    private Executor callbackExecutor;
+    private BoltServer server;
+    private RpcClient client;
+    private String address;
+    private RequestBody request;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        Executor processorExecutor;
+        if ("VIRTUAL".equals(mode)) {
+            if (!VirtualThreads.isSupported()) {
+                throw new IllegalStateException("VIRTUAL 需要 JDK 21 及以上，当前为 " + System.getProperty("java.version"));
+            }
+            virtual = VirtualThreads.newThreadPerTaskExecutor("bench-virtual-");
+            processorExecutor = virtual;
+            callbackExecutor = virtual;
+        } else {
+            pool = new ThreadPoolTaskExecutor();
+            pool.setCorePoolSize(1);
+            pool.setMaxPoolSize(50);
+            pool.setQueueCapacity(10000);
+            pool.setThreadNamePrefix("bench-pool-");
+            pool.initialize();
+            processorExecutor = pool;
+            callbackExecutor = null;
+        }
+
+        int port = PortScan.select();
+        server = new BoltServer(port);
+        server.registerUserProcessor(new BlockingUserProcessor(processorExecutor, blockMillis));
+        server.startup();
+
+        client = new RpcClient();
+        client.startup();
+        address = "127.0.0.1:" + port;
+        request = new RequestBody(1, 16);
+        // 建连不计入测量
+        client.invokeSync(address, request, TIMEOUT_MILLIS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.shutdown();
+        server.shutdown();
+        if (pool != null) {
+            pool.shutdown();
+        }
+        if (virtual != null) {
+            virtual.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public int invokeConcurrently() throws Exception {
+        CountDownLatch latch = new CountDownLatch(concurrency);
+        AtomicInteger failures = new AtomicInteger();
+        for (int i = 0; i < concurrency; i++) {
+            client.invokeWithCallback(address, request, new LatchCallback(latch, failures, callbackExecutor), TIMEOUT_MILLIS);
+        }
+        if (!latch.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+            throw new IllegalStateException("等待响应超时，剩余 " + latch.getCount());
+        }
+        return failures.get();
+    }
+
+    static class BlockingUserProcessor extends SyncUserProcessor<RequestBody> {
+
+        private final Executor executor;
+        private final int blockMillis;
+
+        BlockingUserProcessor(Executor executor, int blockMillis) {
+            this.executor = executor;
+            this.blockMillis = blockMillis;
+        }
+
+        @Override
+        public Object handleRequest(BizContext bizCtx, RequestBody request) throws Exception {
+            TimeUnit.MILLISECONDS.sleep(blockMillis);
+            return "ok";
+        }
+
+        @Override
+        public String interest() {
+            return RequestBody.class.getName();
+        }
+
+        @Override
+        public Executor getExecutor() {
+            return executor;
+        }
+    }
+
+    static class LatchCallback implements InvokeCallback {
+
+        private final CountDownLatch latch;
+        private final AtomicInteger failures;
+        private final Executor executor;
+
+        LatchCallback(CountDownLatch latch, AtomicInteger failures, Executor executor) {
+            this.latch = latch;
+            this.failures = failures;
+            this.executor = executor;
+        }
+
+        @Override
+        public void onResponse(Object result) {
+            latch.countDown();
+        }
+
+        @Override
+        public void onException(Throwable e) {
+            failures.incrementAndGet();
+            latch.countDown();
+        }
+
+        @Override
+        public Executor getExecutor() {
+            return executor;
+        }
+    }
+}
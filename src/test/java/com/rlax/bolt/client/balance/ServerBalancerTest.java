@@ -0,0 +1,126 @@
+package com.rlax.bolt.client.balance;
+
+import com.alipay.remoting.rpc.exception.InvokeServerException;
+import com.alipay.remoting.rpc.exception.InvokeTimeoutException;
+import com.rlax.bolt.metrics.BoltMetrics;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public class ServerBalancerTest {
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.SECONDS.toNanos(1));
+
+    private ServerBalancer balancer(BalanceStrategy strategy, String... servers) {
+        BalancerOptions options = new BalancerOptions();
+        options.setServers(Arrays.asList(servers));
+        options.setStrategy(strategy);
+        options.setEjectAfterFailures(2);
+        options.setBaseEjectionMillis(1000);
+        options.setMaxEjectionMillis(10000);
+        options.setMaxEjectedPercent(50);
+        return new ServerBalancer(options, UnaryOperator.identity(), null, BoltMetrics.NOOP, now::get);
+    }
+
+    @Test
+    void leastInFlightPrefersIdleServer() {
+        ServerBalancer balancer = balancer(BalanceStrategy.LEAST_IN_FLIGHT, "a:1", "b:1");
+        ServerBalancer.Lease first = balancer.acquire();
+        for (int i = 0; i < 10; i++) {
+            ServerBalancer.Lease next = balancer.acquire();
+            assertFalse(first.address().equals(next.address()));
+            next.success();
+        }
+    }
+
+    @Test
+    void p2cPrefersLowerLatency() {
+        ServerBalancer balancer = balancer(BalanceStrategy.P2C, "fast:1", "slow:1");
+        sample(balancer, "fast:1", 1);
+        sample(balancer, "slow:1", 100);
+
+        for (int i = 0; i < 20; i++) {
+            ServerBalancer.Lease lease = balancer.acquire();
+            assertEquals("fast:1", lease.address());
+            lease.cancel();
+        }
+    }
+
+    @Test
+    void ejectAndReadmit() {
+        ServerBalancer balancer = balancer(BalanceStrategy.LEAST_IN_FLIGHT, "a:1", "b:1");
+        ServerEndpoint a = balancer.endpoints().get(0);
+        fail(balancer, "a:1", new InvokeTimeoutException());
+        fail(balancer, "a:1", new InvokeTimeoutException());
+        assertTrue(a.isEjected(now.get()));
+        for (int i = 0; i < 10; i++) {
+            assertEquals("b:1", balancer.select(now.get()).getAddress());
+        }
+
+        // 到期后重新参与选择，再次失败以翻倍的时长摘除
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1001));
+        assertFalse(a.isEjected(now.get()));
+        fail(balancer, "a:1", new InvokeTimeoutException());
+        assertTrue(a.isEjected(now.get() + TimeUnit.MILLISECONDS.toNanos(1500)));
+
+        // 到期后成功即恢复
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(2001));
+        sample(balancer, "a:1", 1);
+        assertFalse(a.probation);
+        assertEquals(0, a.ejections);
+    }
+
+    @Test
+    void businessErrorsDoNotEject() {
+        ServerBalancer balancer = balancer(BalanceStrategy.LEAST_IN_FLIGHT, "a:1", "b:1");
+        for (int i = 0; i < 5; i++) {
+            fail(balancer, "a:1", new InvokeServerException("biz"));
+        }
+        assertFalse(balancer.endpoints().get(0).isEjected(now.get()));
+    }
+
+    @Test
+    void ejectedRatioBounded() {
+        ServerBalancer balancer = balancer(BalanceStrategy.LEAST_IN_FLIGHT, "a:1", "b:1");
+        for (int i = 0; i < 2; i++) {
+            fail(balancer, "a:1", new InvokeTimeoutException());
+            fail(balancer, "b:1", new InvokeTimeoutException());
+        }
+        int ejected = 0;
+        for (ServerEndpoint endpoint : balancer.endpoints()) {
+            ejected += endpoint.isEjected(now.get()) ? 1 : 0;
+        }
+        assertEquals(1, ejected);
+    }
+
+    private void sample(ServerBalancer balancer, String address, long rttMillis) {
+        ServerBalancer.Lease lease = leaseOf(balancer, address);
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(rttMillis));
+        lease.success();
+    }
+
+    private void fail(ServerBalancer balancer, String address, Throwable e) {
+        leaseOf(balancer, address).failure(e);
+    }
+
+    private static ServerBalancer.Lease leaseOf(ServerBalancer balancer, String address) {
+        for (ServerEndpoint endpoint : balancer.endpoints()) {
+            if (endpoint.getAddress().equals(address)) {
+                endpoint.begin();
+                return balancer.new Lease(endpoint, address, balancer.clockNanos());
+            }
+        }
+        throw new IllegalArgumentException(address);
+    }
+}
@@ -0,0 +1,75 @@
+package com.rlax.bolt.client.pool;
+
+import com.alipay.remoting.rpc.RpcClient;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public class ServerConnectionPoolsTest {
+
+    @Test
+    void urlCarriesPoolParameters() {
+        ConnectionPoolOptions options = new ConnectionPoolOptions();
+        options.setConnectionsPerServer(4);
+        options.setConnectTimeoutMillis(1000);
+
+        String url = ServerConnectionPools.urlOf("127.0.0.1:8899", options);
+
+        assertEquals("127.0.0.1:8899?_CONNECTTIMEOUT=1000&_CONNECTIONNUM=4&_CONNECTIONWARMUP=true", url);
+        assertEquals("127.0.0.1:8899", ServerConnectionPools.poolKeyOf(url));
+    }
+
+    @Test
+    void existingQueryKept() {
+        ConnectionPoolOptions options = new ConnectionPoolOptions();
+        options.setWarmup(false);
+
+        String url = ServerConnectionPools.urlOf("127.0.0.1:8899?_TIMEOUT=100", options);
+
+        assertEquals("127.0.0.1:8899?_TIMEOUT=100&_CONNECTTIMEOUT=3000&_CONNECTIONNUM=4&_CONNECTIONWARMUP=false", url);
+    }
+
+    @Test
+    void readyWhenReachableServersFull() {
+        // 两台建满、一台连不上
+        assertTrue(ServerConnectionPools.isReady(2, 0, 1, 0));
+        // 仍有服务端在补齐
+        assertFalse(ServerConnectionPools.isReady(2, 1, 0, 0));
+        // 全部连不上
+        assertFalse(ServerConnectionPools.isReady(0, 0, 3, 0));
+        // 没有配置服务端
+        assertTrue(ServerConnectionPools.isReady(0, 0, 0, 0));
+    }
+
+    @Test
+    void readyWhenQuorumFull() {
+        assertTrue(ServerConnectionPools.isReady(2, 1, 0, 2));
+        assertFalse(ServerConnectionPools.isReady(1, 1, 1, 2));
+    }
+
+    @Test
+    void unreachableServerReported() throws Exception {
+        RpcClient rpcClient = new RpcClient();
+        rpcClient.startup();
+        try {
+            ConnectionPoolOptions options = new ConnectionPoolOptions();
+            options.setConnectTimeoutMillis(500);
+            ServerConnectionPools pools = new ServerConnectionPools(rpcClient, Collections.singletonList("127.0.0.1:1"), options);
+
+            assertFalse(pools.warmupRound());
+
+            assertFalse(pools.isWarm());
+            assertTrue(pools.unreachableServers().containsKey("127.0.0.1:1"));
+        } finally {
+            rpcClient.shutdown();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.rlax.bolt.client.processor;
+
+import com.alipay.remoting.BizContext;
+import com.alipay.remoting.DefaultBizContext;
+import com.alipay.remoting.RemotingContext;
+import com.rlax.bolt.deadline.DeadlineExceededException;
+import com.rlax.bolt.message.RequestBody;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public class MyClientUserProcessorTest {
+
+    private final MyClientUserProcessor processor = new MyClientUserProcessor(Runnable::run);
+
+    @Test
+    void expiredRequestRejectedWithoutProcessing() {
+        ByteBuf body = Unpooled.buffer(4).writeInt(1);
+        RequestBody request = new RequestBody(7, "msg", "trace-1");
+        request.setBodyBuffer(body);
+
+        long start = System.nanoTime();
+        assertThrows(DeadlineExceededException.class, () -> processor.handleRequest(bizContext(100, 1000), request));
+
+        // 没有进入 1 秒的模拟处理
+        assertEquals(0, (System.nanoTime() - start) / 1_000_000_000L);
+        assertEquals(0, body.refCnt());
+        assertNull(request.getBodyBuffer());
+    }
+
+    private static BizContext bizContext(int clientTimeout, long queuedMillis) {
+        EmbeddedChannel channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+        RemotingContext remotingCtx = new RemotingContext(channel.pipeline().firstContext(), true);
+        remotingCtx.setTimeout(clientTimeout);
+        remotingCtx.setArriveTimestamp(System.currentTimeMillis() - queuedMillis);
+        return new DefaultBizContext(remotingCtx);
+    }
+}
@@ -0,0 +1,95 @@
+package com.rlax.bolt.deadline;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public class DeadlineTest {
+
+    @Test
+    void timeoutCappedByRemainingBudget() throws Exception {
+        assertEquals(1000, Deadline.timeoutMillis(null, 1000));
+        assertEquals(1000, Deadline.timeoutMillis(Deadline.after(60000), 1000));
+
+        int timeout = Deadline.timeoutMillis(Deadline.after(200), 1000);
+        assertTrue(timeout > 0 && timeout <= 200, "timeout=" + timeout);
+    }
+
+    @Test
+    void expiredDeadlineRejected() {
+        Deadline deadline = Deadline.after(-1);
+        assertTrue(deadline.isExpired());
+        assertThrows(DeadlineExceededException.class, () -> Deadline.timeoutMillis(deadline, 1000));
+    }
+
+    @Test
+    void readFromReactorContext() {
+        Deadline deadline = Deadline.after(1000);
+        Deadline read = Mono.deferContextual(context -> Mono.justOrEmpty(Deadline.from(context)))
+                .contextWrite(Context.of(Deadline.CONTEXT_KEY, deadline))
+                .block();
+        assertSame(deadline, read);
+        assertNull(Mono.deferContextual(context -> Mono.justOrEmpty(Deadline.from(context))).block());
+    }
+
+    @Test
+    void headerOverridesRouteAndIsCapped() {
+        DeadlineOptions options = new DeadlineOptions();
+        options.setMaxTimeoutMillis(5000);
+        options.getRouteTimeoutMillis().put("/demo/async", 30000L);
+        DeadlineWebFilter filter = new DeadlineWebFilter(options);
+
+        long route = remainingAfterFilter(filter, MockServerHttpRequest.get("/demo/async").build());
+        assertTrue(route > 5000 && route <= 30000, "route=" + route);
+
+        long header = remainingAfterFilter(filter, MockServerHttpRequest.get("/demo/async")
+                .header(options.getHeader(), "100000").build());
+        assertTrue(header > 0 && header <= 5000, "header=" + header);
+
+        assertEquals(-1, remainingAfterFilter(filter, MockServerHttpRequest.get("/demo/other").build()));
+    }
+
+    @Test
+    void disabledFilterPassesThrough() {
+        DeadlineOptions options = new DeadlineOptions();
+        options.setEnabled(false);
+        options.getRouteTimeoutMillis().put("/demo/async", 30000L);
+        DeadlineWebFilter filter = new DeadlineWebFilter(options);
+        assertEquals(-1, remainingAfterFilter(filter, MockServerHttpRequest.get("/demo/async").build()));
+    }
+
+    /**
+     * 过滤后链路上看到的剩余预算，没有截止时间时为 -1
+     */
+    private static long remainingAfterFilter(DeadlineWebFilter filter, MockServerHttpRequest request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        AtomicReference<Deadline> fromContext = new AtomicReference<>();
+        filter.filter(exchange, e -> Mono.deferContextual(context -> {
+            fromContext.set(Deadline.from(context));
+            return Mono.<Void>empty();
+        })).block();
+        Deadline deadline = Deadline.from(exchange);
+        if (deadline == null) {
+            assertNull(fromContext.get());
+            return -1;
+        }
+        assertNotNull(fromContext.get());
+        assertSame(deadline, fromContext.get());
+        return deadline.remainingMillis();
+    }
+}
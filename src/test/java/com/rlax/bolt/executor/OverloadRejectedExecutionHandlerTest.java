@@ -0,0 +1,148 @@
+package com.rlax.bolt.executor;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public class OverloadRejectedExecutionHandlerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private ThreadPoolExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 单线程 + 容量为 1 的队列，线程被占住后再提交一个任务即填满队列
+     */
+    private Counter saturate(OverloadPolicy policy, Runnable queued) {
+        Counter rejected = registry.counter("bolt.executor.rejected", "policy", policy.name());
+        executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1),
+                new OverloadRejectedExecutionHandler("test", policy, rejected));
+        executor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        executor.execute(queued);
+        return rejected;
+    }
+
+    @Test
+    void failFast() {
+        Counter rejected = saturate(OverloadPolicy.FAIL_FAST, () -> { });
+
+        ExecutorOverloadException e = assertThrows(ExecutorOverloadException.class, () -> executor.execute(() -> { }));
+        assertTrue(e.getMessage().contains("test"));
+        assertEquals(1, rejected.count());
+    }
+
+    @Test
+    void shedOldest() throws InterruptedException {
+        List<String> done = new CopyOnWriteArrayList<>();
+        Counter rejected = saturate(OverloadPolicy.SHED_OLDEST, () -> done.add("oldest"));
+
+        executor.execute(() -> done.add("newest"));
+        release.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(1, done.size());
+        assertEquals("newest", done.get(0));
+        assertEquals(1, rejected.count());
+    }
+
+    @Test
+    void shedFutureCancelled() {
+        FutureTask<String> oldest = new FutureTask<>(() -> "oldest");
+        saturate(OverloadPolicy.SHED_OLDEST, oldest);
+
+        executor.execute(() -> { });
+        assertTrue(oldest.isCancelled());
+    }
+
+    @Test
+    void shedWrappedFutureCancelled() {
+        FutureTask<String> oldest = new FutureTask<>(() -> "oldest");
+        saturate(OverloadPolicy.SHED_OLDEST, new WrappedTask() {
+            @Override
+            public void run() {
+                oldest.run();
+            }
+
+            @Override
+            public Runnable unwrap() {
+                return oldest;
+            }
+        });
+
+        executor.execute(() -> { });
+        assertTrue(oldest.isCancelled());
+    }
+
+    @Test
+    void shedOldestWithoutQueueFailsFast() {
+        Counter rejected = registry.counter("bolt.executor.rejected", "policy", "zero");
+        executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new SynchronousQueue<>(),
+                new OverloadRejectedExecutionHandler("test", OverloadPolicy.SHED_OLDEST, rejected));
+        executor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        assertThrows(ExecutorOverloadException.class, () -> executor.execute(() -> { }));
+        assertEquals(1, rejected.count());
+    }
+
+    @Test
+    void callerRuns() {
+        Thread caller = Thread.currentThread();
+        Thread[] ranOn = new Thread[1];
+        Counter rejected = saturate(OverloadPolicy.CALLER_RUNS, () -> { });
+
+        executor.execute(() -> ranOn[0] = Thread.currentThread());
+        assertEquals(caller, ranOn[0]);
+        assertEquals(1, rejected.count());
+    }
+
+    @Test
+    void rejectAfterShutdown() {
+        Counter rejected = saturate(OverloadPolicy.CALLER_RUNS, () -> { });
+        executor.shutdown();
+
+        Thread[] ranOn = new Thread[1];
+        assertThrows(ExecutorOverloadException.class, () -> executor.execute(() -> ranOn[0] = Thread.currentThread()));
+        assertNotEquals(Thread.currentThread(), ranOn[0]);
+        assertEquals(1, rejected.count());
+    }
+}
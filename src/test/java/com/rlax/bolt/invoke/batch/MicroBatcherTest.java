@@ -0,0 +1,124 @@
+package com.rlax.bolt.invoke.batch;
+
+import com.alipay.remoting.InvokeCallback;
+import com.alipay.remoting.rpc.exception.InvokeServerException;
+import com.alipay.remoting.rpc.exception.InvokeTimeoutException;
+import com.rlax.bolt.message.BatchItemError;
+import com.rlax.bolt.message.BatchRequest;
+import com.rlax.bolt.message.BatchResponse;
+import org.junit.jupiter.api.Test;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public class MicroBatcherTest {
+
+    private static BatchOptions options(int maxBatchSize, long lingerMillis) {
+        BatchOptions options = new BatchOptions();
+        options.setEnabled(true);
+        options.setMaxBatchSize(maxBatchSize);
+        options.setLingerMillis(lingerMillis);
+        return options;
+    }
+
+    @Test
+    void flushWhenFull() {
+        List<BatchRequest> sent = new CopyOnWriteArrayList<>();
+        MicroBatcher<String> batcher = new MicroBatcher<>("test", (key, batch, callback, timeout) -> {
+            sent.add(batch);
+            List<Object> results = new ArrayList<>();
+            for (Object item : batch.getItems()) {
+                results.add("echo " + item);
+            }
+            callback.onResponse(new BatchResponse(results));
+        }, options(4, 10000));
+
+        List<Object> responses = Flux.range(0, 8)
+                .flatMap(i -> batcher.submit("127.0.0.1:8899", i, 1000))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertEquals(8, responses.size());
+        assertEquals(2, sent.size());
+        assertEquals(4, sent.get(0).getItems().size());
+        batcher.shutdown();
+    }
+
+    @Test
+    void flushAfterLinger() {
+        List<BatchRequest> sent = new CopyOnWriteArrayList<>();
+        MicroBatcher<String> batcher = new MicroBatcher<>("test", (key, batch, callback, timeout) -> {
+            sent.add(batch);
+            List<Object> results = new ArrayList<>(batch.getItems());
+            callback.onResponse(new BatchResponse(results));
+        }, options(64, 5));
+
+        Object response = batcher.submit("127.0.0.1:8899", "hello", 1000).block(Duration.ofSeconds(5));
+
+        assertEquals("hello", response);
+        assertEquals(1, sent.size());
+        batcher.shutdown();
+    }
+
+    @Test
+    void itemErrorOnlyFailsItsRequest() {
+        MicroBatcher<String> batcher = new MicroBatcher<>("test", (key, batch, callback, timeout) -> {
+            List<Object> results = new ArrayList<>();
+            results.add("ok");
+            results.add(new BatchItemError(new IllegalStateException("boom")));
+            callback.onResponse(new BatchResponse(results));
+        }, options(2, 10000));
+
+        Mono<Object> first = batcher.submit("127.0.0.1:8899", "a", 1000).cache();
+        Mono<Object> second = batcher.submit("127.0.0.1:8899", "b", 1000).cache();
+        first.subscribe(r -> { }, e -> { });
+        second.subscribe(r -> { }, e -> { });
+
+        assertEquals("ok", first.block(Duration.ofSeconds(5)));
+        RuntimeException e = assertThrows(RuntimeException.class, () -> second.block(Duration.ofSeconds(5)));
+        assertTrue(Exceptions.unwrap(e) instanceof InvokeServerException);
+        batcher.shutdown();
+    }
+
+    @Test
+    void itemFailsOnItsOwnTimeout() {
+        AtomicReference<InvokeCallback> pendingCallback = new AtomicReference<>();
+        AtomicInteger batchTimeout = new AtomicInteger();
+        MicroBatcher<String> batcher = new MicroBatcher<>("test", (key, batch, callback, timeout) -> {
+            batchTimeout.set(timeout);
+            pendingCallback.set(callback);
+        }, options(2, 10000));
+
+        Mono<Object> fast = batcher.submit("127.0.0.1:8899", "a", 50).cache();
+        Mono<Object> slow = batcher.submit("127.0.0.1:8899", "b", 5000).cache();
+        fast.subscribe(r -> { }, e -> { });
+        slow.subscribe(r -> { }, e -> { });
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> fast.block(Duration.ofSeconds(5)));
+        assertTrue(Exceptions.unwrap(e) instanceof InvokeTimeoutException);
+        assertEquals(5000, batchTimeout.get());
+
+        // 迟到的结果只完成未超时的请求
+        List<Object> results = new ArrayList<>();
+        results.add("late");
+        results.add("ok");
+        pendingCallback.get().onResponse(new BatchResponse(results));
+        assertEquals("ok", slow.block(Duration.ofSeconds(5)));
+        batcher.shutdown();
+    }
+}
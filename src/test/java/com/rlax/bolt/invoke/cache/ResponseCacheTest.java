@@ -0,0 +1,108 @@
+package com.rlax.bolt.invoke.cache;
+
+import com.rlax.bolt.message.RequestBody;
+import com.rlax.bolt.metrics.BoltMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public class ResponseCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final ResponseCache cache = new ResponseCache(options(), new BoltMetrics(registry, false), now::get);
+
+    private static ResponseCacheOptions options() {
+        ResponseCacheOptions options = new ResponseCacheOptions();
+        options.setEnabled(true);
+        options.setMaximumSize(100);
+        options.getRouteTtlMillis().put("/q", 1000L);
+        options.getRouteTtlMillis().put("/short", 10L);
+        return options;
+    }
+
+    @Test
+    void hitIgnoresCallIdentity() {
+        assertEquals("r1", query("/q", "station-1", new RequestBody(1, "a", "t1")));
+        assertEquals("r1", query("/q", "station-1", new RequestBody(2, "a", "t2")));
+
+        assertEquals(1, calls.get());
+        assertEquals(1.0, registry.get("bolt.cache.requests").tag("route", "/q").tag("result", "hit").counter().count());
+        assertEquals(1.0, registry.get("bolt.cache.requests").tag("route", "/q").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void keyedByStationAndContent() {
+        query("/q", "station-1", new RequestBody(1, "a", null));
+        query("/q", "station-2", new RequestBody(1, "a", null));
+        query("/q", "station-1", new RequestBody(1, "b", null));
+
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void perRouteTtl() {
+        query("/q", "station-1", new RequestBody(1, "a", null));
+        query("/short", "station-1", new RequestBody(1, "a", null));
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(20));
+        query("/q", "station-1", new RequestBody(1, "a", null));
+        query("/short", "station-1", new RequestBody(1, "a", null));
+
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void unconfiguredRouteNotCached() {
+        query("/other", "station-1", new RequestBody(1, "a", null));
+        query("/other", "station-1", new RequestBody(1, "a", null));
+
+        assertEquals(2, calls.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void invalidateStation() {
+        query("/q", "station-1", new RequestBody(1, "a", null));
+        query("/q", "station-2", new RequestBody(1, "a", null));
+        cache.invalidateStation("station-1");
+        query("/q", "station-1", new RequestBody(1, "a", null));
+        query("/q", "station-2", new RequestBody(1, "a", null));
+
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void loadRacingInvalidationNotStored() {
+        RequestBody request = new RequestBody(1, "a", null);
+        String result = cache.<String>get("/q", "station-1", request, () -> {
+            cache.invalidateAll();
+            return Mono.just("stale");
+        }).block();
+
+        assertEquals("stale", result);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void emptyResponseNotStored() {
+        cache.get("/q", "station-1", new RequestBody(1, "a", null), Mono::empty).block();
+        cache.cleanUp();
+
+        assertEquals(0, cache.size());
+    }
+
+    private String query(String route, String stationId, RequestBody request) {
+        return cache.<String>get(route, stationId, request, () -> Mono.just("r" + calls.incrementAndGet())).block();
+    }
+}
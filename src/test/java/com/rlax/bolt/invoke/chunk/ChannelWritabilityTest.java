@@ -0,0 +1,56 @@
+package com.rlax.bolt.invoke.chunk;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public class ChannelWritabilityTest {
+
+    @Test
+    void releasedWhenWritable() {
+        EmbeddedChannel channel = unwritableChannel();
+        AtomicBoolean released = new AtomicBoolean();
+        ChannelWritability.awaitWritable(channel).subscribe(null, null, () -> released.set(true));
+        assertFalse(released.get());
+
+        channel.flush();
+        assertTrue(released.get());
+        assertEquals(0, handler(channel).waiters());
+    }
+
+    @Test
+    void cancelRemovesWaiter() {
+        EmbeddedChannel channel = unwritableChannel();
+        Disposable first = ChannelWritability.awaitWritable(channel).subscribe();
+        Disposable second = ChannelWritability.awaitWritable(channel).subscribe();
+        assertEquals(2, handler(channel).waiters());
+
+        first.dispose();
+        second.dispose();
+        assertEquals(0, handler(channel).waiters());
+    }
+
+    private static EmbeddedChannel unwritableChannel() {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        channel.config().setWriteBufferWaterMark(new WriteBufferWaterMark(1, 2));
+        channel.write(Unpooled.buffer(8).writeZero(8));
+        assertFalse(channel.isWritable());
+        return channel;
+    }
+
+    private static ChannelWritability.WritabilityHandler handler(EmbeddedChannel channel) {
+        return (ChannelWritability.WritabilityHandler) channel.pipeline().get(ChannelWritability.HANDLER_NAME);
+    }
+}
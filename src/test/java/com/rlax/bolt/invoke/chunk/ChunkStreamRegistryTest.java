@@ -0,0 +1,95 @@
+package com.rlax.bolt.invoke.chunk;
+
+import com.alipay.remoting.AsyncContext;
+import com.rlax.bolt.message.ChunkFrame;
+import com.rlax.bolt.processor.ExceptionResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public class ChunkStreamRegistryTest {
+
+    private final ChunkStreamRegistry registry = new ChunkStreamRegistry(8);
+
+    @Test
+    void acksOnlyWhenDownstreamRequests() {
+        ChunkStreamRegistry.Receiver receiver = registry.open("s1");
+        Ack a0 = new Ack();
+        Ack a1 = new Ack();
+        Ack end = new Ack();
+        registry.onFrame(data("s1", 1, "world"), a1);
+        registry.onFrame(data("s1", 0, "hello "), a0);
+
+        StepVerifier.create(receiver.flux().map(ChunkStreamRegistryTest::text), 0)
+                .then(() -> assertEquals(0, a0.responses.size() + a1.responses.size()))
+                .thenRequest(1)
+                .expectNext("hello ")
+                .then(() -> {
+                    assertEquals(1, a0.responses.size());
+                    assertEquals(0, a1.responses.size());
+                })
+                .thenRequest(1)
+                .expectNext("world")
+                .then(() -> registry.onFrame(ChunkFrame.end("s1", 2, 11), end))
+                .verifyComplete();
+
+        assertEquals(1, end.responses.size());
+        assertEquals(0, registry.activeStreams());
+    }
+
+    @Test
+    void cancelFailsUnackedFrames() {
+        ChunkStreamRegistry.Receiver receiver = registry.open("s2");
+        Ack a0 = new Ack();
+        registry.onFrame(data("s2", 0, "x"), a0);
+
+        StepVerifier.create(receiver.flux(), 0)
+                .thenCancel()
+                .verify();
+        registry.close("s2");
+
+        assertTrue(a0.responses.get(0) instanceof ExceptionResponse);
+        Ack late = new Ack();
+        registry.onFrame(data("s2", 1, "y"), late);
+        assertTrue(late.responses.get(0) instanceof ExceptionResponse);
+    }
+
+    @Test
+    void stationAbortErrorsDownstream() {
+        ChunkStreamRegistry.Receiver receiver = registry.open("s3");
+
+        StepVerifier.create(receiver.flux())
+                .then(() -> registry.onFrame(ChunkFrame.abort("s3"), new Ack()))
+                .verifyError(CancellationException.class);
+    }
+
+    private static ChunkFrame data(String streamId, int seq, String text) {
+        return ChunkFrame.data(streamId, seq, text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String text(DataBuffer buffer) {
+        return buffer.toString(StandardCharsets.UTF_8);
+    }
+
+    private static class Ack implements AsyncContext {
+
+        private final List<Object> responses = new ArrayList<>();
+
+        @Override
+        public void sendResponse(Object responseObject) {
+            responses.add(responseObject);
+        }
+    }
+}
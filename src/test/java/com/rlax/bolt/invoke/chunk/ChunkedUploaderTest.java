@@ -0,0 +1,151 @@
+package com.rlax.bolt.invoke.chunk;
+
+import com.alipay.remoting.Connection;
+import com.rlax.bolt.invoke.ReactiveBoltInvoker;
+import com.rlax.bolt.message.ChunkFrame;
+import com.rlax.bolt.server.BoltServer;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public class ChunkedUploaderTest {
+
+    private final NettyDataBufferFactory bufferFactory = new NettyDataBufferFactory(ByteBufAllocator.DEFAULT);
+
+    /** 按发送顺序记录的帧 */
+    private final List<ChunkFrame> sent = new CopyOnWriteArrayList<>();
+    /** 未应答的 DATA 帧 */
+    private final List<Sinks.One<Object>> unacked = new CopyOnWriteArrayList<>();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    private final ReactiveBoltInvoker invoker = new ReactiveBoltInvoker(new BoltServer(0), null) {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> Mono<T> invoke(Connection connection, Object request, int timeoutMillis) {
+            ChunkFrame frame = (ChunkFrame) request;
+            sent.add(frame);
+            switch (frame.getType()) {
+                case DATA:
+                    Sinks.One<Object> ack = Sinks.one();
+                    unacked.add(ack);
+                    maxInFlight.accumulateAndGet(unacked.size(), Math::max);
+                    return (Mono<T>) ack.asMono().doOnTerminate(() -> unacked.remove(ack));
+                case END:
+                    return (Mono<T>) Mono.just("done");
+                default:
+                    return Mono.empty();
+            }
+        }
+    };
+
+    private ChunkedUploader uploader(int chunkBytes, int window) {
+        ChunkOptions options = new ChunkOptions();
+        options.setChunkBytes(chunkBytes);
+        options.setWindow(window);
+        return new ChunkedUploader(invoker, options);
+    }
+
+    @Test
+    void windowBoundsInFlightAndUpstreamReads() {
+        AtomicInteger read = new AtomicInteger();
+        Flux<DataBuffer> content = Flux.range(0, 10)
+                .map(i -> buffer("abcd"))
+                .doOnNext(buffer -> read.incrementAndGet());
+        AtomicReference<Object> result = new AtomicReference<>();
+
+        uploader(4, 2).<String>upload(null, "a.txt", 40, content).subscribe(result::set, result::set);
+
+        assertEquals(2, unacked.size());
+        // 分块未应答时不继续读取上游：窗口内的 2 块加上重新切分的预取
+        assertTrue(read.get() <= 4, "read " + read.get());
+
+        unacked.get(0).tryEmitValue("ack");
+        assertEquals(2, unacked.size());
+        assertEquals(3, dataFrames().size());
+
+        while (!unacked.isEmpty()) {
+            unacked.get(0).tryEmitValue("ack");
+        }
+        assertEquals("done", result.get());
+        assertEquals(2, maxInFlight.get());
+        assertEquals(10, read.get());
+
+        List<ChunkFrame> data = dataFrames();
+        assertEquals(10, data.size());
+        for (int i = 0; i < data.size(); i++) {
+            assertEquals(i, data.get(i).getSeq());
+        }
+        ChunkFrame end = sent.get(sent.size() - 1);
+        assertEquals(ChunkFrame.Type.END, end.getType());
+        assertEquals(10, end.getSeq());
+        assertEquals(40, end.getLength());
+    }
+
+    @Test
+    void failedChunkAbortsStream() {
+        AtomicReference<Object> result = new AtomicReference<>();
+        Flux<DataBuffer> content = Flux.just(buffer("abcd"), buffer("efgh"));
+
+        uploader(4, 2).<String>upload(null, "a.txt", 8, content).subscribe(result::set, result::set);
+        unacked.get(0).tryEmitError(new IllegalStateException("station failed"));
+
+        assertTrue(result.get() instanceof IllegalStateException);
+        assertEquals(ChunkFrame.Type.ABORT, sent.get(sent.size() - 1).getType());
+    }
+
+    @Test
+    void rechunkerSplitsAndJoins() {
+        ChunkedUploader.Rechunker rechunker = new ChunkedUploader.Rechunker(4);
+        DataBuffer first = buffer("abc");
+        DataBuffer second = buffer("defghij");
+
+        assertEquals(0, rechunker.accept(first).size());
+        List<String> chunks = new ArrayList<>();
+        for (byte[] chunk : rechunker.accept(second)) {
+            chunks.add(new String(chunk, StandardCharsets.UTF_8));
+        }
+        assertEquals(2, chunks.size());
+        assertEquals("abcd", chunks.get(0));
+        assertEquals("efgh", chunks.get(1));
+        assertEquals("ij", new String(rechunker.flush(), StandardCharsets.UTF_8));
+        assertNull(rechunker.flush());
+
+        // 读取后已释放
+        assertEquals(0, NettyDataBufferFactory.toByteBuf(first).refCnt());
+        assertEquals(0, NettyDataBufferFactory.toByteBuf(second).refCnt());
+    }
+
+    private List<ChunkFrame> dataFrames() {
+        List<ChunkFrame> data = new ArrayList<>();
+        for (ChunkFrame frame : sent) {
+            if (frame.getType() == ChunkFrame.Type.DATA) {
+                data.add(frame);
+            }
+        }
+        return data;
+    }
+
+    private DataBuffer buffer(String text) {
+        return bufferFactory.wrap(Unpooled.copiedBuffer(text, StandardCharsets.UTF_8));
+    }
+}
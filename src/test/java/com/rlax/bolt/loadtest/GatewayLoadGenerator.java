@@ -0,0 +1,277 @@
+package com.rlax.bolt.loadtest;
+
+import com.alipay.remoting.AsyncContext;
+import com.alipay.remoting.BizContext;
+import com.alipay.remoting.ConnectionEventType;
+import com.alipay.remoting.rpc.RpcClient;
+import com.alipay.remoting.rpc.protocol.AsyncUserProcessor;
+import com.rlax.bolt.client.processor.MyClientConnectEventProcessor;
+import com.rlax.bolt.message.RequestBody;
+import com.rlax.bolt.processor.BatchUserProcessor;
+import com.rlax.bolt.serialization.CustomSerializerRegistrar;
+import com.rlax.bolt.serialization.RequestBodySerializer;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+
+/**
+ * WebFlux 网关开环压测工具
+ * <p>
+ * 启动 N 个模拟站级客户端连接 BoltServer 并上报站级 id，随后按固定到达率（开环）分别压测
+ * /demo/async、/demo/timeout、/test/client/async。延迟从计划发送时刻开始计算，
+ * 压测端落后时不会掩盖排队时间（coordinated omission），各端点分别记录 HdrHistogram 分位数并输出报告。
+ * <p>
+ * 参数均为系统属性，如：
+ * <pre>
+ * -Dloadtest.rate=500 -Dloadtest.stations=100 -Dloadtest.durationSeconds=60 -Dloadtest.targetP99Millis=50
+ * </pre>
+ *
+ * @author Rlax
+ * @date 2026/10/18
+ */
+@Slf4j
+public class GatewayLoadGenerator {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    public static void main(String[] args) throws Exception {
+        String gateway = System.getProperty("loadtest.gateway", "http://127.0.0.1:12000");
+        String boltAddress = System.getProperty("loadtest.boltAddress", "127.0.0.1:8899");
+        int stations = Integer.getInteger("loadtest.stations", 10);
+        double rate = Double.parseDouble(System.getProperty("loadtest.rate", "200"));
+        long durationSeconds = Long.getLong("loadtest.durationSeconds", 60L);
+        long warmupSeconds = Long.getLong("loadtest.warmupSeconds", 10L);
+        long stationServiceMillis = Long.getLong("loadtest.stationServiceMillis", 0L);
+        long targetP99Millis = Long.getLong("loadtest.targetP99Millis", 0L);
+        Path report = Paths.get(System.getProperty("loadtest.report", "target/loadtest-report.txt"));
+        if (Boolean.parseBoolean(System.getProperty("loadtest.binaryRequestBody", "true"))) {
+            new CustomSerializerRegistrar().register(RequestBody.class.getName(), new RequestBodySerializer());
+        }
+
+        ScheduledExecutorService stationTimer = Executors.newSingleThreadScheduledExecutor();
+        List<RpcClient> stationClients = startStations(boltAddress, stations, stationServiceMillis, stationTimer);
+
+        ConnectionProvider provider = ConnectionProvider.builder("loadtest")
+                .maxConnections(Integer.getInteger("loadtest.maxConnections", 2000))
+                .pendingAcquireMaxCount(-1)
+                .build();
+        WebClient webClient = WebClient.builder()
+                .baseUrl(gateway)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(provider)))
+                .build();
+
+        List<OpenLoopDriver> drivers = new ArrayList<>();
+        drivers.add(new OpenLoopDriver("/demo/async", rate, seq -> get(webClient, "/demo/async?key=" + station(seq, stations), seq)));
+        drivers.add(new OpenLoopDriver("/demo/timeout", rate, seq -> get(webClient, "/demo/timeout?key=" + station(seq, stations), seq)));
+        drivers.add(new OpenLoopDriver("/test/client/async", rate, seq -> get(webClient, "/test/client/async", seq)));
+
+        List<Thread> threads = new ArrayList<>();
+        for (OpenLoopDriver driver : drivers) {
+            Thread thread = new Thread(() -> driver.run(TimeUnit.SECONDS.toNanos(warmupSeconds), TimeUnit.SECONDS.toNanos(durationSeconds)),
+                    "loadtest-" + driver.name);
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (OpenLoopDriver driver : drivers) {
+            driver.awaitOutstanding(TimeUnit.SECONDS.toNanos(30));
+        }
+
+        writeReport(report, drivers, rate, stations, durationSeconds, targetP99Millis);
+
+        stationClients.forEach(RpcClient::shutdown);
+        stationTimer.shutdown();
+        provider.dispose();
+    }
+
+    private static String station(long seq, int stations) {
+        return "loadtest-station-" + (seq % stations);
+    }
+
+    private static Mono<String> get(WebClient webClient, String uri, long seq) {
+        return webClient.get()
+                .uri(uri)
+                .header("traceId", "lt-" + seq)
+                .retrieve()
+                .bodyToMono(String.class)
+                .flatMap(body -> body.startsWith("请求异常") ? Mono.error(new IllegalStateException(body)) : Mono.just(body));
+    }
+
+    private static List<RpcClient> startStations(String address, int stations, long serviceMillis,
+                                                 ScheduledExecutorService timer) throws Exception {
+        List<RpcClient> clients = new ArrayList<>(stations);
+        for (int i = 0; i < stations; i++) {
+            SimulatedStationProcessor processor = new SimulatedStationProcessor(serviceMillis, timer);
+            MyClientConnectEventProcessor connectProcessor = new MyClientConnectEventProcessor();
+            connectProcessor.setStationId("loadtest-station-" + i);
+
+            RpcClient client = new RpcClient();
+            client.addConnectionEventProcessor(ConnectionEventType.CONNECT, connectProcessor);
+            client.registerUserProcessor(processor);
+            client.registerUserProcessor(new BatchUserProcessor(processor));
+            connectProcessor.setRpcClient(client);
+            client.startup();
+            client.getConnection(address, 3000);
+            clients.add(client);
+        }
+        log.info("已启动 {} 个模拟站级客户端，连接 {}", stations, address);
+        // 等待注册消息到达服务端
+        TimeUnit.SECONDS.sleep(1);
+        return clients;
+    }
+
+    private static void writeReport(Path report, List<OpenLoopDriver> drivers, double rate, int stations,
+                                    long durationSeconds, long targetP99Millis) throws IOException {
+        if (report.getParent() != null) {
+            Files.createDirectories(report.getParent());
+        }
+        try (PrintStream out = new PrintStream(Files.newOutputStream(report), true, "UTF-8")) {
+            out.printf("open-loop load test: rate=%.1f/s per endpoint, stations=%d, duration=%ds%n%n", rate, stations, durationSeconds);
+            for (OpenLoopDriver driver : drivers) {
+                driver.summary(out, targetP99Millis);
+            }
+            for (OpenLoopDriver driver : drivers) {
+                out.printf("%n==== %s percentile distribution (ms) ====%n", driver.name);
+                driver.histogram.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        for (OpenLoopDriver driver : drivers) {
+            driver.summary(System.out, targetP99Millis);
+        }
+        log.info("压测报告已写入 {}", report.toAbsolutePath());
+    }
+
+    /**
+     * 固定到达率驱动，请求按计划时刻发出，不等待上一个请求完成
+     */
+    static class OpenLoopDriver {
+
+        private final String name;
+        private final double ratePerSecond;
+        private final LongFunction<Mono<?>> requestFactory;
+        private final Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final AtomicLong sent = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong outstanding = new AtomicLong();
+        private volatile long measuredNanos;
+
+        OpenLoopDriver(String name, double ratePerSecond, LongFunction<Mono<?>> requestFactory) {
+            this.name = name;
+            this.ratePerSecond = ratePerSecond;
+            this.requestFactory = requestFactory;
+        }
+
+        void run(long warmupNanos, long durationNanos) {
+            long interval = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+            long start = System.nanoTime();
+            long end = start + warmupNanos + durationNanos;
+            for (long seq = 0; ; seq++) {
+                long intended = start + seq * interval;
+                if (intended - end >= 0) {
+                    break;
+                }
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                fire(seq, intended, intended - start >= warmupNanos);
+            }
+            measuredNanos = durationNanos;
+        }
+
+        private void fire(long seq, long intended, boolean measured) {
+            outstanding.incrementAndGet();
+            if (measured) {
+                sent.incrementAndGet();
+            }
+            requestFactory.apply(seq).subscribe(
+                    body -> { },
+                    e -> complete(intended, measured, false),
+                    () -> complete(intended, measured, true));
+        }
+
+        private void complete(long intended, boolean measured, boolean success) {
+            outstanding.decrementAndGet();
+            if (!measured) {
+                return;
+            }
+            // 从计划发送时刻计算延迟，修正 coordinated omission
+            long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended);
+            histogram.recordValue(Math.min(latencyMicros, HIGHEST_TRACKABLE_MICROS));
+            if (!success) {
+                errors.incrementAndGet();
+            }
+        }
+
+        void awaitOutstanding(long timeoutNanos) {
+            long deadline = System.nanoTime() + timeoutNanos;
+            while (outstanding.get() > 0 && System.nanoTime() - deadline < 0) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(100));
+            }
+        }
+
+        void summary(PrintStream out, long targetP99Millis) {
+            double p99Millis = histogram.getValueAtPercentile(99.0) / 1000.0;
+            String verdict = targetP99Millis <= 0 ? "" : (p99Millis <= targetP99Millis ? " PASS" : " FAIL") + " (target p99 " + targetP99Millis + "ms)";
+            out.printf("%-20s sent=%d done=%d errors=%d lost=%d achieved=%.1f/s p50=%.2fms p90=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms%s%n",
+                    name, sent.get(), histogram.getTotalCount(), errors.get(), outstanding.get(),
+                    histogram.getTotalCount() / Math.max(1.0, measuredNanos / 1e9),
+                    histogram.getValueAtPercentile(50.0) / 1000.0,
+                    histogram.getValueAtPercentile(90.0) / 1000.0,
+                    p99Millis,
+                    histogram.getValueAtPercentile(99.9) / 1000.0,
+                    histogram.getMaxValue() / 1000.0,
+                    verdict);
+        }
+    }
+
+    /**
+     * 模拟站级客户端，按配置的服务时间异步响应，不占用线程
+     */
+    static class SimulatedStationProcessor extends AsyncUserProcessor<RequestBody> {
+
+        private final long serviceMillis;
+        private final ScheduledExecutorService timer;
+
+        SimulatedStationProcessor(long serviceMillis, ScheduledExecutorService timer) {
+            this.serviceMillis = serviceMillis;
+            this.timer = timer;
+        }
+
+        @Override
+        public void handleRequest(BizContext bizCtx, AsyncContext asyncCtx, RequestBody request) {
+            String response = "loadtest station ok, traceId: " + request.getTraceId();
+            if (serviceMillis <= 0) {
+                asyncCtx.sendResponse(response);
+            } else {
+                timer.schedule(() -> asyncCtx.sendResponse(response), serviceMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        @Override
+        public String interest() {
+            return RequestBody.class.getName();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.rlax.bolt.metrics;
+
+import com.rlax.bolt.server.breaker.CircuitState;
+import io.micrometer.core.instrument.search.Search;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public class BoltMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void removeTargetDropsStationMeters() {
+        BoltMetrics metrics = new BoltMetrics(registry, true);
+        metrics.startInvoke(BoltMetrics.DIRECTION_SERVER_TO_CLIENT, "station-1", "callback").success();
+        metrics.startInvoke(BoltMetrics.DIRECTION_SERVER_TO_CLIENT, "station-2", "callback").success();
+        metrics.circuitBreakerTransition("station-1", CircuitState.OPEN).increment();
+        metrics.circuitBreakerRejected("station-1").increment();
+
+        metrics.removeTarget("station-1");
+
+        assertTrue(Search.in(registry).tag("target", "station-1").meters().isEmpty());
+        assertNotNull(registry.find("bolt.invoke.inflight").tag("target", "station-2").gauge());
+
+        // 重连后再次调用时重新注册
+        metrics.startInvoke(BoltMetrics.DIRECTION_SERVER_TO_CLIENT, "station-1", "callback");
+        assertEquals(1, registry.get("bolt.invoke.inflight").tag("target", "station-1").gauge().value());
+    }
+
+    @Test
+    void allTargetsByDefault() {
+        BoltMetrics metrics = new BoltMetrics(registry, false);
+        metrics.startInvoke(BoltMetrics.DIRECTION_SERVER_TO_CLIENT, "station-1", "callback").success();
+
+        assertNull(registry.find("bolt.invoke").tag("target", "station-1").timer());
+        assertNotNull(registry.find("bolt.invoke").tag("target", "all").timer());
+        metrics.removeTarget("station-1");
+        assertNotNull(registry.find("bolt.invoke").tag("target", "all").timer());
+    }
+}
@@ -0,0 +1,127 @@
+package com.rlax.bolt.processor;
+
+import com.alipay.remoting.BizContext;
+import com.rlax.bolt.message.ChunkFrame;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public class ChunkAssemblingUserProcessorTest {
+
+    private final ByteArrayOutputStream received = new ByteArrayOutputStream();
+    private final AtomicReference<Throwable> error = new AtomicReference<>();
+    private final AtomicInteger opened = new AtomicInteger();
+
+    private final ChunkAssemblingUserProcessor processor = new ChunkAssemblingUserProcessor(2, 60_000) {
+        @Override
+        protected ChunkSink open(BizContext bizCtx, ChunkFrame open) throws IOException {
+            if ("fail".equals(open.getName())) {
+                throw new IOException("open failed");
+            }
+            opened.incrementAndGet();
+            return new ChunkSink() {
+                @Override
+                public void onChunk(byte[] data) {
+                    received.write(data, 0, data.length);
+                }
+
+                @Override
+                public Object onComplete() {
+                    return received.toString();
+                }
+
+                @Override
+                public void onError(Throwable e) {
+                    error.set(e);
+                }
+            };
+        }
+    };
+
+    @Test
+    void reordersOutOfOrderFrames() throws Exception {
+        processor.handleRequest(null, ChunkFrame.open("s1", "a.txt", 9));
+        processor.handleRequest(null, data("s1", 2, "ghi"));
+        processor.handleRequest(null, data("s1", 1, "def"));
+        processor.handleRequest(null, data("s1", 1, "def"));
+        assertEquals("", received.toString());
+
+        processor.handleRequest(null, data("s1", 0, "abc"));
+        Object result = processor.handleRequest(null, ChunkFrame.end("s1", 3, 9));
+
+        assertEquals("abcdefghi", result);
+        assertEquals(0, processor.activeStreams());
+        assertNull(error.get());
+    }
+
+    @Test
+    void incompleteStreamFails() throws Exception {
+        processor.handleRequest(null, ChunkFrame.open("s2", null, -1));
+        processor.handleRequest(null, data("s2", 0, "abc"));
+
+        assertThrows(IllegalStateException.class, () -> processor.handleRequest(null, ChunkFrame.end("s2", 2, 6)));
+        assertTrue(error.get() instanceof IllegalStateException);
+        assertEquals(0, processor.activeStreams());
+    }
+
+    @Test
+    void pendingFramesBounded() throws Exception {
+        processor.handleRequest(null, ChunkFrame.open("s3", null, -1));
+        processor.handleRequest(null, data("s3", 1, "b"));
+        processor.handleRequest(null, data("s3", 2, "c"));
+
+        assertThrows(IllegalStateException.class, () -> processor.handleRequest(null, data("s3", 3, "d")));
+        assertThrows(IllegalStateException.class, () -> processor.handleRequest(null, data("s3", 0, "a")));
+    }
+
+    @Test
+    void abortReleasesSink() throws Exception {
+        processor.handleRequest(null, ChunkFrame.open("s4", null, -1));
+        processor.handleRequest(null, ChunkFrame.abort("s4"));
+
+        assertTrue(error.get() instanceof CancellationException);
+        assertEquals(0, processor.activeStreams());
+    }
+
+    @Test
+    void duplicateOpenKeepsLiveStream() throws Exception {
+        processor.handleRequest(null, ChunkFrame.open("s5", "a.txt", 6));
+        processor.handleRequest(null, data("s5", 0, "abc"));
+
+        assertThrows(IllegalStateException.class, () -> processor.handleRequest(null, ChunkFrame.open("s5", "a.txt", 6)));
+        // 重复的 OPEN 没有再次打开目标，也没有中止已有的流
+        assertEquals(1, opened.get());
+        assertNull(error.get());
+
+        processor.handleRequest(null, data("s5", 1, "def"));
+        assertEquals("abcdef", processor.handleRequest(null, ChunkFrame.end("s5", 2, 6)));
+    }
+
+    @Test
+    void failedOpenFreesStreamId() throws Exception {
+        assertThrows(IOException.class, () -> processor.handleRequest(null, ChunkFrame.open("s6", "fail", -1)));
+        assertEquals(0, processor.activeStreams());
+        assertThrows(IllegalStateException.class, () -> processor.handleRequest(null, data("s6", 0, "a")));
+
+        processor.handleRequest(null, ChunkFrame.open("s6", "b.txt", -1));
+        assertEquals(1, processor.activeStreams());
+    }
+
+    private static ChunkFrame data(String streamId, int seq, String data) {
+        return ChunkFrame.data(streamId, seq, data.getBytes(StandardCharsets.UTF_8));
+    }
+}
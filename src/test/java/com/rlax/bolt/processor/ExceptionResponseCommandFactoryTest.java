@@ -0,0 +1,46 @@
+package com.rlax.bolt.processor;
+
+import com.alipay.remoting.ResponseStatus;
+import com.alipay.remoting.rpc.exception.RpcServerException;
+import com.alipay.remoting.rpc.protocol.RpcRequestCommand;
+import com.alipay.remoting.rpc.protocol.RpcResponseCommand;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public class ExceptionResponseCommandFactoryTest {
+
+    private final ExceptionResponseCommandFactory factory = new ExceptionResponseCommandFactory();
+
+    @Test
+    void exceptionResponseBecomesServerException() {
+        RpcResponseCommand response = factory.createResponse(
+                new ExceptionResponse(new IllegalStateException("boom")), request(42));
+
+        assertEquals(42, response.getId());
+        assertEquals(ResponseStatus.SERVER_EXCEPTION, response.getResponseStatus());
+        assertTrue(response.getResponseObject() instanceof RpcServerException);
+        assertTrue(((RpcServerException) response.getResponseObject()).getMessage().contains("boom"));
+    }
+
+    @Test
+    void throwableResultStaysSuccess() {
+        IllegalStateException result = new IllegalStateException("result");
+        RpcResponseCommand response = factory.createResponse(result, request(43));
+
+        assertEquals(ResponseStatus.SUCCESS, response.getResponseStatus());
+        assertSame(result, response.getResponseObject());
+    }
+
+    private static RpcRequestCommand request(int id) {
+        RpcRequestCommand request = new RpcRequestCommand("request");
+        request.setId(id);
+        return request;
+    }
+}
@@ -0,0 +1,135 @@
+package com.rlax.bolt.processor;
+
+import com.alipay.remoting.AsyncContext;
+import com.alipay.remoting.BizContext;
+import com.alipay.remoting.DefaultBizContext;
+import com.alipay.remoting.RemotingContext;
+import com.rlax.bolt.deadline.Deadline;
+import com.rlax.bolt.message.RequestBody;
+import com.rlax.bolt.trace.TraceContext;
+import com.rlax.bolt.trace.TraceHeaders;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public class NonBlockingUserProcessorTest {
+
+    private final AtomicBoolean handled = new AtomicBoolean();
+    private final AtomicReference<Deadline> deadline = new AtomicReference<>();
+    private final AtomicReference<TraceContext> trace = new AtomicReference<>();
+
+    private final NonBlockingUserProcessor<RequestBody> processor = new NonBlockingUserProcessor<RequestBody>() {
+        @Override
+        protected Mono<Object> handle(BizContext bizCtx, RequestBody request) {
+            handled.set(true);
+            if (request.getId() < 0) {
+                return Mono.error(new IllegalStateException("boom"));
+            }
+            return Mono.deferContextual(context -> {
+                deadline.set(Deadline.from(context));
+                trace.set(context.getOrDefault(TraceContext.CONTEXT_KEY, null));
+                return Mono.just("ok");
+            });
+        }
+
+        @Override
+        public String interest() {
+            return RequestBody.class.getName();
+        }
+    };
+
+    @Test
+    void expiredRequestDropped() {
+        RequestBody request = bufferRequest();
+        Responses responses = new Responses();
+
+        processor.handleRequest(bizContext(100, 1000), responses, request);
+
+        assertFalse(handled.get());
+        assertTrue(responses.list.isEmpty());
+        assertNull(request.getBodyBuffer());
+    }
+
+    @Test
+    void deadlineInReactorContext() {
+        RequestBody request = bufferRequest();
+        Responses responses = new Responses();
+
+        processor.handleRequest(bizContext(10_000, 0), responses, request);
+
+        assertTrue(handled.get());
+        assertEquals("ok", responses.list.get(0));
+        assertNotNull(deadline.get());
+        assertTrue(deadline.get().remainingMillis() > 0);
+        assertNull(request.getBodyBuffer());
+    }
+
+    @Test
+    void traceIdInReactorContext() {
+        TraceHeaders.received("trace-1");
+
+        processor.handleRequest(bizContext(10_000, 0), new Responses(), bufferRequest());
+        TraceHeaders.takeResponding();
+
+        assertNotNull(trace.get());
+        assertEquals("trace-1", trace.get().getTraceId());
+    }
+
+    @Test
+    void failureSentAsExceptionResponse() {
+        RequestBody request = bufferRequest();
+        request.setId(-1);
+        Responses responses = new Responses();
+
+        processor.handleRequest(bizContext(10_000, 0), responses, request);
+
+        assertTrue(responses.list.get(0) instanceof ExceptionResponse);
+        assertTrue(((ExceptionResponse) responses.list.get(0)).getCause() instanceof IllegalStateException);
+        assertNull(request.getBodyBuffer());
+    }
+
+    private static RequestBody bufferRequest() {
+        RequestBody request = new RequestBody(1, "msg", null);
+        request.setBodyBuffer(Unpooled.buffer(4).writeInt(1));
+        return request;
+    }
+
+    /**
+     * @param clientTimeout 调用方超时
+     * @param queuedMillis 到达后已等待的毫秒
+     */
+    private static BizContext bizContext(int clientTimeout, long queuedMillis) {
+        EmbeddedChannel channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+        RemotingContext remotingCtx = new RemotingContext(channel.pipeline().firstContext(), true);
+        remotingCtx.setTimeout(clientTimeout);
+        remotingCtx.setArriveTimestamp(System.currentTimeMillis() - queuedMillis);
+        return new DefaultBizContext(remotingCtx);
+    }
+
+    private static class Responses implements AsyncContext {
+
+        private final List<Object> list = new ArrayList<>();
+
+        @Override
+        public void sendResponse(Object responseObject) {
+            list.add(responseObject);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.rlax.bolt.serialization;
+
+import com.rlax.bolt.message.BatchRequest;
+import com.rlax.bolt.message.RequestBody;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public class BatchRequestSerializerTest {
+
+    @Test
+    void roundTripMixedItems() throws Exception {
+        RequestBody body = new RequestBody(5, 64);
+        body.setTraceId("trace-5");
+        BatchRequest batch = new BatchRequest(Arrays.asList(body, "plain", null));
+
+        BatchRequest decoded = BatchRequestSerializer.decode(BatchRequestSerializer.encode(batch));
+
+        assertEquals(3, decoded.getItems().size());
+        RequestBody decodedBody = (RequestBody) decoded.getItems().get(0);
+        assertEquals(5, decodedBody.getId());
+        assertEquals("trace-5", decodedBody.getTraceId());
+        assertArrayEquals(body.getBody(), decodedBody.getBody());
+        assertEquals("plain", decoded.getItems().get(1));
+        assertNull(decoded.getItems().get(2));
+    }
+
+    @Test
+    void requestBodyUsesBinaryCodec() throws Exception {
+        RequestBody body = new RequestBody(1, "hi", "t");
+        byte[] content = BatchRequestSerializer.encode(new BatchRequest(Arrays.asList(body)));
+
+        // version + count + type + length + RequestBodyCodec 编码
+        assertEquals(1 + 1 + 1 + 1 + RequestBodyCodec.encodedSize(body), content.length);
+    }
+
+    @Test
+    void truncatedContentRejected() throws Exception {
+        byte[] content = BatchRequestSerializer.encode(new BatchRequest(Arrays.asList(new RequestBody(1, 64))));
+        byte[] truncated = Arrays.copyOf(content, content.length - 10);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> BatchRequestSerializer.decode(truncated));
+        assertTrue(e.getMessage().contains("超过剩余字节数"));
+    }
+}
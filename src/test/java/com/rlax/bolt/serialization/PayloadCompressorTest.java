@@ -0,0 +1,109 @@
+package com.rlax.bolt.serialization;
+
+import com.rlax.bolt.message.RequestBody;
+import com.rlax.bolt.metrics.BoltMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public class PayloadCompressorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final PayloadCompressor compressor = new PayloadCompressor(new CompressionOptions(), new BoltMetrics(registry, false));
+
+    @Test
+    void smallContentUntouched() {
+        byte[] content = RequestBodyCodec.encode(new RequestBody(1, "hello", "trace-1"));
+
+        assertSame(content, compressor.compress(content));
+        assertFalse(PayloadCompressor.isCompressed(content));
+        assertSame(content, compressor.decompress(content));
+    }
+
+    @Test
+    void largeContentRoundTrip() {
+        RequestBody request = new RequestBody(7, "hello", "trace-1");
+        byte[] body = new byte[64 * 1024];
+        Arrays.fill(body, (byte) 'a');
+        request.setBody(body);
+        byte[] content = RequestBodyCodec.encode(request);
+
+        byte[] compressed = compressor.compress(content);
+
+        assertTrue(PayloadCompressor.isCompressed(compressed));
+        assertTrue(compressed.length < content.length / 10);
+        assertArrayEquals(content, compressor.decompress(compressed));
+        assertArrayEquals(body, RequestBodyCodec.decode(compressor.decompress(compressed)).getBody());
+        assertEquals(1, registry.get("bolt.codec.compression.ratio").summary().count());
+    }
+
+    @Test
+    void incompressibleContentSentAsIs() {
+        byte[] content = RequestBodyCodec.encode(new RequestBody(1, 64 * 1024));
+
+        assertSame(content, compressor.compress(content));
+        assertEquals(1, registry.get("bolt.codec.compression.skipped").counter().count());
+    }
+
+    @Test
+    void disabledStillDecompresses() {
+        byte[] content = compressible();
+        byte[] compressed = compressor.compress(content);
+        PayloadCompressor disabled = PayloadCompressor.disabled();
+
+        assertEquals(0, disabled.capabilities());
+        assertSame(content, disabled.compress(content));
+        assertArrayEquals(content, disabled.decompress(compressed));
+    }
+
+    @Test
+    void corruptedContentRejected() {
+        byte[] content = compressible();
+        byte[] compressed = compressor.compress(content);
+        compressed[3] = 0x7F;
+
+        assertThrows(IllegalArgumentException.class, () -> compressor.decompress(compressed));
+    }
+
+    @Test
+    void oversizedRawLengthRejected() {
+        CompressionOptions options = new CompressionOptions();
+        options.setMaxDecompressedBytes(1024);
+        PayloadCompressor limited = new PayloadCompressor(options, BoltMetrics.NOOP);
+        byte[] compressed = compressor.compress(compressible());
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> limited.decompress(compressed));
+        assertTrue(e.getMessage().contains("超过上限 1024"));
+    }
+
+    @Test
+    void rawLengthBeyondLz4RatioRejected() {
+        byte[] compressed = compressor.compress(compressible());
+        // 声明的原始长度超过压缩后内容可能还原的长度，不按其分配内存
+        byte[] forged = {PayloadCompressor.FLAG_LZ4, 0x03, 0x00, 0x00, 0x00, compressed[5], compressed[6]};
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> compressor.decompress(forged));
+        assertTrue(e.getMessage().contains("超过上限 " + 2 * 255));
+    }
+
+    private static byte[] compressible() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            sb.append("compressible ");
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,114 @@
+package com.rlax.bolt.serialization;
+
+import com.alipay.remoting.CustomSerializerManager;
+import com.alipay.remoting.DefaultCustomSerializer;
+import com.alipay.remoting.InvokeContext;
+import com.alipay.remoting.rpc.protocol.RpcRequestCommand;
+import com.alipay.remoting.serialization.SerializerManager;
+import com.rlax.bolt.message.PreSerializedRequest;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public class PreSerializedRequestSerializerTest {
+
+    private static final CountingEncoder ENCODER = new CountingEncoder();
+
+    private final PreSerializedRequestSerializer serializer = new PreSerializedRequestSerializer();
+
+    @BeforeAll
+    static void registerEncoder() {
+        // 仅本测试使用的请求类型，不影响其它类型的序列化器
+        CustomSerializerManager.registerCustomSerializer(Report.class.getName(), ENCODER);
+    }
+
+    @Test
+    void hessianBytesReusedAcrossCommands() throws Exception {
+        PreSerializedRequest payload = PreSerializedRequest.of("hello");
+
+        RpcRequestCommand first = command(payload, null);
+        RpcRequestCommand second = command(payload, null);
+
+        assertSame(payload.getContent(), first.getContent());
+        assertSame(payload.getContent(), second.getContent());
+        assertEquals(String.class.getName(), first.getRequestClass());
+        assertArrayEquals(String.class.getName().getBytes(StandardCharsets.UTF_8), first.getClazz());
+        assertEquals(SerializerManager.Hessian2, first.getSerializer());
+        assertEquals("hello", SerializerManager.getSerializer(SerializerManager.Hessian2)
+                .deserialize(first.getContent(), String.class.getName()));
+    }
+
+    @Test
+    void compressedBytesReusedAcrossCommands() throws Exception {
+        int encoded = ENCODER.encoded.get();
+        int compressed = ENCODER.compressed.get();
+        PreSerializedRequest payload = PreSerializedRequest.of(new Report("station report"));
+
+        RpcRequestCommand plain = command(payload, null);
+        RpcRequestCommand first = command(payload, acceptsCompression());
+        RpcRequestCommand second = command(payload, acceptsCompression());
+
+        assertEquals(encoded + 1, ENCODER.encoded.get());
+        assertEquals(compressed + 1, ENCODER.compressed.get());
+        assertSame(payload.getContent(), plain.getContent());
+        assertSame(first.getContent(), second.getContent());
+        assertNotSame(payload.getContent(), first.getContent());
+        assertEquals(Report.class.getName(), first.getRequestClass());
+    }
+
+    private RpcRequestCommand command(PreSerializedRequest payload, InvokeContext invokeContext) throws Exception {
+        RpcRequestCommand command = new RpcRequestCommand(payload);
+        serializer.serializeContent(command, invokeContext);
+        return command;
+    }
+
+    private static InvokeContext acceptsCompression() {
+        InvokeContext invokeContext = new InvokeContext();
+        invokeContext.put(PayloadCompressor.PEER_ACCEPTS, true);
+        return invokeContext;
+    }
+
+    public static class Report implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String text;
+
+        Report(String text) {
+            this.text = text;
+        }
+    }
+
+    /**
+     * 记录编码与压缩次数，压缩结果为新数组
+     */
+    private static class CountingEncoder extends DefaultCustomSerializer implements ContentEncoder {
+
+        private final AtomicInteger encoded = new AtomicInteger();
+        private final AtomicInteger compressed = new AtomicInteger();
+
+        @Override
+        public byte[] encode(Object request) {
+            encoded.incrementAndGet();
+            return ((Report) request).text.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public byte[] compress(byte[] content) {
+            compressed.incrementAndGet();
+            return content.clone();
+        }
+    }
+}
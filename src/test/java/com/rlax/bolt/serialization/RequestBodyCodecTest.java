@@ -0,0 +1,135 @@
+package com.rlax.bolt.serialization;
+
+import com.rlax.bolt.message.RequestBody;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public class RequestBodyCodecTest {
+
+    @Test
+    void roundTrip() {
+        RequestBody request = new RequestBody(42, "hello , 中台调用站级 😀", "trace-1234");
+
+        byte[] content = RequestBodyCodec.encode(request);
+        RequestBody decoded = RequestBodyCodec.decode(content);
+
+        assertEquals(RequestBodyCodec.encodedSize(request), content.length);
+        assertEquals(request.getId(), decoded.getId());
+        assertEquals(request.getMsg(), decoded.getMsg());
+        assertEquals(request.getTraceId(), decoded.getTraceId());
+        assertNull(decoded.getBody());
+    }
+
+    @Test
+    void roundTripWithBody() {
+        RequestBody request = new RequestBody(-7, 4096);
+
+        RequestBody decoded = RequestBodyCodec.decode(RequestBodyCodec.encode(request));
+
+        assertEquals(-7, decoded.getId());
+        assertEquals("", decoded.getMsg());
+        assertNull(decoded.getTraceId());
+        assertArrayEquals(request.getBody(), decoded.getBody());
+    }
+
+    @Test
+    void bufferBodyRoundTrip() {
+        RequestBody request = new RequestBody(3, 4096);
+        byte[] content = RequestBodyCodec.encode(request);
+        ByteBuf in = Unpooled.wrappedBuffer(content);
+
+        RequestBody decoded = RequestBodyCodec.decode(in, true);
+        ByteBuf buffer = decoded.getBodyBuffer();
+
+        assertNull(decoded.getBody());
+        assertEquals(4096, decoded.bodyLength());
+        assertArrayEquals(request.getBody(), ByteBufUtil.getBytes(buffer));
+        // 零拷贝：body 与请求内容共用同一数组
+        assertSame(content, buffer.array());
+
+        // ByteBuf body 原样转发，编码结果与 byte[] body 相同
+        assertArrayEquals(content, RequestBodyCodec.encode(decoded));
+
+        // 视图持有输入的引用，输入释放后 body 仍可读
+        in.release();
+        assertEquals(1, buffer.refCnt());
+        decoded.release();
+        decoded.release();
+        assertEquals(0, buffer.refCnt());
+        assertNull(decoded.getBodyBuffer());
+    }
+
+    @Test
+    void compactLayout() {
+        RequestBody request = new RequestBody(1, "hi", "t");
+
+        // version + id + (len+1, "hi") + (len+1, "t") + null body
+        assertEquals(1 + 1 + 3 + 2 + 1, RequestBodyCodec.encode(request).length);
+    }
+
+    @Test
+    void varInt() {
+        int[] values = {0, 1, 127, 128, 16383, 16384, Integer.MAX_VALUE, -1, Integer.MIN_VALUE};
+        for (int value : values) {
+            assertEquals(value, RequestBodyCodec.unZigZag(RequestBodyCodec.zigZag(value)));
+        }
+    }
+
+    @Test
+    void varIntRoundTrip() {
+        int[] values = {0, 127, 128, 16383, 16384, Integer.MAX_VALUE, -1, -128, Integer.MIN_VALUE};
+        int[] sizes = {1, 1, 2, 2, 3, 5, 5, 5, 5};
+        ByteBuf buf = Unpooled.buffer();
+        for (int i = 0; i < values.length; i++) {
+            buf.clear();
+            RequestBodyCodec.writeVarInt(buf, values[i]);
+
+            assertEquals(sizes[i], buf.readableBytes(), "size of " + values[i]);
+            assertEquals(sizes[i], RequestBodyCodec.varIntSize(values[i]), "varIntSize of " + values[i]);
+            assertEquals(values[i], RequestBodyCodec.readVarInt(buf));
+            assertEquals(0, buf.readableBytes());
+        }
+        // 负数经 zigZag 后按无符号写入，绝对值小时仍是单字节
+        assertEquals(1, RequestBodyCodec.varIntSize(RequestBodyCodec.zigZag(-1)));
+        buf.release();
+    }
+
+    @Test
+    void varIntOverflowRejected() {
+        ByteBuf buf = Unpooled.wrappedBuffer(new byte[]{(byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x01});
+
+        assertThrows(IllegalArgumentException.class, () -> RequestBodyCodec.readVarInt(buf));
+    }
+
+    @Test
+    void truncatedLengthRejected() {
+        // 声明 body 长度远超剩余字节数
+        ByteBuf body = Unpooled.buffer();
+        body.writeByte(RequestBodyCodec.VERSION);
+        RequestBodyCodec.writeVarInt(body, RequestBodyCodec.zigZag(1));
+        body.writeByte(0);
+        body.writeByte(0);
+        RequestBodyCodec.writeVarInt(body, Integer.MAX_VALUE);
+        assertThrows(IndexOutOfBoundsException.class, () -> RequestBodyCodec.decode(body.duplicate()));
+
+        ByteBuf msg = Unpooled.buffer();
+        msg.writeByte(RequestBodyCodec.VERSION);
+        RequestBodyCodec.writeVarInt(msg, RequestBodyCodec.zigZag(1));
+        RequestBodyCodec.writeVarInt(msg, 1 << 20);
+        assertThrows(IndexOutOfBoundsException.class, () -> RequestBodyCodec.decode(msg));
+        body.release();
+        msg.release();
+    }
+}
@@ -0,0 +1,159 @@
+package com.rlax.bolt.server.breaker;
+
+import com.alipay.remoting.exception.RemotingException;
+import com.alipay.remoting.rpc.exception.InvokeServerException;
+import com.alipay.remoting.rpc.exception.InvokeTimeoutException;
+import com.rlax.bolt.metrics.BoltMetrics;
+import com.rlax.bolt.server.limit.ConcurrencyLimitExceededException;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public class StationCircuitBreakersTest {
+
+    private static final String STATION = "station-1";
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.SECONDS.toNanos(1));
+
+    private StationCircuitBreakers breakers() {
+        CircuitBreakerOptions options = new CircuitBreakerOptions();
+        options.setWindowSize(10);
+        options.setMinimumCalls(4);
+        options.setFailureRateThreshold(50);
+        options.setOpenMillis(1000);
+        options.setHalfOpenPermits(2);
+        return new StationCircuitBreakers(options, BoltMetrics.NOOP, now::get);
+    }
+
+    @Test
+    void opensOnFailureRate() {
+        StationCircuitBreakers breakers = breakers();
+        call(breakers, Mono.just("ok"));
+        call(breakers, Mono.just("ok"));
+        call(breakers, Mono.error(new InvokeTimeoutException()));
+        assertEquals(CircuitState.CLOSED, breakers.state(STATION));
+
+        call(breakers, Mono.error(new RemotingException("closed")));
+        assertEquals(CircuitState.OPEN, breakers.state(STATION));
+
+        AtomicBoolean invoked = new AtomicBoolean();
+        Object rejected = call(breakers, Mono.fromSupplier(() -> {
+            invoked.set(true);
+            return "ok";
+        }));
+        assertTrue(rejected instanceof CircuitOpenException);
+        assertFalse(invoked.get());
+        assertEquals(1, breakers.count(CircuitState.OPEN));
+    }
+
+    @Test
+    void ignoredOutcomesDoNotOpen() {
+        StationCircuitBreakers breakers = breakers();
+        for (int i = 0; i < 10; i++) {
+            call(breakers, Mono.error(new InvokeServerException("biz")));
+            call(breakers, Mono.error(new ConcurrencyLimitExceededException("limit")));
+        }
+        assertEquals(CircuitState.CLOSED, breakers.state(STATION));
+    }
+
+    @Test
+    void halfOpenProbesClose() {
+        StationCircuitBreakers breakers = openBreakers();
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1001));
+
+        Sinks.One<String> first = Sinks.one();
+        Sinks.One<String> second = Sinks.one();
+        AtomicReference<Object> firstResult = subscribe(breakers, first.asMono());
+        subscribe(breakers, second.asMono());
+        assertEquals(CircuitState.HALF_OPEN, breakers.state(STATION));
+        // 探测数已满
+        assertTrue(call(breakers, Mono.just("ok")) instanceof CircuitOpenException);
+
+        first.tryEmitValue("ok");
+        assertEquals("ok", firstResult.get());
+        assertEquals(CircuitState.HALF_OPEN, breakers.state(STATION));
+        second.tryEmitValue("ok");
+        assertEquals(CircuitState.CLOSED, breakers.state(STATION));
+        assertEquals("ok", call(breakers, Mono.just("ok")));
+    }
+
+    @Test
+    void halfOpenFailureReopens() {
+        StationCircuitBreakers breakers = openBreakers();
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1001));
+        call(breakers, Mono.error(new InvokeTimeoutException()));
+        assertEquals(CircuitState.OPEN, breakers.state(STATION));
+        assertTrue(call(breakers, Mono.just("ok")) instanceof CircuitOpenException);
+    }
+
+    @Test
+    void staleCallsIgnoredAfterTransition() {
+        StationCircuitBreakers breakers = breakers();
+        // 熔断前发起、一直挂住的调用
+        Sinks.One<String> hung = Sinks.one();
+        subscribe(breakers, hung.asMono());
+        for (int i = 0; i < 4; i++) {
+            call(breakers, Mono.error(new InvokeTimeoutException()));
+        }
+        assertEquals(CircuitState.OPEN, breakers.state(STATION));
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1001));
+        Sinks.One<String> probe = Sinks.one();
+        subscribe(breakers, probe.asMono());
+        hung.tryEmitError(new InvokeTimeoutException());
+        assertEquals(CircuitState.HALF_OPEN, breakers.state(STATION));
+    }
+
+    @Test
+    void cancelledProbeFreesSlot() {
+        StationCircuitBreakers breakers = openBreakers();
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1001));
+        breakers.protect(STATION, Mono.never()).subscribe().dispose();
+        breakers.protect(STATION, Mono.never()).subscribe().dispose();
+        assertEquals("ok", call(breakers, Mono.just("ok")));
+    }
+
+    @Test
+    void withoutStationPassesThrough() {
+        StationCircuitBreakers breakers = breakers();
+        for (int i = 0; i < 10; i++) {
+            breakers.protect(null, Mono.error(new InvokeTimeoutException())).onErrorResume(e -> Mono.empty()).block();
+        }
+        assertEquals(0, breakers.count(CircuitState.OPEN));
+    }
+
+    private StationCircuitBreakers openBreakers() {
+        StationCircuitBreakers breakers = breakers();
+        for (int i = 0; i < 4; i++) {
+            call(breakers, Mono.error(new InvokeTimeoutException()));
+        }
+        assertEquals(CircuitState.OPEN, breakers.state(STATION));
+        return breakers;
+    }
+
+    private static Object call(StationCircuitBreakers breakers, Mono<?> invoke) {
+        return subscribe(breakers, invoke).get();
+    }
+
+    /**
+     * 订阅并记录结果或异常
+     */
+    private static AtomicReference<Object> subscribe(StationCircuitBreakers breakers, Mono<?> invoke) {
+        AtomicReference<Object> result = new AtomicReference<>();
+        breakers.protect(STATION, invoke).subscribe(result::set, result::set);
+        return result;
+    }
+}
@@ -0,0 +1,129 @@
+package com.rlax.bolt.server.broadcast;
+
+import com.alipay.remoting.Connection;
+import com.alipay.remoting.rpc.exception.InvokeServerException;
+import com.alipay.remoting.rpc.exception.InvokeTimeoutException;
+import com.rlax.bolt.invoke.ReactiveBoltInvoker;
+import com.rlax.bolt.message.PreSerializedRequest;
+import com.rlax.bolt.server.BoltServer;
+import com.rlax.bolt.server.registry.StationRegistry;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public class StationBroadcasterTest {
+
+    private final StationRegistry registry = new StationRegistry();
+
+    /** 各站收到的请求对象 */
+    private final Set<Object> payloads = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    /** 各站的响应，按站级 id */
+    private final Map<String, Function<Integer, Mono<Object>>> behaviours = new ConcurrentHashMap<>();
+
+    private final ReactiveBoltInvoker invoker = new ReactiveBoltInvoker(new BoltServer(0), null) {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> Mono<T> invoke(Connection connection, Object request, int timeoutMillis) {
+            return Mono.defer(() -> {
+                payloads.add(request);
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                return behaviours.get(StationRegistry.stationIdOf(connection)).apply(timeoutMillis);
+            }).doOnTerminate(inFlight::decrementAndGet)
+                    .doOnCancel(inFlight::decrementAndGet)
+                    .map(response -> (T) response);
+        }
+    };
+
+    private final StationBroadcaster broadcaster = new StationBroadcaster(registry, invoker);
+
+    @Test
+    void partialFailureAndTimeoutReported() {
+        station("s-ok", timeout -> Mono.just("ok"));
+        station("s-empty", timeout -> Mono.empty());
+        station("s-fail", timeout -> Mono.error(new InvokeServerException("boom")));
+        // 与真实调用一样，超时后以 InvokeTimeoutException 失败
+        station("s-timeout", timeout -> Mono.never().timeout(Duration.ofMillis(timeout),
+                Mono.error(new InvokeTimeoutException("timeout"))));
+
+        Map<String, BroadcastResult> results = broadcast(new BroadcastOptions(8, 50));
+
+        assertEquals(4, results.size());
+        assertTrue(results.get("s-ok").isSuccess());
+        assertEquals("ok", results.get("s-ok").getResponse());
+        assertTrue(results.get("s-empty").isSuccess());
+        assertNull(results.get("s-empty").getResponse());
+
+        BroadcastResult failed = results.get("s-fail");
+        assertFalse(failed.isSuccess());
+        assertEquals("InvokeServerException: boom", failed.getError());
+
+        BroadcastResult timedOut = results.get("s-timeout");
+        assertFalse(timedOut.isSuccess());
+        assertTrue(timedOut.getError().startsWith("InvokeTimeoutException"));
+        assertTrue(timedOut.getCostMillis() >= 50);
+
+        // 只序列化一次，各站收到同一个预序列化请求
+        assertEquals(1, payloads.size());
+        assertTrue(payloads.iterator().next() instanceof PreSerializedRequest);
+    }
+
+    @Test
+    void maxInFlightBounded() {
+        for (int i = 0; i < 8; i++) {
+            station("s-" + i, timeout -> Mono.<Object>just("ok").delayElement(Duration.ofMillis(10)));
+        }
+
+        Map<String, BroadcastResult> results = broadcast(new BroadcastOptions(2, 1000));
+
+        assertEquals(8, results.size());
+        assertTrue(results.values().stream().allMatch(BroadcastResult::isSuccess));
+        assertEquals(2, maxInFlight.get());
+    }
+
+    @Test
+    void multicastFiltersStations() {
+        station("s-1", timeout -> Mono.just("ok"));
+        station("s-2", timeout -> Mono.just("ok"));
+
+        List<BroadcastResult> results = broadcaster.multicast("hello", "s-2"::equals, new BroadcastOptions())
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertEquals(1, results.size());
+        assertEquals("s-2", results.get(0).getStationId());
+    }
+
+    private void station(String stationId, Function<Integer, Mono<Object>> behaviour) {
+        registry.bind(stationId, new Connection(new EmbeddedChannel()));
+        behaviours.put(stationId, behaviour);
+    }
+
+    private Map<String, BroadcastResult> broadcast(BroadcastOptions options) {
+        return broadcaster.broadcast("hello", options)
+                .collectList()
+                .block(Duration.ofSeconds(5))
+                .stream()
+                .collect(Collectors.toMap(BroadcastResult::getStationId, Function.identity()));
+    }
+}
@@ -0,0 +1,185 @@
+package com.rlax.bolt.server.limit;
+
+import com.alipay.remoting.Connection;
+import com.alipay.remoting.exception.RemotingException;
+import com.alipay.remoting.rpc.exception.InvokeTimeoutException;
+import com.rlax.bolt.metrics.BoltMetrics;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public class StationConcurrencyLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.SECONDS.toNanos(1));
+
+    private static ConcurrencyLimitOptions options(int initialLimit, int maxQueueSize, long maxQueueWaitMillis) {
+        ConcurrencyLimitOptions options = new ConcurrencyLimitOptions();
+        options.setInitialLimit(initialLimit);
+        options.setMinLimit(1);
+        options.setMaxLimit(100);
+        options.setMaxQueueSize(maxQueueSize);
+        options.setMaxQueueWaitMillis(maxQueueWaitMillis);
+        return options;
+    }
+
+    private StationConcurrencyLimiter limiter(ConcurrencyLimitOptions options) {
+        return new StationConcurrencyLimiter(options, BoltMetrics.NOOP, now::get);
+    }
+
+    @Test
+    void rejectWhenQueueFull() {
+        StationConcurrencyLimiter limiter = limiter(options(2, 0, 50));
+        Connection connection = new Connection(new EmbeddedChannel());
+        Sinks.One<String> first = Sinks.one();
+        Sinks.One<String> second = Sinks.one();
+        AtomicReference<Object> firstResult = subscribe(limiter.limit(connection, first.asMono()));
+        subscribe(limiter.limit(connection, second.asMono()));
+        assertEquals(2, limiter.totalInFlight(null));
+
+        AtomicReference<Object> third = subscribe(limiter.limit(connection, Mono.just("third")));
+        assertTrue(third.get() instanceof ConcurrencyLimitExceededException);
+
+        first.tryEmitValue("first");
+        assertEquals("first", firstResult.get());
+        assertEquals(1, limiter.totalInFlight(null));
+        assertEquals("fourth", subscribe(limiter.limit(connection, Mono.just("fourth"))).get());
+    }
+
+    @Test
+    void queuedUntilPermitReleased() {
+        StationConcurrencyLimiter limiter = limiter(options(1, 10, 10000));
+        Connection connection = new Connection(new EmbeddedChannel());
+        Sinks.One<String> first = Sinks.one();
+        subscribe(limiter.limit(connection, first.asMono()));
+
+        AtomicReference<Object> queued = subscribe(limiter.limit(connection, Mono.just("queued")));
+        assertNull(queued.get());
+        assertEquals(1, limiter.totalQueued(null));
+
+        first.tryEmitValue("first");
+        assertEquals("queued", queued.get());
+        assertEquals(0, limiter.totalQueued(null));
+        assertEquals(0, limiter.totalInFlight(null));
+    }
+
+    @Test
+    void queueWaitTimeout() {
+        StationConcurrencyLimiter limiter = limiter(options(1, 10, 20));
+        Connection connection = new Connection(new EmbeddedChannel());
+        subscribe(limiter.limit(connection, Mono.never()));
+
+        Object result = limiter.limit(connection, Mono.<Object>just("queued"))
+                .onErrorResume(e -> Mono.just(e))
+                .block();
+        assertTrue(result instanceof ConcurrencyLimitExceededException);
+        assertEquals(0, limiter.totalQueued(null));
+        assertEquals(1, limiter.totalInFlight(null));
+    }
+
+    @Test
+    void cancelReleasesPermit() {
+        StationConcurrencyLimiter limiter = limiter(options(1, 0, 50));
+        Connection connection = new Connection(new EmbeddedChannel());
+        limiter.limit(connection, Mono.never()).subscribe().dispose();
+        assertEquals(0, limiter.totalInFlight(null));
+    }
+
+    @Test
+    void closeFailsQueuedCalls() {
+        StationConcurrencyLimiter limiter = limiter(options(1, 10, 10000));
+        Connection connection = new Connection(new EmbeddedChannel());
+        subscribe(limiter.limit(connection, Mono.never()));
+        AtomicReference<Object> queued = subscribe(limiter.limit(connection, Mono.just("queued")));
+
+        limiter.remove(connection);
+        assertTrue(queued.get() instanceof RemotingException);
+        assertEquals(0, limiter.size());
+    }
+
+    @Test
+    void limitGrowsWithSteadyRtt() {
+        ConnectionLimiter limiter = new ConnectionLimiter(options(10, 0, 50), now::get);
+        for (int round = 0; round < 20; round++) {
+            saturate(limiter, 10);
+        }
+        assertTrue(limiter.getLimit() > 10, "limit=" + limiter.getLimit());
+    }
+
+    @Test
+    void limitShrinksWhenRttRises() {
+        ConnectionLimiter limiter = new ConnectionLimiter(options(50, 0, 50), now::get);
+        for (int round = 0; round < 5; round++) {
+            saturate(limiter, 10);
+        }
+        int before = limiter.getLimit();
+        for (int round = 0; round < 5; round++) {
+            saturate(limiter, 100);
+        }
+        assertTrue(limiter.getLimit() < before, "before=" + before + ", after=" + limiter.getLimit());
+    }
+
+    @Test
+    void timeoutsBackOff() {
+        StationConcurrencyLimiter limiter = limiter(options(20, 0, 50));
+        Connection connection = new Connection(new EmbeddedChannel());
+        for (int i = 0; i < 5; i++) {
+            subscribe(limiter.limit(connection, Mono.error(new InvokeTimeoutException())));
+        }
+        assertTrue(limiter.currentLimit(connection) < 20, "limit=" + limiter.currentLimit(connection));
+    }
+
+    @Test
+    void slowConnectionDoesNotAffectOthers() {
+        StationConcurrencyLimiter limiter = limiter(options(2, 0, 50));
+        Connection slow = new Connection(new EmbeddedChannel());
+        Connection fast = new Connection(new EmbeddedChannel());
+        subscribe(limiter.limit(slow, Mono.never()));
+        subscribe(limiter.limit(slow, Mono.never()));
+        assertTrue(subscribe(limiter.limit(slow, Mono.just("slow"))).get() instanceof ConcurrencyLimitExceededException);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals("fast", subscribe(limiter.limit(fast, Mono.just("fast"))).get());
+        }
+    }
+
+    /**
+     * 占满上限后以相同 RTT 逐个完成
+     */
+    private void saturate(ConnectionLimiter limiter, long rttMillis) {
+        List<ConnectionLimiter.Permit> permits = new ArrayList<>();
+        ConnectionLimiter.Permit permit;
+        while ((permit = limiter.tryAcquire()) != null) {
+            permits.add(permit);
+        }
+        assertFalse(permits.isEmpty());
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(rttMillis));
+        for (ConnectionLimiter.Permit p : permits) {
+            p.success();
+        }
+    }
+
+    /**
+     * 订阅并记录结果或异常
+     */
+    private static AtomicReference<Object> subscribe(Mono<?> mono) {
+        AtomicReference<Object> result = new AtomicReference<>();
+        mono.subscribe(result::set, result::set);
+        return result;
+    }
+}
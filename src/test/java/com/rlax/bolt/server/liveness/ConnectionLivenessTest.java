@@ -0,0 +1,79 @@
+package com.rlax.bolt.server.liveness;
+
+import com.alipay.remoting.Connection;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public class ConnectionLivenessTest {
+
+    private static ConnectionLiveness liveness(long heartbeatIntervalMillis) {
+        LivenessOptions options = new LivenessOptions();
+        options.setHeartbeatIntervalMillis(heartbeatIntervalMillis);
+        options.setSuspectAfterMissed(2);
+        options.setDeadAfterMissed(10);
+        options.setSummaryIntervalSeconds(0);
+        return new ConnectionLiveness(options);
+    }
+
+    @Test
+    void unknownConnectionIsLive() {
+        ConnectionLiveness liveness = liveness(10000);
+        Connection connection = new Connection(new EmbeddedChannel());
+
+        assertEquals(LivenessState.LIVE, liveness.state(connection));
+        assertEquals(-1, liveness.rttMicros(connection));
+        assertEquals(0, liveness.size());
+    }
+
+    @Test
+    void heartbeatRecorded() {
+        ConnectionLiveness liveness = liveness(10000);
+        Connection connection = new Connection(new EmbeddedChannel());
+
+        liveness.heartbeat(connection);
+        liveness.heartbeat(connection);
+        assertEquals(1, liveness.size());
+        assertEquals(LivenessState.LIVE, liveness.state(connection));
+        assertEquals(0, liveness.missed(connection));
+        assertEquals(2, liveness.snapshot().get(0).getHeartbeats());
+        assertTrue(liveness.lastSeenMillis(connection) > 0);
+
+        liveness.remove(connection);
+        assertEquals(0, liveness.size());
+    }
+
+    @Test
+    void missedHeartbeats() throws InterruptedException {
+        ConnectionLiveness liveness = liveness(20);
+        Connection connection = new Connection(new EmbeddedChannel());
+
+        liveness.heartbeat(connection);
+        TimeUnit.MILLISECONDS.sleep(50);
+        assertEquals(LivenessState.SUSPECT, liveness.state(connection));
+        TimeUnit.MILLISECONDS.sleep(200);
+        assertEquals(LivenessState.DEAD, liveness.state(connection));
+
+        liveness.touch(connection);
+        assertEquals(LivenessState.LIVE, liveness.state(connection));
+    }
+
+    @Test
+    void rttSmoothed() {
+        ConnectionLiveness liveness = liveness(10000);
+        Connection connection = new Connection(new EmbeddedChannel());
+
+        liveness.recordRtt(connection, TimeUnit.MICROSECONDS.toNanos(800));
+        assertEquals(800, liveness.rttMicros(connection));
+        liveness.recordRtt(connection, TimeUnit.MICROSECONDS.toNanos(1600));
+        assertEquals(900, liveness.rttMicros(connection));
+    }
+}
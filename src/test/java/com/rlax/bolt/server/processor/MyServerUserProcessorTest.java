@@ -0,0 +1,60 @@
+package com.rlax.bolt.server.processor;
+
+import com.alipay.remoting.BizContext;
+import com.alipay.remoting.DefaultBizContext;
+import com.alipay.remoting.RemotingContext;
+import com.rlax.bolt.deadline.DeadlineExceededException;
+import com.rlax.bolt.message.RequestBody;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public class MyServerUserProcessorTest {
+
+    private final MyServerUserProcessor processor = new MyServerUserProcessor();
+
+    @Test
+    void expiredRequestRejected() {
+        ByteBuf body = Unpooled.buffer(4).writeInt(1);
+        RequestBody request = request(body);
+
+        assertThrows(DeadlineExceededException.class, () -> processor.handleRequest(bizContext(100, 1000), request));
+        assertEquals(0, body.refCnt());
+        assertNull(request.getBodyBuffer());
+    }
+
+    @Test
+    void requestWithinDeadlineHandled() throws Exception {
+        ByteBuf body = Unpooled.buffer(4).writeInt(1);
+
+        Object response = processor.handleRequest(bizContext(10_000, 0), request(body));
+
+        assertTrue(response.toString().contains("id: 7"));
+        assertEquals(0, body.refCnt());
+    }
+
+    private static RequestBody request(ByteBuf body) {
+        RequestBody request = new RequestBody(7, "msg", null);
+        request.setBodyBuffer(body);
+        return request;
+    }
+
+    private static BizContext bizContext(int clientTimeout, long queuedMillis) {
+        EmbeddedChannel channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+        RemotingContext remotingCtx = new RemotingContext(channel.pipeline().firstContext(), true);
+        remotingCtx.setTimeout(clientTimeout);
+        remotingCtx.setArriveTimestamp(System.currentTimeMillis() - queuedMillis);
+        return new DefaultBizContext(remotingCtx);
+    }
+}
@@ -0,0 +1,82 @@
+package com.rlax.bolt.server.registry;
+
+import com.alipay.remoting.Connection;
+import com.rlax.bolt.server.liveness.ConnectionLiveness;
+import com.rlax.bolt.server.liveness.LivenessOptions;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public class StationRegistryTest {
+
+    @Test
+    void bindAndUnbind() {
+        StationRegistry registry = new StationRegistry();
+        Connection connection = new Connection(new EmbeddedChannel());
+
+        registry.bind("station-1", connection);
+        assertSame(connection, registry.get("station-1"));
+        assertEquals("station-1", StationRegistry.stationIdOf(connection));
+
+        registry.unbind(connection);
+        assertNull(registry.get("station-1"));
+        assertTrue(registry.stationIds().isEmpty());
+    }
+
+    @Test
+    void reconnectKeepsStation() {
+        StationRegistry registry = new StationRegistry();
+        Connection old = new Connection(new EmbeddedChannel());
+        Connection reconnected = new Connection(new EmbeddedChannel());
+
+        registry.bind("station-1", old);
+        registry.bind("station-1", reconnected);
+        assertEquals(2, registry.getAll("station-1").size());
+
+        old.getChannel().close();
+        registry.unbind(old);
+        assertSame(reconnected, registry.get("station-1"));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    void skipsClosedConnection() {
+        StationRegistry registry = new StationRegistry();
+        Connection connection = new Connection(new EmbeddedChannel());
+
+        registry.bind("station-1", connection);
+        connection.getChannel().close();
+        assertNull(registry.get("station-1"));
+    }
+
+    @Test
+    void prefersLiveConnection() throws InterruptedException {
+        LivenessOptions options = new LivenessOptions();
+        options.setHeartbeatIntervalMillis(20);
+        options.setSummaryIntervalSeconds(0);
+        ConnectionLiveness liveness = new ConnectionLiveness(options);
+        StationRegistry registry = new StationRegistry(liveness);
+        Connection halfDead = new Connection(new EmbeddedChannel());
+        Connection live = new Connection(new EmbeddedChannel());
+
+        registry.bind("station-1", halfDead);
+        registry.bind("station-1", live);
+        TimeUnit.MILLISECONDS.sleep(100);
+        assertNull(registry.get("station-1"));
+
+        liveness.heartbeat(live);
+        for (int i = 0; i < 10; i++) {
+            assertSame(live, registry.get("station-1"));
+        }
+    }
+}
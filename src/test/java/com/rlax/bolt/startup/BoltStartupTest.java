@@ -0,0 +1,165 @@
+package com.rlax.bolt.startup;
+
+import com.alipay.remoting.rpc.RpcClient;
+import com.rlax.bolt.client.pool.ConnectionPoolOptions;
+import com.rlax.bolt.client.pool.ServerConnectionPools;
+import com.rlax.bolt.config.StartupConfiguration;
+import com.rlax.bolt.metrics.BoltMetrics;
+import com.rlax.bolt.server.BoltServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public class BoltStartupTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    /** 两端都进入启动后才放行，串行启动时会等待超时 */
+    private final CountDownLatch bothStarting = new CountDownLatch(2);
+
+    @Test
+    void startsServerAndClientInParallel() {
+        StubServer server = new StubServer(null);
+        StubClient client = new StubClient(null);
+        ServerConnectionPools pools = pools(client);
+        BoltStartup startup = startup(server, client, pools);
+
+        startup.start();
+
+        assertTrue(server.started);
+        assertTrue(client.started);
+        assertTrue(startup.isStarted());
+        assertTrue(startup.isRunning());
+        assertTrue(pools.isWarm());
+        assertEquals(1, registry.get("bolt.startup").tag("phase", BoltStartup.PHASE_SERVER).timer().count());
+        assertEquals(1, registry.get("bolt.startup").tag("phase", BoltStartup.PHASE_CLIENT).timer().count());
+        assertEquals(1, registry.get("bolt.startup").tag("phase", BoltStartup.PHASE_TOTAL).timer().count());
+    }
+
+    @Test
+    void serverFailureFailsStartup() {
+        RuntimeException failure = new RuntimeException("bind failed");
+        StubClient client = new StubClient(null);
+        ServerConnectionPools pools = pools(client);
+        BoltStartup startup = startup(new StubServer(failure), client, pools);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, startup::start);
+
+        assertSame(failure, e.getCause());
+        assertFalse(startup.isStarted());
+        assertFalse(pools.isWarm());
+    }
+
+    @Test
+    void clientFailureFailsStartup() {
+        RuntimeException failure = new RuntimeException("client failed");
+        StubClient client = new StubClient(failure);
+        ServerConnectionPools pools = pools(client);
+        BoltStartup startup = startup(new StubServer(null), client, pools);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, startup::start);
+
+        assertSame(failure, e.getCause());
+        assertFalse(startup.isStarted());
+        assertFalse(pools.isWarm());
+    }
+
+    @Test
+    void healthOutOfServiceUntilStarted() {
+        StubClient client = new StubClient(null);
+        BoltStartup startup = startup(new StubServer(null), client, pools(client));
+        HealthIndicator indicator = new StartupConfiguration().boltStartupHealthIndicator(startup);
+
+        Health before = indicator.health();
+        assertEquals(Status.OUT_OF_SERVICE, before.getStatus());
+        assertTrue(before.getDetails().isEmpty());
+
+        startup.start();
+
+        Health after = indicator.health();
+        assertEquals(Status.UP, after.getStatus());
+        assertTrue(after.getDetails().containsKey(BoltStartup.PHASE_SERVER));
+        assertTrue(after.getDetails().containsKey(BoltStartup.PHASE_CLIENT));
+        assertTrue(after.getDetails().containsKey(BoltStartup.PHASE_TOTAL));
+        assertEquals(startup.phaseMillis(), after.getDetails());
+
+        startup.stop();
+        assertEquals(Status.OUT_OF_SERVICE, indicator.health().getStatus());
+    }
+
+    private BoltStartup startup(BoltServer server, RpcClient client, ServerConnectionPools pools) {
+        return new BoltStartup(server, client, pools, Collections.emptyMap(), new BoltMetrics(registry, false));
+    }
+
+    private static ServerConnectionPools pools(RpcClient client) {
+        ConnectionPoolOptions options = new ConnectionPoolOptions();
+        options.setWarmup(false);
+        return new ServerConnectionPools(client, Collections.emptyList(), options);
+    }
+
+    /**
+     * 等待另一端也进入启动，失败时抛出 failure
+     */
+    private void starting(RuntimeException failure) {
+        bothStarting.countDown();
+        try {
+            assertTrue(bothStarting.await(5, TimeUnit.SECONDS), "服务端与客户端没有并行启动");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private class StubServer extends BoltServer {
+
+        private final RuntimeException failure;
+        private volatile boolean started;
+
+        StubServer(RuntimeException failure) {
+            super(0);
+            this.failure = failure;
+        }
+
+        @Override
+        public boolean startup() {
+            starting(failure);
+            started = true;
+            return true;
+        }
+    }
+
+    private class StubClient extends RpcClient {
+
+        private final RuntimeException failure;
+        private volatile boolean started;
+
+        StubClient(RuntimeException failure) {
+            this.failure = failure;
+        }
+
+        @Override
+        public void startup() {
+            starting(failure);
+            started = true;
+        }
+    }
+}
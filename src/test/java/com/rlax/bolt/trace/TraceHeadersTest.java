@@ -0,0 +1,56 @@
+package com.rlax.bolt.trace;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Rlax
+ * @date 2026/10/18
+ */
+public class TraceHeadersTest {
+
+    @Test
+    void requestRoundTrip() {
+        assertEquals("trace-中台-1234", TraceHeaders.decodeRequest(TraceHeaders.encodeRequest("trace-中台-1234")));
+        assertNull(TraceHeaders.decodeRequest(TraceHeaders.encodeRequest(null)));
+        assertNull(TraceHeaders.decodeRequest(null));
+        assertNull(TraceHeaders.decodeRequest(new byte[]{9, 0, 0}));
+    }
+
+    @Test
+    void responseRoundTrip() {
+        assertArrayEquals(new long[]{3, 1_500_000}, TraceHeaders.decodeResponse(TraceHeaders.encodeResponse(3, 1_500_000)));
+        assertNull(TraceHeaders.decodeResponse(new byte[0]));
+    }
+
+    @Test
+    void respondingOnlyOnce() {
+        TraceHeaders.received("t1");
+        TraceHeaders.Received received = TraceHeaders.takeReceived();
+        assertEquals("t1", received.getTraceId());
+        assertNull(TraceHeaders.takeReceived());
+
+        TraceHeaders.responding(received, 2);
+        long[] timing = TraceHeaders.takeResponding();
+        assertEquals(2, timing[0]);
+        assertTrue(timing[1] >= 0);
+        assertNull(TraceHeaders.takeResponding());
+    }
+
+    @Test
+    void serverTimingSkipsEmptyStages() {
+        TraceContext trace = new TraceContext(null, 0);
+        trace.record(Stage.NETWORK, 1_500_000);
+        trace.record(Stage.NETWORK, 500_000);
+        trace.recordOnce(Stage.HTTP_RECEIVE, 250_000);
+        trace.recordOnce(Stage.HTTP_RECEIVE, 999_000_000);
+
+        assertEquals(32, trace.getTraceId().length());
+        assertEquals(Stage.HTTP_RECEIVE.metricName() + ";dur=0.250, " + Stage.NETWORK.metricName() + ";dur=2.000",
+                trace.serverTiming());
+    }
+}